@@ -0,0 +1,102 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the two-operand Length hot paths over every (from, to) LengthUnit pair.
+ *
+ * JMH expands the enum params to all constants, so each benchmark runs once per unit pair.
+ * Run with the gc profiler (default jmh.args) to see bytes allocated per op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LengthBenchmark {
+
+    @Param
+    public LengthUnit from;
+
+    @Param
+    public LengthUnit to;
+
+    // Non-final fields so the JIT cannot constant-fold the inputs
+    private double v1 = 3.75;
+    private double v2 = 12.5;
+
+    private Length a;
+    private Length b;
+    private Length bEqual;
+
+    @Setup
+    public void setUp() {
+        a = new Length(v1, from);
+        b = new Length(v2, to);
+        // Same physical magnitude as a, expressed in the other unit
+        bEqual = new Length(to.fromInches(from.toInches(v1)), to);
+    }
+
+    // ===== UC5: conversion =====
+    @Benchmark
+    public double convert() {
+        return Length.convert(v1, from, to);
+    }
+
+    @Benchmark
+    public Length convertTo() {
+        return a.convertTo(to);
+    }
+
+    // ===== UC6: addition (all three overloads) =====
+    @Benchmark
+    public Length addInstance() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Length addStatic() {
+        return Length.add(a, b);
+    }
+
+    @Benchmark
+    public double addNumeric() {
+        return Length.add(v1, from, v2, to, to);
+    }
+
+    // ===== UC3/UC4: equality =====
+    @Benchmark
+    public boolean compareEqual() {
+        return a.compare(bEqual);
+    }
+
+    @Benchmark
+    public boolean compareDifferent() {
+        return a.compare(b);
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return a.equals(bEqual);
+    }
+
+    @Benchmark
+    public boolean equalsDifferent() {
+        return a.equals(b);
+    }
+}
@@ -0,0 +1,74 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a LengthFlow pipeline (source -> batcher -> filter -> converter -> summer) per batch size.
+ *
+ * Each op streams {@link #ROWS} measurements and waits for the total; SampleTime reports the
+ * distribution (p50/p99) of that end-to-end time, so ms/op divided by ROWS is the cost per row.
+ * Compare with {@link #perObject()}, which converts and sums the same rows one Length at a time
+ * (it does not depend on batchSize).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LengthFlowBenchmark {
+
+    static final int ROWS = 1 << 16;
+
+    @Param({"1", "16", "256", "4096"})
+    public int batchSize;
+
+    private Length[] rows;
+
+    @Setup
+    public void setUp() {
+        LengthUnit[] units = LengthUnit.values();
+        rows = new Length[ROWS];
+        for (int i = 0; i < ROWS; i++) rows[i] = new Length((i % 1000) * 0.25 - 50, units[i % units.length]);
+    }
+
+    @Benchmark
+    public Length pipeline() {
+        SubmissionPublisher<Length> source = new SubmissionPublisher<>();
+        LengthFlow.Batcher batcher = LengthFlow.batcher(batchSize);
+        LengthFlow.Filter positive = LengthFlow.filter(inches -> inches >= 0);
+        LengthFlow.Converter toCm = LengthFlow.converter(LengthUnit.CENTIMETERS);
+        LengthFlow.Summer sum = LengthFlow.summer(LengthUnit.CENTIMETERS);
+        source.subscribe(batcher);
+        batcher.subscribe(positive);
+        positive.subscribe(toCm);
+        toCm.subscribe(sum);
+        for (Length row : rows) source.submit(row);
+        source.close();
+        return sum.result().join();
+    }
+
+    @Benchmark
+    public Length perObject() {
+        LengthAccumulator acc = new LengthAccumulator();
+        for (Length row : rows) {
+            if (row.getUnit().toInches(row.getValue()) >= 0) acc.add(row.convertTo(LengthUnit.CENTIMETERS));
+        }
+        return acc.toLength(LengthUnit.CENTIMETERS);
+    }
+}
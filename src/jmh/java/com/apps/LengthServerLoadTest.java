@@ -0,0 +1,131 @@
+package com.apps;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load-test harness for {@link LengthServer} on localhost.
+ *
+ * Usage (jmh profile test classpath): java com.apps.LengthServerLoadTest [clients] [seconds] [batchLines]
+ * - Starts an embedded server on a free port, then runs {@code clients} threads for {@code seconds},
+ *   alternating single GET /convert calls and POST /convert/batch calls of {@code batchLines} lines.
+ * - Prints requests/s, converted values/s, errors and latency percentiles per endpoint.
+ * - Enables TCP_NODELAY for the server (-Dsun.net.httpserver.nodelay=true) unless already set.
+ */
+public class LengthServerLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int batchLines = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        LengthServer server = LengthServer.start(0);
+        try {
+            System.out.println("Server on port " + server.getPort()
+                    + (LengthServer.virtualThreadsAvailable() ? " (virtual threads)" : " (platform threads)"));
+            run(server.getPort(), clients, seconds, batchLines);
+        } finally {
+            server.stop();
+        }
+    }
+
+    static void run(int port, int clients, int seconds, int batchLines) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI single = URI.create("http://localhost:" + port + "/convert?value=3.5&from=ft&to=cm");
+        URI batch = URI.create("http://localhost:" + port + "/convert/batch?to=in");
+        StringBuilder body = new StringBuilder();
+        String[] units = {"ft", "in", "yd", "cm"};
+        for (int i = 0; i < batchLines; i++) body.append(i * 0.25).append(' ').append(units[i & 3]).append('\n');
+        String batchBody = body.toString();
+
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<long[][]>> results = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            results.add(pool.submit(() -> {
+                long[] singleLat = new long[1 << 16];
+                long[] batchLat = new long[1 << 16];
+                int ns = 0, nb = 0;
+                for (int i = 0; System.nanoTime() < deadline; i++) {
+                    boolean isBatch = (i & 1) == 1;
+                    HttpRequest req = isBatch
+                            ? HttpRequest.newBuilder(batch).POST(HttpRequest.BodyPublishers.ofString(batchBody)).build()
+                            : HttpRequest.newBuilder(single).GET().build();
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> r = client.send(req, HttpResponse.BodyHandlers.discarding());
+                        if (r.statusCode() != 200) errors.increment();
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    long dt = System.nanoTime() - t0;
+                    if (isBatch) {
+                        if (nb == batchLat.length) batchLat = Arrays.copyOf(batchLat, nb * 2);
+                        batchLat[nb++] = dt;
+                    } else {
+                        if (ns == singleLat.length) singleLat = Arrays.copyOf(singleLat, ns * 2);
+                        singleLat[ns++] = dt;
+                    }
+                }
+                return new long[][]{Arrays.copyOf(singleLat, ns), Arrays.copyOf(batchLat, nb)};
+            }));
+        }
+
+        List<long[]> singles = new ArrayList<>();
+        List<long[]> batches = new ArrayList<>();
+        for (Future<long[][]> f : results) {
+            long[][] r = f.get();
+            singles.add(r[0]);
+            batches.add(r[1]);
+        }
+        pool.shutdown();
+
+        long[] s = concat(singles);
+        long[] b = concat(batches);
+        System.out.printf("Clients: %d, duration: %d s, batch size: %d lines, errors: %d%n",
+                clients, seconds, batchLines, errors.sum());
+        report("GET  /convert      ", s, seconds, 1);
+        report("POST /convert/batch", b, seconds, batchLines);
+    }
+
+    private static void report(String name, long[] lat, int seconds, int valuesPerRequest) {
+        Arrays.sort(lat);
+        System.out.printf("%s %,10.0f req/s %,12.0f values/s  p50 %6.2f ms  p99 %6.2f ms  max %6.2f ms%n",
+                name, lat.length / (double) seconds, (double) lat.length * valuesPerRequest / seconds,
+                percentile(lat, 0.50), percentile(lat, 0.99), lat.length == 0 ? 0.0 : lat[lat.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0.0;
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1e6;
+    }
+
+    private static long[] concat(List<long[]> parts) {
+        int n = 0;
+        for (long[] p : parts) n += p.length;
+        long[] all = new long[n];
+        int o = 0;
+        for (long[] p : parts) {
+            System.arraycopy(p, 0, all, o, p.length);
+            o += p.length;
+        }
+        return all;
+    }
+}
@@ -0,0 +1,55 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the single-operand Length paths (construction, hashCode, toString) per LengthUnit.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LengthUnitBenchmark {
+
+    @Param
+    public LengthUnit unit;
+
+    private double value = 3.75;
+    private Length length;
+
+    @Setup
+    public void setUp() {
+        length = new Length(value, unit);
+    }
+
+    @Benchmark
+    public Length construct() {
+        return new Length(value, unit);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return length.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOf() {
+        return length.toString();
+    }
+}
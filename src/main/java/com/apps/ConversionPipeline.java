@@ -0,0 +1,243 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ConversionPipeline
+ *
+ * Streams a line-delimited measurement file ("3.5 ft" or "3.5,ft" per line) through conversion or summation,
+ * reading it through memory-mapped chunks parsed in parallel.
+ *
+ * Notes:
+ * - The file is cut into fixed-size chunks. A chunk owns every line that starts inside it, so workers
+ *   skip a leading partial line and read past their end to finish the last one.
+ * - At most 2 x threads chunks are in flight, and results are consumed in file order, so memory stays
+ *   constant regardless of file size and converted output keeps the input line order.
+ * - Converted values match Length.convert, rounded by the current RoundingPolicy (2 decimals half-up by
+ *   default), and are written in the Length.toString() format. Sums use LengthAccumulator and are merged
+ *   in file order.
+ * - Blank lines are ignored; lines that do not parse (e.g. a CSV header) are counted as invalid and skipped.
+ */
+public final class ConversionPipeline {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    public static final int MAX_LINE_LENGTH = 1 << 16;
+    /** Largest chunk: the chunk plus its 1.5x output buffer must stay addressable by an int. */
+    public static final int MAX_CHUNK_SIZE = 1 << 30;
+    // Largest array the JVM reliably allocates
+    private static final int MAX_OUTPUT_BUFFER = Integer.MAX_VALUE - 8;
+
+    private final LengthUnit target;
+    private final int threads;
+    private final int chunkSize;
+
+    public ConversionPipeline(LengthUnit target) {
+        this(target, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ConversionPipeline(LengthUnit target, int threads, int chunkSize) {
+        if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+        if (threads <= 0) throw new IllegalArgumentException("Threads must be positive");
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE)
+            throw new IllegalArgumentException("Chunk size must be in [1, " + MAX_CHUNK_SIZE + "]");
+        this.target = target;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    // ===== Result summary =====
+    public static final class Summary {
+        private final long lines;
+        private final long invalid;
+        private final long bytes;
+        private final long nanos;
+        private final Length total;
+
+        Summary(long lines, long invalid, long bytes, long nanos, Length total) {
+            this.lines = lines;
+            this.invalid = invalid;
+            this.bytes = bytes;
+            this.nanos = nanos;
+            this.total = total;
+        }
+
+        /** Lines converted or summed. */
+        public long getLines() { return lines; }
+        /** Non-blank lines that failed to parse. */
+        public long getInvalid() { return invalid; }
+        public long getBytes() { return bytes; }
+        public long getNanos() { return nanos; }
+        /** Sum in the target unit (sum mode only, otherwise null). */
+        public Length getTotal() { return total; }
+
+        @Override
+        public String toString() {
+            double secs = Math.max(nanos, 1) / 1e9;
+            return String.format("Processed %,d lines (%,d invalid), %.1f MB in %.3f s: %.1f MB/s, %,.0f lines/s",
+                    lines, invalid, bytes / 1e6, secs, bytes / 1e6 / secs, lines / secs);
+        }
+    }
+
+    // ===== Entry points =====
+    /** Convert every line to the target unit and write one result per line to {@code out}. */
+    public Summary convert(Path input, WritableByteChannel out) throws IOException {
+        if (out == null) throw new IllegalArgumentException("Output cannot be null");
+        return run(input, out);
+    }
+
+    /** Sum every line in base inches; the total is reported in the target unit. */
+    public Summary sum(Path input) throws IOException {
+        return run(input, null);
+    }
+
+    private Summary run(Path input, WritableByteChannel out) throws IOException {
+        if (input == null) throw new IllegalArgumentException("Input cannot be null");
+        long started = System.nanoTime();
+        long lines = 0;
+        long invalid = 0;
+        LengthAccumulator total = new LengthAccumulator();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = in.size();
+            ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+            long start = 0;
+            while (start < size || !pending.isEmpty()) {
+                // Keep the window full, then drain the oldest chunk to preserve order
+                while (start < size && pending.size() < 2 * threads) {
+                    long s = start;
+                    long e = Math.min(size, start + chunkSize);
+                    pending.add(pool.submit(() -> process(in, s, e, size, out != null)));
+                    start = e;
+                }
+                Chunk c = await(pending.poll());
+                lines += c.lines;
+                invalid += c.invalid;
+                total.merge(c.sum);
+                if (out != null) {
+                    while (c.output.hasRemaining()) out.write(c.output);
+                }
+            }
+            return new Summary(lines, invalid, size, System.nanoTime() - started,
+                    out == null ? total.toLength(target) : null);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Chunk await(Future<Chunk> f) throws IOException {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while converting");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    // ===== Per-chunk work =====
+    private static final class Chunk {
+        long lines;
+        long invalid;
+        final LengthAccumulator sum = new LengthAccumulator();
+        ByteBuffer output;
+    }
+
+    private Chunk process(FileChannel in, long start, long end, long size, boolean convert) {
+        try {
+            // Map one byte before the chunk (to see whether it starts on a line boundary) and enough after it
+            long mapStart = start == 0 ? 0 : start - 1;
+            long mapEnd = Math.min(size, end + MAX_LINE_LENGTH);
+            MappedByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+            int limit = (int) (end - mapStart);
+            int i = (int) (start - mapStart);
+            if (start > 0 && buf.get(0) != '\n') {
+                while (i < buf.limit() && buf.get(i) != '\n') i++;
+                i++;
+            }
+
+            Chunk chunk = new Chunk();
+            LengthParser parser = new LengthParser();
+            ByteBuffer output = convert ? ByteBuffer.allocate(chunkSize + (chunkSize >> 1) + 64) : null;
+            while (i < limit) {
+                int eol = i;
+                while (eol < buf.limit() && buf.get(eol) != '\n') eol++;
+                if (eol == buf.limit() && mapEnd < size)
+                    throw new IllegalArgumentException("Line at offset " + (mapStart + i) + " exceeds " + MAX_LINE_LENGTH + " bytes");
+                int lineEnd = (eol > i && buf.get(eol - 1) == '\r') ? eol - 1 : eol;
+
+                if (!isBlank(buf, i, lineEnd)) {
+                    if (parser.parse(buf, i, lineEnd)) {
+                        chunk.lines++;
+                        if (convert) {
+                            double converted = Length.convert(parser.value(), parser.unit(), target);
+                            output = write(output, converted);
+                        } else {
+                            chunk.sum.add(parser.value(), parser.unit());
+                        }
+                    } else {
+                        chunk.invalid++;
+                    }
+                }
+                i = eol + 1;
+            }
+            if (convert) chunk.output = output.flip();
+            return chunk;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Append "<value> <symbol>\n", growing the buffer if needed
+    private ByteBuffer write(ByteBuffer output, double value) {
+        while (true) {
+            int mark = output.position();
+            try {
+                LengthFormat.format(value, target, output).put((byte) '\n');
+                return output;
+            } catch (BufferOverflowException e) {
+                output.position(mark);
+                ByteBuffer bigger = ByteBuffer.allocate(grownCapacity(output.capacity()));
+                bigger.put(output.flip());
+                output = bigger;
+            }
+        }
+    }
+
+    // Double the capacity without overflowing int; fails once the buffer cannot grow any further
+    static int grownCapacity(int capacity) {
+        if (capacity >= MAX_OUTPUT_BUFFER)
+            throw new IllegalArgumentException("Converted chunk exceeds " + MAX_OUTPUT_BUFFER
+                    + " bytes; use a smaller chunk size");
+        return (int) Math.min(MAX_OUTPUT_BUFFER, (long) capacity * 2);
+    }
+
+    private static boolean isBlank(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b != ' ' && b != '\t') return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,201 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+/**
+ * DerivedQuantity
+ *
+ * Immutable quantity derived from lengths by multiplication and division: areas (ft^2), volumes
+ * (cm^3), inverse lengths (in^-1) and dimensionless ratios, each expressed in a LengthUnit raised
+ * to an exponent.
+ *
+ * Notes:
+ * - The dimension is packed into one int with a byte lane per base dimension (biased by 128).
+ *   Only the length lane is in use; {@link #dimension()} of an area is {@link #AREA}, and so on.
+ *   multiply/divide combine dimensions with one integer add/subtract, and add/subtract/equals check
+ *   them with one integer compare.
+ * - Each unit's factor to inches raised to every exponent in [-MAX_EXPONENT, MAX_EXPONENT] is computed
+ *   once, at class initialization; no Math.pow per call. Like Length, a conversion multiplies into
+ *   inches^n and divides out of it, so a LENGTH quantity converts exactly as Length.convertTo does.
+ * - Following Length, results are in the unit of the first operand and rounded by the current
+ *   RoundingPolicy (2 decimals half-up by default); equality compares values in inches^n with the same EPS tolerance.
+ * - Dimension mismatches, exponents out of range and division by zero throw IllegalArgumentException.
+ */
+public final class DerivedQuantity {
+
+    public static final int MAX_EXPONENT = 6;
+
+    // ===== Packed dimensions =====
+    private static final int LANE_MASK = 0xff;
+    private static final int BIAS = 0x80; // length lane (bits 0-7); higher lanes are reserved
+
+    public static final int DIMENSIONLESS = dimension(0);
+    public static final int LENGTH = dimension(1);
+    public static final int AREA = dimension(2);
+    public static final int VOLUME = dimension(3);
+
+    /** Packed dimension of length^{@code lengthExponent}. */
+    public static int dimension(int lengthExponent) {
+        checkExponent(lengthExponent);
+        return (lengthExponent + BIAS) & LANE_MASK;
+    }
+
+    /** Length exponent of a packed dimension. */
+    public static int lengthExponent(int dimension) {
+        return (dimension & LANE_MASK) - BIAS;
+    }
+
+    // Lane-wise exponent add/subtract on biased lanes (exponents are range-checked on construction)
+    private static int times(int a, int b) { return a + b - BIAS; }
+    private static int over(int a, int b) { return a - b + BIAS; }
+
+    // ===== Conversion tables =====
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+    private static final int N = UNITS.length;
+
+    // [exponent + MAX_EXPONENT][ordinal] -> (factor to inches)^exponent
+    private static final double[][] POW_TO_INCHES = new double[2 * MAX_EXPONENT + 1][N];
+
+    static {
+        for (int e = -MAX_EXPONENT; e <= MAX_EXPONENT; e++) {
+            double[] row = POW_TO_INCHES[e + MAX_EXPONENT];
+            for (LengthUnit u : UNITS) row[u.ordinal()] = Math.pow(u.toInches(1.0), e);
+        }
+    }
+
+    // value in from^exponent -> to^exponent, through inches^exponent
+    private static double convert(double value, LengthUnit from, LengthUnit to, int exponent) {
+        double[] row = POW_TO_INCHES[exponent + MAX_EXPONENT];
+        return value * row[from.ordinal()] / row[to.ordinal()];
+    }
+
+    // ===== State =====
+    private final double value;
+    private final LengthUnit unit;
+    private final int dimension;
+
+    private DerivedQuantity(double value, LengthUnit unit, int dimension) {
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        checkExponent(lengthExponent(dimension));
+        this.value = value;
+        this.unit = unit;
+        this.dimension = dimension;
+    }
+
+    /** {@code value} in {@code unit}^{@code exponent}, e.g. of(12, FEET, 2) is 12 ft^2. */
+    public static DerivedQuantity of(double value, LengthUnit unit, int exponent) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        return new DerivedQuantity(value, unit, dimension(exponent));
+    }
+
+    public static DerivedQuantity of(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return new DerivedQuantity(length.getValue(), length.getUnit(), LENGTH);
+    }
+
+    public double getValue() { return value; }
+    public LengthUnit getUnit() { return unit; }
+    public int dimension() { return dimension; }
+    public int getExponent() { return lengthExponent(dimension); }
+
+    // ===== Arithmetic =====
+    /** Product in this unit, e.g. 2 ft^2 * 6 in = 1.0 ft^3. */
+    public DerivedQuantity multiply(DerivedQuantity that) {
+        if (that == null) throw new IllegalArgumentException("Quantity cannot be null");
+        int d = times(dimension, that.dimension);
+        double other = convert(that.value, that.unit, unit, that.getExponent());
+        return new DerivedQuantity(round(value * other), unit, d);
+    }
+
+    public DerivedQuantity multiply(Length that) {
+        return multiply(of(that));
+    }
+
+    /** Quotient in this unit, e.g. 1 ft^2 / 6 in = 2.0 ft. */
+    public DerivedQuantity divide(DerivedQuantity that) {
+        if (that == null) throw new IllegalArgumentException("Quantity cannot be null");
+        if (that.value == 0.0) throw new IllegalArgumentException("Division by zero");
+        int d = over(dimension, that.dimension);
+        double other = convert(that.value, that.unit, unit, that.getExponent());
+        return new DerivedQuantity(round(value / other), unit, d);
+    }
+
+    public DerivedQuantity divide(Length that) {
+        return divide(of(that));
+    }
+
+    /** Sum of two quantities of the same dimension, in this unit. */
+    public DerivedQuantity add(DerivedQuantity that) {
+        if (that == null) throw new IllegalArgumentException("Quantity to add cannot be null");
+        if (that.dimension != dimension)
+            throw new IllegalArgumentException("Dimension mismatch: " + unitString(unit, getExponent())
+                    + " + " + unitString(that.unit, that.getExponent()));
+        double other = convert(that.value, that.unit, unit, getExponent());
+        return new DerivedQuantity(round(value + other), unit, dimension);
+    }
+
+    public DerivedQuantity subtract(DerivedQuantity that) {
+        if (that == null) throw new IllegalArgumentException("Quantity to subtract cannot be null");
+        return add(new DerivedQuantity(-that.value, that.unit, that.dimension));
+    }
+
+    /**
+     * Same quantity in {@code target}^exponent, rounded by the current RoundingPolicy (2 decimals half-up by default).
+     */
+    public DerivedQuantity convertTo(LengthUnit target) {
+        if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+        if (target == unit) return this;
+        return new DerivedQuantity(round(convert(value, unit, target, getExponent())), target, dimension);
+    }
+
+    /** Back to a Length; only for quantities of dimension LENGTH. */
+    public Length toLength() {
+        if (dimension != LENGTH) throw new IllegalArgumentException("Not a length: " + this);
+        return new Length(value, unit);
+    }
+
+    /** Value in inches^exponent (unrounded). */
+    public double toBase() {
+        return value * POW_TO_INCHES[getExponent() + MAX_EXPONENT][unit.ordinal()];
+    }
+
+    // ===== Equality =====
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DerivedQuantity that = (DerivedQuantity) o;
+        return dimension == that.dimension && Math.abs(toBase() - that.toBase()) < Length.EPS;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * dimension + Long.hashCode(Math.round(toBase() / Length.EPS));
+    }
+
+    @Override
+    public String toString() {
+        int e = getExponent();
+        if (e == 0) return Double.toString(round(value));
+        StringBuilder sb = LengthFormat.format(value, unit, new StringBuilder(20));
+        if (e != 1) sb.append('^').append(e);
+        return sb.toString();
+    }
+
+    private static String unitString(LengthUnit unit, int exponent) {
+        return exponent == 0 ? "1" : exponent == 1 ? unit.getSymbol() : unit.getSymbol() + "^" + exponent;
+    }
+
+    private static void checkExponent(int e) {
+        if (e < -MAX_EXPONENT || e > MAX_EXPONENT)
+            throw new IllegalArgumentException("Length exponent out of range [-" + MAX_EXPONENT + ", "
+                    + MAX_EXPONENT + "]: " + e);
+    }
+
+    // Current RoundingPolicy, same as Length's convert/add
+    private static double round(double v) {
+        return RoundingPolicy.current().apply(v);
+    }
+}
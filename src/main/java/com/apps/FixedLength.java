@@ -0,0 +1,115 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+/**
+ * FixedLength
+ *
+ * Immutable length stored as a fixed-point count of nano-inches, for high-volume hashing and sorting.
+ *
+ * Notes:
+ * - The magnitude is quantized once at construction: nanoInches = round(value in inches * 1e9).
+ *   equals/hashCode/compareTo then work on that single long, so they are exact and mutually consistent
+ *   (unlike Length, whose equals uses an epsilon that hashCode cannot honour at bucket boundaries).
+ * - Two values are equal iff they quantize to the same nano-inch. This is stricter than Length.equals
+ *   (tolerance 1e-6 in), so do not mix FixedLength and Length keys in one map.
+ * - The unit is kept for display and conversion only; it does not take part in equality.
+ *   1 ft and 12 in are equal and have the same hash.
+ * - Range is about +/- 9.2e9 inches. Values outside it are rejected with IllegalArgumentException.
+ */
+public final class FixedLength implements Comparable<FixedLength> {
+
+    /** Number of quanta per inch (1 quantum = 1 nano-inch). */
+    public static final long QUANTA_PER_INCH = 1_000_000_000L;
+
+    private static final double MAX_INCHES = Long.MAX_VALUE / (double) QUANTA_PER_INCH;
+
+    private final long nanoInches;
+    private final LengthUnit unit;
+
+    private FixedLength(long nanoInches, LengthUnit unit) {
+        this.nanoInches = nanoInches;
+        this.unit = unit;
+    }
+
+    public static FixedLength of(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        return new FixedLength(quantize(unit.toInches(value)), unit);
+    }
+
+    public static FixedLength of(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return of(length.getValue(), length.getUnit());
+    }
+
+    public static FixedLength ofNanoInches(long nanoInches, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        return new FixedLength(nanoInches, unit);
+    }
+
+    /** Quantize a value in inches to nano-inches (half-up, as Math.round). */
+    public static long quantize(double inches) {
+        if (Double.isNaN(inches) || Math.abs(inches) >= MAX_INCHES)
+            throw new IllegalArgumentException("Value out of fixed-point range: " + inches + " in");
+        return Math.round(inches * QUANTA_PER_INCH);
+    }
+
+    public long getNanoInches() { return nanoInches; }
+    public LengthUnit getUnit() { return unit; }
+
+    /** Magnitude in inches (exact to the quantum). */
+    public double toInches() { return (double) nanoInches / QUANTA_PER_INCH; }
+
+    /** Magnitude in this instance's unit (unrounded). */
+    public double getValue() { return unit.fromInches(toInches()); }
+
+    /** Same magnitude in another unit; no rounding, since the stored quantity is unit independent. */
+    public FixedLength convertTo(LengthUnit targetUnit) {
+        if (targetUnit == null) throw new IllegalArgumentException("Target unit cannot be null");
+        if (targetUnit == unit) return this;
+        return new FixedLength(nanoInches, targetUnit);
+    }
+
+    /** Exact sum, returned in this instance's unit. */
+    public FixedLength add(FixedLength that) {
+        if (that == null) throw new IllegalArgumentException("Length to add cannot be null");
+        try {
+            return new FixedLength(Math.addExact(nanoInches, that.nanoInches), unit);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Sum out of fixed-point range", e);
+        }
+    }
+
+    /**
+     * Convert to a regular Length in this unit, rounded by the current RoundingPolicy (2 decimals half-up by default)
+     * like Length.convertTo.
+     */
+    public Length toLength() {
+        return new Length(Length.convertUnmetered(toInches(), LengthUnit.INCHES, unit, RoundingPolicy.current()), unit);
+    }
+
+    @Override
+    public int compareTo(FixedLength other) {
+        return Long.compare(nanoInches, other.nanoInches);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FixedLength)) return false;
+        return nanoInches == ((FixedLength) o).nanoInches;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(nanoInches);
+    }
+
+    @Override
+    public String toString() {
+        return toLength().toString();
+    }
+}
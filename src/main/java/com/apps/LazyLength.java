@@ -0,0 +1,126 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+/**
+ * LazyLength
+ *
+ * Mutable builder for chains of conversions and additions (e.g. FEET -> CENTIMETERS -> YARDS, plus a
+ * few offsets) that keeps the running value unrounded and only rounds at the terminal call.
+ *
+ * Notes:
+ * - Each step is folded into one double in the current unit using the same arithmetic as the eager
+ *   methods (convertTo: into inches and out to the target; add: sum in inches, then back to the
+ *   current unit), but without rounding and without allocating. Only toLength() allocates.
+ * - Guarantee: a chain of one step gives exactly the eager result (new Length(...).convertTo(u) or
+ *   .add(x)); the one exception is eager convertTo to the same unit, which returns the Length
+ *   unrounded, while toLength() always rounds. For longer chains the result is the exact chain value
+ *   rounded once by the current RoundingPolicy (2 decimals half-up by default), up to floating-point
+ *   error; the eager path can instead drift by up to half a rounding step (0.005 by default, in the unit
+ *   of that step) per intermediate rounding.
+ * - Not thread-safe; meant to be used for one chain and discarded, or reset with {@link #set}.
+ */
+public final class LazyLength {
+
+    private double value;      // unrounded, in unit
+    private LengthUnit unit;
+
+    private LazyLength(double value, LengthUnit unit) {
+        this.value = value;
+        this.unit = unit;
+    }
+
+    public static LazyLength of(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        return new LazyLength(checkFinite(value), unit);
+    }
+
+    public static LazyLength of(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return new LazyLength(length.getValue(), length.getUnit());
+    }
+
+    /** Restart the chain from {@code value} in {@code unit}. */
+    public LazyLength set(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        checkFinite(value);
+        this.value = value;
+        this.unit = unit;
+        return this;
+    }
+
+    // ===== Steps =====
+    /** Switch to {@code target}; the value is converted but not rounded. */
+    public LazyLength convertTo(LengthUnit target) {
+        if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+        if (target != unit) {
+            value = unit.convertTo(value, target);
+            unit = target;
+        }
+        return this;
+    }
+
+    /** Add {@code v} in {@code u}; the sum stays in the current unit, unrounded. */
+    public LazyLength add(double v, LengthUnit u) {
+        if (u == null) throw new IllegalArgumentException("Unit cannot be null");
+        checkFinite(v);
+        value = unit.fromInches(unit.toInches(value) + u.toInches(v));
+        return this;
+    }
+
+    public LazyLength add(Length that) {
+        if (that == null) throw new IllegalArgumentException("Length to add cannot be null");
+        return add(that.getValue(), that.getUnit());
+    }
+
+    public LazyLength subtract(double v, LengthUnit u) {
+        return add(-v, u);
+    }
+
+    public LazyLength subtract(Length that) {
+        if (that == null) throw new IllegalArgumentException("Length to subtract cannot be null");
+        return add(-that.getValue(), that.getUnit());
+    }
+
+    // ===== Terminal calls =====
+    public LengthUnit unit() { return unit; }
+
+    /**
+     * Current value in the current unit, rounded by the current RoundingPolicy (2 decimals half-up by default).
+     */
+    public double value() {
+        return round(checkFinite(value));
+    }
+
+    /** Current value in the current unit, unrounded. */
+    public double rawValue() { return value; }
+
+    /**
+     * Materialize the chain as a Length in the current unit, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default).
+     */
+    public Length toLength() {
+        return new Length(value(), unit);
+    }
+
+    /** Materialize in {@code target}: same as convertTo(target).toLength(). */
+    public Length toLength(LengthUnit target) {
+        return convertTo(target).toLength();
+    }
+
+    @Override
+    public String toString() {
+        return LengthFormat.format(value, unit, new StringBuilder(16)).toString();
+    }
+
+    private static double checkFinite(double v) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) throw new IllegalArgumentException("Value must be finite");
+        return v;
+    }
+
+    // Current RoundingPolicy, same as Length's convert/add
+    private static double round(double v) {
+        return RoundingPolicy.current().apply(v);
+    }
+}
@@ -0,0 +1,102 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+/**
+ * LengthAccumulator
+ *
+ * Mutable, reusable running sum of lengths for summing very large numbers of values.
+ *
+ * Notes:
+ * - Values are normalized to base (inches) and summed with Neumaier (improved Kahan) compensation,
+ *   so the error does not grow with the number of terms.
+ * - Nothing is rounded or allocated per add; rounding by the current RoundingPolicy (2 decimals half-up
+ *   by default) only happens in {@link #toLength} and {@link #sum}, exactly as Length.add would round a
+ *   single step.
+ * - Not thread-safe: use one accumulator per thread and {@link #merge} them at the end.
+ */
+public final class LengthAccumulator {
+
+    private double sum;          // running sum in inches
+    private double compensation; // lost low-order bits
+    private long count;
+
+    public LengthAccumulator() { }
+
+    /** Add a raw value in the given unit. */
+    public LengthAccumulator add(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        addInches(unit.toInches(value));
+        count++;
+        return this;
+    }
+
+    /** Add a Length instance. */
+    public LengthAccumulator add(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length to add cannot be null");
+        addInches(length.getUnit().toInches(length.getValue()));
+        count++;
+        return this;
+    }
+
+    /** Add every value of {@code values}, all expressed in {@code unit}. */
+    public LengthAccumulator addAll(double[] values, LengthUnit unit) {
+        if (values == null) throw new IllegalArgumentException("Values cannot be null");
+        for (double v : values) add(v, unit);
+        return this;
+    }
+
+    /** Fold another accumulator into this one (including its compensation term). */
+    public LengthAccumulator merge(LengthAccumulator other) {
+        if (other == null) throw new IllegalArgumentException("Accumulator cannot be null");
+        addInches(other.sum);
+        addInches(other.compensation);
+        count += other.count;
+        return this;
+    }
+
+    // Neumaier's variant of Kahan summation
+    private void addInches(double x) {
+        double t = sum + x;
+        if (Math.abs(sum) >= Math.abs(x)) {
+            compensation += (sum - t) + x;
+        } else {
+            compensation += (x - t) + sum;
+        }
+        sum = t;
+    }
+
+    /** Compensated sum in inches (unrounded). */
+    public double sumInches() { return sum + compensation; }
+
+    /** Sum in the target unit, rounded by the current RoundingPolicy (2 decimals half-up by default). */
+    public double sum(LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        return Length.convertUnmetered(sumInches(), LengthUnit.INCHES, unit, RoundingPolicy.current());
+    }
+
+    /**
+     * Materialize the sum as a Length in the target unit, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default).
+     */
+    public Length toLength(LengthUnit unit) {
+        return new Length(sum(unit), unit);
+    }
+
+    /** Number of values added since creation or the last reset. */
+    public long count() { return count; }
+
+    public void reset() {
+        sum = 0.0;
+        compensation = 0.0;
+        count = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LengthAccumulator{" + sumInches() + " in, count=" + count + "}";
+    }
+}
@@ -0,0 +1,211 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LengthCache
+ *
+ * Bounded, thread-safe flyweight cache for Length instances and memoized convertTo results.
+ *
+ * Notes:
+ * - Keys are exact: (bits of value, unit) for interning and (bits of value, unit, target, rounding
+ *   policy) for conversions, so a RoundingPolicy.setCurrent(...) never returns a result rounded under
+ *   the old policy. Epsilon-equal values with different bits are cached separately.
+ * - The cache is set-associative: a key hashes to one set of {@link #WAYS} slots, and each set evicts
+ *   with the CLOCK (second-chance) policy. Total capacity is rounded up to a power-of-two number of sets.
+ * - Lookups are lock-free reads. Only a miss takes the set's lock to insert, and it re-checks the set
+ *   first, so concurrent misses on the same key still return one shared instance.
+ * - Hit/miss counters use LongAdder and are kept separately for interning and conversions.
+ * - When LengthMetrics is enabled a conversion hit is recorded as a CONVERT_TO call, like a miss
+ *   (which runs Length.convertTo), so cached traffic still shows in the per-pair counters.
+ */
+public final class LengthCache {
+
+    /** Slots per set. */
+    public static final int WAYS = 8;
+
+    private static final int NO_TARGET = 0xFF;
+    private static final int LOCK_STRIPES = 64;
+
+    // Immutable key/value pair; only the reference bit changes
+    private static final class Entry {
+        final long bits;
+        final int units;     // unit | target << 8 (NO_TARGET for interned values) | policy index << 16
+        final Length value;
+        volatile boolean referenced;
+
+        Entry(long bits, int units, Length value) {
+            this.bits = bits;
+            this.units = units;
+            this.value = value;
+        }
+    }
+
+    private final int setMask;
+    private final AtomicReferenceArray<Entry> slots;
+    private final int[] hands;        // CLOCK hand per set, guarded by the set's lock
+    private final Object[] locks;
+
+    private final LongAdder internHits = new LongAdder();
+    private final LongAdder internMisses = new LongAdder();
+    private final LongAdder conversionHits = new LongAdder();
+    private final LongAdder conversionMisses = new LongAdder();
+
+    public LengthCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        int sets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS));
+        if (sets * WAYS < capacity) sets <<= 1;
+        this.setMask = sets - 1;
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.hands = new int[sets];
+        this.locks = new Object[Math.min(sets, LOCK_STRIPES)];
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+    }
+
+    // ===== Interning =====
+    /** Shared Length for (value, unit); creates and caches one on a miss. */
+    public Length intern(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        long bits = Double.doubleToLongBits(value);
+        int units = unit.ordinal() | NO_TARGET << 8;
+        Length hit = lookup(bits, units);
+        if (hit != null) {
+            internHits.increment();
+            return hit;
+        }
+        internMisses.increment();
+        return insert(bits, units, new Length(value, unit));
+    }
+
+    /** Shared instance equal in value bits and unit to {@code length}; caches {@code length} itself on a miss. */
+    public Length intern(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        long bits = Double.doubleToLongBits(length.getValue());
+        int units = length.getUnit().ordinal() | NO_TARGET << 8;
+        Length hit = lookup(bits, units);
+        if (hit != null) {
+            internHits.increment();
+            return hit;
+        }
+        internMisses.increment();
+        return insert(bits, units, length);
+    }
+
+    // ===== Memoized conversion =====
+    /** Same result as {@code length.convertTo(target)}, memoized per (value, unit, target, current policy). */
+    public Length convertTo(Length length, LengthUnit target) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return convert(length.getValue(), length.getUnit(), target, RoundingPolicy.current());
+    }
+
+    /** Same result as {@code new Length(value, unit).convertTo(target)}, memoized. */
+    public Length convert(double value, LengthUnit unit, LengthUnit target) {
+        return convert(value, unit, target, RoundingPolicy.current());
+    }
+
+    /** Same result as {@code new Length(value, unit).convertTo(target, policy)}, memoized. */
+    public Length convert(double value, LengthUnit unit, LengthUnit target, RoundingPolicy policy) {
+        if (unit == null || target == null) throw new IllegalArgumentException("Units cannot be null");
+        if (policy == null) throw new IllegalArgumentException("Rounding policy cannot be null");
+        if (unit == target) return intern(value, unit);
+        boolean metered = LengthMetrics.enabled;
+        long t0 = metered ? System.nanoTime() : 0L;
+        long bits = Double.doubleToLongBits(value);
+        int units = unit.ordinal() | target.ordinal() << 8 | policy.index() << 16;
+        Length hit = lookup(bits, units);
+        if (hit != null) {
+            conversionHits.increment();
+            if (metered) LengthMetrics.record(LengthMetrics.Op.CONVERT_TO, unit, target, t0);
+            return hit;
+        }
+        conversionMisses.increment();
+        return insert(bits, units, new Length(value, unit).convertTo(target, policy));
+    }
+
+    // ===== Set-associative storage =====
+    private Length lookup(long bits, int units) {
+        int base = setOf(bits, units) * WAYS;
+        for (int i = 0; i < WAYS; i++) {
+            Entry e = slots.get(base + i);
+            if (e != null && e.bits == bits && e.units == units) {
+                if (!e.referenced) e.referenced = true;
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    private Length insert(long bits, int units, Length value) {
+        int set = setOf(bits, units);
+        int base = set * WAYS;
+        synchronized (locks[set & (locks.length - 1)]) {
+            // Another thread may have inserted the same key while we built the value
+            for (int i = 0; i < WAYS; i++) {
+                Entry e = slots.get(base + i);
+                if (e != null && e.bits == bits && e.units == units) return e.value;
+            }
+            int hand = hands[set];
+            while (true) {
+                Entry e = slots.get(base + hand);
+                if (e == null || !e.referenced) break;
+                e.referenced = false; // second chance
+                hand = (hand + 1) & (WAYS - 1);
+            }
+            slots.set(base + hand, new Entry(bits, units, value));
+            hands[set] = (hand + 1) & (WAYS - 1);
+        }
+        return value;
+    }
+
+    private int setOf(long bits, int units) {
+        long h = bits * 0x9E3779B97F4A7C15L + units;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & setMask;
+    }
+
+    // ===== Stats =====
+    public int capacity() { return slots.length(); }
+
+    public long internHits() { return internHits.sum(); }
+    public long internMisses() { return internMisses.sum(); }
+    public long conversionHits() { return conversionHits.sum(); }
+    public long conversionMisses() { return conversionMisses.sum(); }
+
+    /** Fraction of all lookups (interning and conversion) that hit; 0 when nothing was looked up. */
+    public double hitRate() {
+        long hits = internHits() + conversionHits();
+        long total = hits + internMisses() + conversionMisses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /** Drop all entries and reset the counters. */
+    public void clear() {
+        for (Object lock : locks) {
+            synchronized (lock) {
+                // clear every set that maps to this stripe
+                for (int set = 0; set < hands.length; set++) {
+                    if (locks[set & (locks.length - 1)] != lock) continue;
+                    for (int i = 0; i < WAYS; i++) slots.set(set * WAYS + i, null);
+                    hands[set] = 0;
+                }
+            }
+        }
+        internHits.reset();
+        internMisses.reset();
+        conversionHits.reset();
+        conversionMisses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "LengthCache{capacity=" + capacity()
+                + ", intern=" + internHits() + "/" + (internHits() + internMisses())
+                + ", convert=" + conversionHits() + "/" + (conversionHits() + conversionMisses()) + "}";
+    }
+}
@@ -0,0 +1,108 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.Optional;
+import java.util.stream.Collector;
+
+/**
+ * LengthCollectors
+ *
+ * Stream {@link Collector}s over Length values, safe under {@code parallelStream()}.
+ *
+ * Notes:
+ * - Sums and averages accumulate exact nano-inches ({@link NanoInchSum}); integer adds are associative,
+ *   so parallel and sequential runs give bit-identical results, rounded by the current RoundingPolicy
+ *   (2 decimals half-up by default) in the target unit. Each length must be within about +/- 9.2e9 inches.
+ * - Min/max compare physical magnitude (inches) and return the extreme value converted to the target
+ *   unit; empty streams give {@code Optional.empty()}.
+ * - Null elements are rejected with IllegalArgumentException, like Length.add.
+ */
+public final class LengthCollectors {
+
+    private LengthCollectors() { }
+
+    /**
+     * Sum of all lengths in {@code target}, rounded by the current RoundingPolicy (2 decimals half-up by default);
+     * 0 for an empty stream.
+     */
+    public static Collector<Length, ?, Length> summing(LengthUnit target) {
+        requireUnit(target);
+        return Collector.of(
+                NanoInchSum::new,
+                NanoInchSum::add,
+                NanoInchSum::merge,
+                acc -> acc.toLength(target),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /** Arithmetic mean in {@code target}, rounded by the current RoundingPolicy (2 decimals half-up by default). */
+    public static Collector<Length, ?, Optional<Length>> averaging(LengthUnit target) {
+        requireUnit(target);
+        return Collector.of(
+                NanoInchSum::new,
+                NanoInchSum::add,
+                NanoInchSum::merge,
+                acc -> acc.count() == 0
+                        ? Optional.empty()
+                        : Optional.of(new Length(
+                                Length.convertUnmetered(acc.inches() / acc.count(), LengthUnit.INCHES, target,
+                                        RoundingPolicy.current()), target)),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /** Smallest length by physical magnitude, converted to {@code target}. */
+    public static Collector<Length, ?, Optional<Length>> minimum(LengthUnit target) {
+        return extreme(target, false);
+    }
+
+    /** Largest length by physical magnitude, converted to {@code target}. */
+    public static Collector<Length, ?, Optional<Length>> maximum(LengthUnit target) {
+        return extreme(target, true);
+    }
+
+    private static Collector<Length, ?, Optional<Length>> extreme(LengthUnit target, boolean max) {
+        requireUnit(target);
+        return Collector.of(
+                () -> new Extreme(max),
+                Extreme::accept,
+                Extreme::combine,
+                e -> e.best == null
+                        ? Optional.empty()
+                        : Optional.of(e.best.convertToUnmetered(target, RoundingPolicy.current())),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    // Mutable container for min/max; caches the base value of the current best
+    private static final class Extreme {
+        private final boolean max;
+        private Length best;
+        private double bestInches;
+
+        Extreme(boolean max) {
+            this.max = max;
+        }
+
+        void accept(Length l) {
+            if (l == null) throw new IllegalArgumentException("Length cannot be null");
+            offer(l, l.getUnit().toInches(l.getValue()));
+        }
+
+        Extreme combine(Extreme other) {
+            if (other.best != null) offer(other.best, other.bestInches);
+            return this;
+        }
+
+        private void offer(Length l, double inches) {
+            if (best == null || (max ? inches > bestInches : inches < bestInches)) {
+                best = l;
+                bestInches = inches;
+            }
+        }
+    }
+
+    private static void requireUnit(LengthUnit target) {
+        if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+    }
+}
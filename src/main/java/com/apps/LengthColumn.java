@@ -0,0 +1,256 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * LengthColumn
+ *
+ * Append-only column of lengths held off-heap: values and unit ordinals live in direct ByteBuffers,
+ * so hundreds of millions of measurements cost 9 bytes each and no Length objects or GC scanning.
+ *
+ * Notes:
+ * - Storage is split into chunks of {@link #CHUNK_ROWS} rows (8 MB of values + 1 MB of units each),
+ *   allocated as the column grows, so sizes beyond the 2 GB limit of a single buffer work.
+ * - Reads are by row index (value, unit, inches) or through a reusable {@link Cursor}; neither
+ *   allocates per row. get(i) builds a Length for convenience.
+ * - convertTo(...) and sum(...) run chunk by chunk with {@link LengthKernels} / {@link LengthAccumulator},
+ *   with results identical to Length.convert and LengthAccumulator over the same values.
+ * - Not thread-safe for writes; concurrent readers are fine once appends have been published.
+ * - Direct memory is released when the column becomes unreachable (or after {@link #clear()});
+ *   size -XX:MaxDirectMemorySize accordingly.
+ */
+public final class LengthColumn {
+
+    public static final int CHUNK_SHIFT = 20;
+    public static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    private final List<DoubleBuffer> values = new ArrayList<>();
+    private final List<ByteBuffer> units = new ArrayList<>();
+    private long size;
+
+    // ===== Writes =====
+    public LengthColumn append(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        int chunk = chunkFor(size);
+        int row = (int) (size & CHUNK_MASK);
+        values.get(chunk).put(row, value);
+        units.get(chunk).put(row, (byte) unit.ordinal());
+        size++;
+        return this;
+    }
+
+    public LengthColumn append(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return append(length.getValue(), length.getUnit());
+    }
+
+    /** Append {@code values} that all share {@code unit}. */
+    public LengthColumn appendAll(double[] src, LengthUnit unit) {
+        if (src == null) throw new IllegalArgumentException("Values cannot be null");
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        checkFinite(src, 0, src.length);
+        byte ordinal = (byte) unit.ordinal();
+        for (int off = 0; off < src.length; ) {
+            int chunk = chunkFor(size);
+            int row = (int) (size & CHUNK_MASK);
+            int n = Math.min(src.length - off, CHUNK_ROWS - row);
+            values.get(chunk).put(row, src, off, n);
+            ByteBuffer u = units.get(chunk);
+            for (int i = 0; i < n; i++) u.put(row + i, ordinal);
+            off += n;
+            size += n;
+        }
+        return this;
+    }
+
+    /** Append rows from parallel arrays of values and LengthUnit ordinals. */
+    public LengthColumn appendAll(double[] src, byte[] srcUnits) {
+        if (src == null || srcUnits == null) throw new IllegalArgumentException("Values and units cannot be null");
+        if (src.length != srcUnits.length) throw new IllegalArgumentException("Values and units must have the same length");
+        checkFinite(src, 0, src.length);
+        for (int i = 0; i < srcUnits.length; i++) {
+            if ((srcUnits[i] & 0xff) >= UNITS.length)
+                throw new IllegalArgumentException("Unknown unit ordinal at index " + i);
+        }
+        for (int off = 0; off < src.length; ) {
+            int chunk = chunkFor(size);
+            int row = (int) (size & CHUNK_MASK);
+            int n = Math.min(src.length - off, CHUNK_ROWS - row);
+            values.get(chunk).put(row, src, off, n);
+            units.get(chunk).put(row, srcUnits, off, n);
+            off += n;
+            size += n;
+        }
+        return this;
+    }
+
+    /** Drop all rows and release the chunks. */
+    public void clear() {
+        values.clear();
+        units.clear();
+        size = 0;
+    }
+
+    // Ensures the chunk holding row {@code index} exists and returns its number
+    private int chunkFor(long index) {
+        int chunk = (int) (index >>> CHUNK_SHIFT);
+        while (values.size() <= chunk) {
+            values.add(ByteBuffer.allocateDirect(CHUNK_ROWS * Double.BYTES)
+                    .order(ByteOrder.nativeOrder()).asDoubleBuffer());
+            units.add(ByteBuffer.allocateDirect(CHUNK_ROWS));
+        }
+        return chunk;
+    }
+
+    private static void checkFinite(double[] src, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Double.isNaN(src[i]) || Double.isInfinite(src[i]))
+                throw new IllegalArgumentException("Value must be finite at index " + i);
+        }
+    }
+
+    // ===== Random access =====
+    public long size() { return size; }
+
+    /** Direct memory currently reserved by this column. */
+    public long offHeapBytes() {
+        return (long) values.size() * CHUNK_ROWS * (Double.BYTES + 1);
+    }
+
+    public double value(long index) {
+        Objects.checkIndex(index, size);
+        return values.get((int) (index >>> CHUNK_SHIFT)).get((int) (index & CHUNK_MASK));
+    }
+
+    public LengthUnit unit(long index) {
+        Objects.checkIndex(index, size);
+        return UNITS[units.get((int) (index >>> CHUNK_SHIFT)).get((int) (index & CHUNK_MASK))];
+    }
+
+    public double inches(long index) {
+        return unit(index).toInches(value(index));
+    }
+
+    /** Row {@code index} as a Length (allocates; prefer value/unit or a Cursor in scans). */
+    public Length get(long index) {
+        return new Length(value(index), unit(index));
+    }
+
+    /**
+     * Copy rows [from, from + len) into {@code dstValues} / {@code dstUnits} (either may be null)
+     * starting at {@code off}.
+     */
+    public void read(long from, double[] dstValues, byte[] dstUnits, int off, int len) {
+        Objects.checkFromIndexSize(from, len, size);
+        if (dstValues != null) Objects.checkFromIndexSize(off, len, dstValues.length);
+        if (dstUnits != null) Objects.checkFromIndexSize(off, len, dstUnits.length);
+        while (len > 0) {
+            int chunk = (int) (from >>> CHUNK_SHIFT);
+            int row = (int) (from & CHUNK_MASK);
+            int n = Math.min(len, CHUNK_ROWS - row);
+            if (dstValues != null) values.get(chunk).get(row, dstValues, off, n);
+            if (dstUnits != null) units.get(chunk).get(row, dstUnits, off, n);
+            from += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    // ===== Bulk operations =====
+    /** A new column with every row converted to {@code target} (rounded like Length.convert). */
+    public LengthColumn convertTo(LengthUnit target) {
+        if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+        LengthColumn out = new LengthColumn();
+        double[] v = null;
+        byte[] u = null;
+        for (long from = 0; from < size; from += CHUNK_ROWS) {
+            int n = (int) Math.min(CHUNK_ROWS, size - from);
+            if (v == null || v.length != n) {
+                v = new double[n];
+                u = new byte[n];
+            }
+            read(from, v, u, 0, n);
+            LengthKernels.convert(v, u, target, v);
+            out.appendAll(v, target);
+        }
+        return out;
+    }
+
+    /**
+     * Compensated sum of all rows in {@code target}, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default).
+     */
+    public Length sum(LengthUnit target) {
+        if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+        LengthAccumulator acc = new LengthAccumulator();
+        Cursor c = cursor();
+        while (c.next()) acc.add(c.value(), c.unit());
+        return acc.toLength(target);
+    }
+
+    // ===== Cursor =====
+    public Cursor cursor() {
+        return new Cursor(0);
+    }
+
+    /** A cursor positioned before row {@code from}. */
+    public Cursor cursor(long from) {
+        if (from < 0 || from > size) throw new IndexOutOfBoundsException("Start " + from + " outside [0, " + size + "]");
+        return new Cursor(from);
+    }
+
+    /**
+     * Forward-only view over the rows: {@code while (c.next()) use(c.value(), c.unit())}.
+     * Sees the rows that existed when it was created.
+     */
+    public final class Cursor {
+        private final long end = size;
+        private long next;
+        private DoubleBuffer chunkValues;
+        private ByteBuffer chunkUnits;
+        private double value;
+        private int ordinal;
+
+        private Cursor(long from) {
+            this.next = from;
+        }
+
+        public boolean next() {
+            if (next >= end) return false;
+            int r = (int) (next & CHUNK_MASK);
+            if (chunkValues == null || r == 0) {
+                int chunk = (int) (next >>> CHUNK_SHIFT);
+                chunkValues = values.get(chunk);
+                chunkUnits = units.get(chunk);
+            }
+            value = chunkValues.get(r);
+            ordinal = chunkUnits.get(r);
+            next++;
+            return true;
+        }
+
+        /** Row index of the current row. */
+        public long index() { return next - 1; }
+
+        public double value() { return value; }
+
+        public LengthUnit unit() { return UNITS[ordinal]; }
+
+        public int unitOrdinal() { return ordinal; }
+
+        public double inches() { return UNITS[ordinal].toInches(value); }
+    }
+}
@@ -0,0 +1,345 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LengthColumnFile
+ *
+ * Compact columnar binary format for series of lengths, with a block writer and a memory-mapped reader.
+ *
+ * Layout (all little-endian):
+ * <pre>
+ *   file   : magic "QMLC" | int version | block*
+ *   block  : int blockBytes (bytes after this field) | int rows | byte encoding | byte scale
+ *            | double minInches | double maxInches
+ *            | int runCount | (byte unitOrdinal, int runLength) * runCount
+ *            | values: rows * 8 bytes (double, or long scaled by 10^scale for FIXED)
+ * </pre>
+ *
+ * Notes:
+ * - The unit column is dictionary encoded (LengthUnit ordinal) and run-length encoded, so a block in a
+ *   single unit costs 9 bytes of unit data regardless of row count.
+ * - Each block header keeps min/max in base inches, so range queries can skip whole blocks without
+ *   touching their values.
+ * - FIXED stores round(value * 10^scale) as a long, with scale in [0, {@link #MAX_SCALE}]. It is lossy
+ *   beyond {@code scale} decimals (scale 2 matches Length's rounding); DOUBLE is lossless. A value whose
+ *   scaled form does not fit in a long is rejected by append(...) instead of saturating.
+ * - The reader checks each block's header against its size, and that the unit runs cover exactly its
+ *   rows; a corrupt block throws IOException.
+ * - The reader indexes block headers on open and maps each block on demand, so files larger than 2 GB work.
+ */
+public final class LengthColumnFile {
+
+    public static final int MAGIC = 0x434C4D51; // "QMLC" little-endian
+    public static final int VERSION = 1;
+    public static final int DEFAULT_BLOCK_ROWS = 64 * 1024;
+    /** Largest FIXED scale: 10^scale is an exact double and leaves |value| &lt; 9.2e3 at worst. */
+    public static final int MAX_SCALE = 15;
+
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int BLOCK_FIXED_HEADER_BYTES = 4 + 4 + 1 + 1 + 8 + 8 + 4;
+    private static final int RUN_BYTES = 5;
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+    private static final double TWO_63 = 0x1p63;
+
+    public enum Encoding {
+        /** Raw IEEE-754 doubles (lossless). */
+        DOUBLE,
+        /** Fixed-point longs scaled by 10^scale. */
+        FIXED
+    }
+
+    private LengthColumnFile() { }
+
+    // ===== Writer =====
+    public static final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final int blockRows;
+        private final Encoding encoding;
+        private final int scale;
+        private final double pow;
+
+        private final double[] values;
+        private final byte[] units;
+        private int rows;
+        private ByteBuffer out;
+
+        public Writer(Path path) throws IOException {
+            this(path, DEFAULT_BLOCK_ROWS, Encoding.DOUBLE, 0);
+        }
+
+        public Writer(Path path, int blockRows, Encoding encoding, int scale) throws IOException {
+            if (path == null || encoding == null) throw new IllegalArgumentException("Path and encoding cannot be null");
+            if (blockRows <= 0) throw new IllegalArgumentException("Block rows must be positive");
+            if (scale < 0 || scale > MAX_SCALE) throw new IllegalArgumentException("Scale must be in [0, " + MAX_SCALE + "]");
+            this.blockRows = blockRows;
+            this.encoding = encoding;
+            this.scale = scale;
+            this.pow = Math.pow(10, scale);
+            this.values = new double[blockRows];
+            this.units = new byte[blockRows];
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(header);
+        }
+
+        public Writer append(double value, LengthUnit unit) throws IOException {
+            if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+            if (Double.isNaN(value) || Double.isInfinite(value))
+                throw new IllegalArgumentException("Value must be finite");
+            if (encoding == Encoding.FIXED && !(Math.abs(value * pow) < TWO_63))
+                throw new IllegalArgumentException("Value " + value + " does not fit FIXED with scale " + scale);
+            values[rows] = value;
+            units[rows] = (byte) unit.ordinal();
+            if (++rows == blockRows) flushBlock();
+            return this;
+        }
+
+        public Writer append(Length length) throws IOException {
+            if (length == null) throw new IllegalArgumentException("Length cannot be null");
+            return append(length.getValue(), length.getUnit());
+        }
+
+        /** Append {@code count} values of a single unit. */
+        public Writer append(double[] src, int offset, int count, LengthUnit unit) throws IOException {
+            for (int i = 0; i < count; i++) append(src[offset + i], unit);
+            return this;
+        }
+
+        private void flushBlock() throws IOException {
+            if (rows == 0) return;
+            int runs = 1;
+            for (int i = 1; i < rows; i++) if (units[i] != units[i - 1]) runs++;
+            int bytes = BLOCK_FIXED_HEADER_BYTES + runs * RUN_BYTES + rows * 8;
+            if (out == null || out.capacity() < bytes) out = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            out.clear();
+
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < rows; i++) {
+                double inches = UNITS[units[i]].toInches(stored(values[i]));
+                if (inches < min) min = inches;
+                if (inches > max) max = inches;
+            }
+
+            out.putInt(bytes - 4).putInt(rows).put((byte) encoding.ordinal()).put((byte) scale)
+                    .putDouble(min).putDouble(max).putInt(runs);
+            int runStart = 0;
+            for (int i = 1; i <= rows; i++) {
+                if (i == rows || units[i] != units[runStart]) {
+                    out.put(units[runStart]).putInt(i - runStart);
+                    runStart = i;
+                }
+            }
+            for (int i = 0; i < rows; i++) {
+                if (encoding == Encoding.DOUBLE) out.putDouble(values[i]);
+                else out.putLong(Math.round(values[i] * pow));
+            }
+            out.flip();
+            writeFully(out);
+            rows = 0;
+        }
+
+        // Value as it will read back (FIXED is quantized), so min/max match what readers see
+        private double stored(double v) {
+            return encoding == Encoding.DOUBLE ? v : Math.round(v * pow) / pow;
+        }
+
+        private void writeFully(ByteBuffer buf) throws IOException {
+            while (buf.hasRemaining()) channel.write(buf);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flushBlock();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // ===== Reader =====
+    /** Header summary of one block. */
+    public static final class BlockInfo {
+        private final long offset;      // file offset of the block's runCount field
+        private final int bytes;
+        private final int rows;
+        private final Encoding encoding;
+        private final int scale;
+        private final double minInches;
+        private final double maxInches;
+
+        BlockInfo(long offset, int bytes, int rows, Encoding encoding, int scale, double minInches, double maxInches) {
+            this.offset = offset;
+            this.bytes = bytes;
+            this.rows = rows;
+            this.encoding = encoding;
+            this.scale = scale;
+            this.minInches = minInches;
+            this.maxInches = maxInches;
+        }
+
+        public int getRows() { return rows; }
+        public Encoding getEncoding() { return encoding; }
+        public int getScale() { return scale; }
+        public double getMinInches() { return minInches; }
+        public double getMaxInches() { return maxInches; }
+
+        /** True if some row of this block may lie in [loInches, hiInches]. */
+        public boolean overlaps(double loInches, double hiInches) {
+            return maxInches >= loInches && minInches <= hiInches;
+        }
+    }
+
+    /** Decoded block: values in their own units beside LengthUnit ordinals. */
+    public static final class Block {
+        private final double[] values;
+        private final byte[] units;
+
+        Block(double[] values, byte[] units) {
+            this.values = values;
+            this.units = units;
+        }
+
+        public int rows() { return values.length; }
+        public double[] values() { return values; }
+        public byte[] units() { return units; }
+        public LengthUnit unit(int row) { return UNITS[units[row]]; }
+    }
+
+    public static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final List<BlockInfo> blocks = new ArrayList<>();
+        private long totalRows;
+
+        public Reader(Path path) throws IOException {
+            if (path == null) throw new IllegalArgumentException("Path cannot be null");
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                index();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private void index() throws IOException {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_FIXED_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(header, 0, FILE_HEADER_BYTES);
+            if (header.getInt() != MAGIC) throw new IOException("Not a length column file");
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported version: " + version);
+
+            long pos = FILE_HEADER_BYTES;
+            while (pos < size) {
+                readFully(header, pos, BLOCK_FIXED_HEADER_BYTES);
+                int bytes = header.getInt();
+                int rows = header.getInt();
+                int enc = header.get();
+                int scale = header.get();
+                double min = header.getDouble();
+                double max = header.getDouble();
+                if (enc < 0 || enc >= Encoding.values().length || scale < 0 || scale > MAX_SCALE || rows < 0
+                        || bytes < BLOCK_FIXED_HEADER_BYTES - 4 + 8L * rows || pos + 4 + bytes > size)
+                    throw new IOException("Corrupt block at offset " + pos);
+                long runsOffset = pos + BLOCK_FIXED_HEADER_BYTES - 4;
+                blocks.add(new BlockInfo(runsOffset, (int) (pos + 4 + bytes - runsOffset), rows,
+                        Encoding.values()[enc], scale, min, max));
+                totalRows += rows;
+                pos += 4 + bytes;
+            }
+        }
+
+        private void readFully(ByteBuffer buf, long pos, int len) throws IOException {
+            buf.clear().limit(len);
+            while (buf.hasRemaining()) {
+                if (channel.read(buf, pos + buf.position()) < 0) throw new EOFException("Truncated file");
+            }
+            buf.flip();
+        }
+
+        public int blockCount() { return blocks.size(); }
+        public long rowCount() { return totalRows; }
+        public BlockInfo info(int block) { return blocks.get(block); }
+
+        /** Indices of blocks whose [min, max] overlaps [lo, hi] (both converted to inches). */
+        public int[] blocksInRange(Length lo, Length hi) {
+            if (lo == null || hi == null) throw new IllegalArgumentException("Bounds cannot be null");
+            return blocksInRange(lo.getUnit().toInches(lo.getValue()), hi.getUnit().toInches(hi.getValue()));
+        }
+
+        public int[] blocksInRange(double loInches, double hiInches) {
+            int[] hits = new int[blocks.size()];
+            int n = 0;
+            for (int i = 0; i < blocks.size(); i++) {
+                if (blocks.get(i).overlaps(loInches, hiInches)) hits[n++] = i;
+            }
+            return Arrays.copyOf(hits, n);
+        }
+
+        /**
+         * Decode block {@code block} into the caller's arrays (each at least info(block).getRows() long).
+         * Returns the row count.
+         */
+        public int read(int block, double[] values, byte[] units) throws IOException {
+            BlockInfo info = blocks.get(block);
+            if (values == null || units == null || values.length < info.rows || units.length < info.rows)
+                throw new IllegalArgumentException("Arrays must hold " + info.rows + " rows");
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, info.offset, info.bytes);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+
+            int runs = map.getInt();
+            if (runs < 0 || (long) runs * RUN_BYTES + 8L * info.rows != info.bytes - 4)
+                throw new IOException("Corrupt unit column in block " + block);
+            int row = 0;
+            for (int r = 0; r < runs; r++) {
+                byte unit = map.get();
+                int len = map.getInt();
+                if (unit < 0 || unit >= UNITS.length || len <= 0 || len > info.rows - row)
+                    throw new IOException("Corrupt unit column in block " + block);
+                Arrays.fill(units, row, row + len, unit);
+                row += len;
+            }
+            if (row != info.rows)
+                throw new IOException("Unit runs cover " + row + " of " + info.rows + " rows in block " + block);
+            if (info.encoding == Encoding.DOUBLE) {
+                map.asDoubleBuffer().get(values, 0, info.rows);
+            } else {
+                double pow = Math.pow(10, info.scale);
+                for (int i = 0; i < info.rows; i++) values[i] = map.getLong() / pow;
+            }
+            return info.rows;
+        }
+
+        /** Decode block {@code block} into freshly allocated arrays. */
+        public Block read(int block) throws IOException {
+            int rows = blocks.get(block).rows;
+            Block b = new Block(new double[rows], new byte[rows]);
+            read(block, b.values, b.units);
+            return b;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
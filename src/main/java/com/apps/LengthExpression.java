@@ -0,0 +1,410 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LengthExpression
+ *
+ * Measurement formulas such as {@code "1 ft + 12 in + 3 cm in yd"} or {@code "x ft + y in > 2 yd"},
+ * parsed once and compiled into a reusable evaluator over primitive rows.
+ *
+ * Grammar (whitespace-separated, units as accepted by {@link LengthParser#parseUnit}):
+ * <pre>
+ *   expression := sum [ compare sum ] [ ("in" | "to") unit ]
+ *   sum        := ["-"] term { ("+" | "-") term }
+ *   term       := (number | name) unit
+ *   compare    := "==" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;="
+ * </pre>
+ *
+ * Notes:
+ * - Names are the row parameters given to {@link #compile(String, String...)}; row[i] is the value of
+ *   the i-th name in the unit written next to it.
+ * - Compilation folds every unit factor and every literal: a sum becomes (constant + sum of k_i * row[i])
+ *   in inches, divided by the result unit's factor, so evaluation is a few multiply-adds and one divide
+ *   with no allocation or unit lookup. Like Length, values go through inches, so "x ft in cm" and
+ *   "x ft + y in in yd" give exactly Length.convert and Length.add.
+ * - Sums are rounded once by the current RoundingPolicy (2 decimals half-up by default) at the end, like
+ *   Length.add, instead of after every step as chained Length.add calls do. The result unit
+ *   defaults to the unit of the first term.
+ * - Comparisons work in inches with the Length.equals tolerance (EPS): "==" means within EPS.
+ * - Malformed text and non-finite results throw IllegalArgumentException. Instances are immutable and
+ *   thread-safe.
+ */
+public final class LengthExpression {
+
+    public enum Comparison { EQ, NE, LT, LE, GT, GE }
+
+    /** Compiled arithmetic: a row in, a value in inches out. */
+    private interface RowFunction {
+        double apply(double[] row);
+    }
+
+    private final String source;
+    private final String[] names;
+    private final LengthUnit resultUnit;     // null for comparisons
+    private final Comparison comparison;     // null for arithmetic
+    private final double constant;           // folded literals, in inches
+    private final double divisor;            // result unit's factor to inches (1 for comparisons)
+    private final int[] params;              // row indexes with a non-zero coefficient
+    private final double[] coefficients;     // per entry of params
+    private final RowFunction function;
+
+    private LengthExpression(String source, String[] names, LengthUnit resultUnit, Comparison comparison,
+                             double constant, int[] params, double[] coefficients) {
+        this.source = source;
+        this.names = names;
+        this.resultUnit = resultUnit;
+        this.comparison = comparison;
+        this.constant = constant;
+        this.divisor = resultUnit == null ? 1.0 : resultUnit.toInches(1.0);
+        this.params = params;
+        this.coefficients = coefficients;
+        this.function = specialize(constant, params, coefficients);
+    }
+
+    // ===== Compilation =====
+    /** Parse and compile {@code expression}; {@code names} are the row parameters in row order. */
+    public static LengthExpression compile(String expression, String... names) {
+        if (expression == null) throw new IllegalArgumentException("Expression cannot be null");
+        if (names == null) throw new IllegalArgumentException("Names cannot be null");
+        for (int i = 0; i < names.length; i++) {
+            String n = names[i];
+            if (n == null || n.isEmpty() || !Character.isJavaIdentifierStart(n.charAt(0)))
+                throw new IllegalArgumentException("Invalid parameter name: " + n);
+            if (LengthParser.parseUnit(n) != null || n.equals("to"))
+                throw new IllegalArgumentException("Parameter name clashes with a unit or keyword: " + n);
+            for (int j = 0; j < i; j++) {
+                if (names[j].equals(n)) throw new IllegalArgumentException("Duplicate parameter name: " + n);
+            }
+        }
+        return new Compiler(expression, names.clone()).compile();
+    }
+
+    private static RowFunction specialize(double c, int[] p, double[] k) {
+        switch (p.length) {
+            case 0:
+                return row -> c;
+            case 1: {
+                int i0 = p[0];
+                double k0 = k[0];
+                return row -> c + k0 * row[i0];
+            }
+            case 2: {
+                int i0 = p[0], i1 = p[1];
+                double k0 = k[0], k1 = k[1];
+                return row -> c + k0 * row[i0] + k1 * row[i1];
+            }
+            default:
+                return row -> {
+                    double r = c;
+                    for (int j = 0; j < p.length; j++) r += k[j] * row[p[j]];
+                    return r;
+                };
+        }
+    }
+
+    // ===== Evaluation =====
+    /**
+     * Evaluate an arithmetic expression for one row in {@link #resultUnit()}, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default).
+     */
+    public double evaluate(double... row) {
+        if (comparison != null) throw new IllegalArgumentException("Expression is a comparison: " + source);
+        checkRow(row);
+        return round(checkFinite(function.apply(row) / divisor));
+    }
+
+    /** Evaluate an arithmetic expression for one row as a Length in {@link #resultUnit()}. */
+    public Length evaluateLength(double... row) {
+        return new Length(evaluate(row), resultUnit);
+    }
+
+    /**
+     * Evaluate an arithmetic expression over {@code n} rows stored column-wise
+     * ({@code columns[param][row]}), writing the results to {@code out[0, n)}.
+     */
+    public void evaluate(double[][] columns, double[] out, int n) {
+        if (comparison != null) throw new IllegalArgumentException("Expression is a comparison: " + source);
+        checkColumns(columns, n);
+        if (out == null || out.length < n) throw new IllegalArgumentException("Output too small");
+        linear(columns, 0, out, n);
+        for (int i = 0; i < n; i++) out[i] = round(checkFinite(out[i] / divisor));
+    }
+
+    /** Evaluate a comparison for one row. */
+    public boolean test(double... row) {
+        if (comparison == null) throw new IllegalArgumentException("Expression is not a comparison: " + source);
+        checkRow(row);
+        return holds(checkFinite(function.apply(row)));
+    }
+
+    /** Evaluate a comparison over {@code n} column-wise rows; returns how many rows hold. */
+    public int test(double[][] columns, boolean[] out, int n) {
+        if (comparison == null) throw new IllegalArgumentException("Expression is not a comparison: " + source);
+        checkColumns(columns, n);
+        if (out == null || out.length < n) throw new IllegalArgumentException("Output too small");
+        double[] diff = new double[Math.min(n, 4096)];
+        int matches = 0;
+        for (int base = 0; base < n; base += diff.length) {
+            int len = Math.min(diff.length, n - base);
+            linear(columns, base, diff, len);
+            for (int i = 0; i < len; i++) {
+                boolean h = holds(checkFinite(diff[i]));
+                out[base + i] = h;
+                if (h) matches++;
+            }
+        }
+        return matches;
+    }
+
+    // Column-wise form of the compiled function, in the same operation order as the row version
+    private void linear(double[][] columns, int from, double[] out, int n) {
+        Arrays.fill(out, 0, n, constant);
+        for (int j = 0; j < params.length; j++) {
+            double[] col = columns[params[j]];
+            double k = coefficients[j];
+            for (int i = 0; i < n; i++) out[i] += k * col[from + i];
+        }
+    }
+
+    // The compiled function of a comparison is lhs - rhs in inches
+    private boolean holds(double diff) {
+        switch (comparison) {
+            case EQ: return Math.abs(diff) < Length.EPS;
+            case NE: return Math.abs(diff) >= Length.EPS;
+            case LT: return diff <= -Length.EPS;
+            case LE: return diff < Length.EPS;
+            case GT: return diff >= Length.EPS;
+            default: return diff > -Length.EPS;
+        }
+    }
+
+    private void checkRow(double[] row) {
+        if (row == null || row.length < names.length)
+            throw new IllegalArgumentException("Row must have " + names.length + " values");
+    }
+
+    private void checkColumns(double[][] columns, int n) {
+        if (n < 0) throw new IllegalArgumentException("Row count cannot be negative");
+        if (columns == null || columns.length < names.length)
+            throw new IllegalArgumentException("Need " + names.length + " columns");
+        for (int p : params) {
+            if (columns[p] == null || columns[p].length < n)
+                throw new IllegalArgumentException("Column " + names[p] + " has fewer than " + n + " rows");
+        }
+    }
+
+    private static double checkFinite(double v) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) throw new IllegalArgumentException("Values must be finite");
+        return v;
+    }
+
+    // Current RoundingPolicy, same as Length's convert/add
+    private static double round(double v) {
+        return RoundingPolicy.current().apply(v);
+    }
+
+    // ===== Accessors =====
+    public boolean isComparison() { return comparison != null; }
+
+    /** Unit of arithmetic results (null for comparisons). */
+    public LengthUnit resultUnit() { return resultUnit; }
+
+    public Comparison comparison() { return comparison; }
+
+    public List<String> parameters() { return List.of(names); }
+
+    @Override
+    public String toString() { return source; }
+
+    // ===== Parser / constant folder =====
+    private static final class Compiler {
+        private final String text;
+        private final String[] names;
+        private int pos;
+
+        // Terms of the sum being parsed: parameter index (-1 for a literal), signed literal, unit
+        private final List<Term> lhs = new ArrayList<>();
+        private final List<Term> rhs = new ArrayList<>();
+
+        private static final class Term {
+            final int param;
+            final double value;   // signed literal, or +/-1 for a parameter
+            final LengthUnit unit;
+
+            Term(int param, double value, LengthUnit unit) {
+                this.param = param;
+                this.value = value;
+                this.unit = unit;
+            }
+        }
+
+        Compiler(String text, String[] names) {
+            this.text = text;
+            this.names = names;
+        }
+
+        LengthExpression compile() {
+            sum(lhs);
+            Comparison cmp = comparison();
+            if (cmp != null) {
+                sum(rhs);
+                expectEnd();
+                // lhs - rhs in inches
+                double[] k = new double[names.length];
+                double c = fold(lhs, k, 1.0) - fold(rhs, k, -1.0);
+                return build(null, cmp, c, k);
+            }
+
+            LengthUnit target = lhs.get(0).unit;
+            skipSpaces();
+            if (keyword("in") || keyword("to")) target = unit();
+            expectEnd();
+            double[] k = new double[names.length];
+            return build(target, null, fold(lhs, k, 1.0), k);
+        }
+
+        // Adds sign * (per-parameter factors to inches) to k; returns the literal total in inches
+        private static double fold(List<Term> terms, double[] k, double sign) {
+            double constant = 0;
+            for (Term t : terms) {
+                double f = t.unit.toInches(1.0);
+                if (t.param < 0) constant += t.value * f;
+                else k[t.param] += sign * t.value * f;
+            }
+            return constant;
+        }
+
+        private LengthExpression build(LengthUnit target, Comparison cmp, double constant, double[] perParam) {
+            if (Double.isNaN(constant) || Double.isInfinite(constant))
+                throw new IllegalArgumentException("Constant part is not finite: " + text);
+            int nz = 0;
+            for (double k : perParam) if (k != 0.0) nz++;
+            int[] params = new int[nz];
+            double[] coefficients = new double[nz];
+            for (int i = 0, j = 0; i < perParam.length; i++) {
+                if (perParam[i] == 0.0) continue;
+                params[j] = i;
+                coefficients[j++] = perParam[i];
+            }
+            return new LengthExpression(text, names, target, cmp, constant, params, coefficients);
+        }
+
+        private void sum(List<Term> terms) {
+            skipSpaces();
+            double sign = 1.0;
+            if (peek() == '-' && !startsNumber(pos)) {
+                sign = -1.0;
+                pos++;
+            }
+            terms.add(term(sign));
+            while (true) {
+                skipSpaces();
+                char c = peek();
+                if (c != '+' && c != '-') return;
+                pos++;
+                terms.add(term(c == '+' ? 1.0 : -1.0));
+            }
+        }
+
+        private Term term(double sign) {
+            skipSpaces();
+            if (startsNumber(pos)) {
+                double literal = number();
+                return new Term(-1, sign * literal, unit());
+            }
+            int param = name();
+            return new Term(param, sign, unit());
+        }
+
+        private Comparison comparison() {
+            skipSpaces();
+            if (match("==")) return Comparison.EQ;
+            if (match("!=")) return Comparison.NE;
+            if (match("<=")) return Comparison.LE;
+            if (match(">=")) return Comparison.GE;
+            if (match("<")) return Comparison.LT;
+            if (match(">")) return Comparison.GT;
+            return null;
+        }
+
+        private double number() {
+            int start = pos;
+            if (peek() == '-' || peek() == '+') pos++;
+            while (pos < text.length() && (isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) pos++;
+            if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+                int save = pos++;
+                if (peek() == '-' || peek() == '+') pos++;
+                if (!isDigit(peek())) pos = save; // "e" belongs to what follows
+                while (isDigit(peek())) pos++;
+            }
+            try {
+                return Double.parseDouble(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("Invalid number", start);
+            }
+        }
+
+        private int name() {
+            int start = pos;
+            while (pos < text.length() && Character.isJavaIdentifierPart(text.charAt(pos))) pos++;
+            if (pos == start) throw error("Expected number or name", start);
+            String n = text.substring(start, pos);
+            for (int i = 0; i < names.length; i++) if (names[i].equals(n)) return i;
+            throw error("Unknown name '" + n + "'", start);
+        }
+
+        private LengthUnit unit() {
+            skipSpaces();
+            int start = pos;
+            while (pos < text.length() && Character.isLetter(text.charAt(pos))) pos++;
+            LengthUnit u = pos == start ? null : LengthParser.parseUnit(text.substring(start, pos));
+            if (u == null) throw error("Expected unit", start);
+            return u;
+        }
+
+        private boolean keyword(String word) {
+            int end = pos + word.length();
+            if (!text.startsWith(word, pos)) return false;
+            if (end < text.length() && !Character.isWhitespace(text.charAt(end))) return false;
+            pos = end;
+            return true;
+        }
+
+        private boolean match(String op) {
+            if (!text.startsWith(op, pos)) return false;
+            pos += op.length();
+            return true;
+        }
+
+        private void expectEnd() {
+            skipSpaces();
+            if (pos < text.length()) throw error("Unexpected input", pos);
+        }
+
+        private boolean startsNumber(int i) {
+            if (i < text.length() && (text.charAt(i) == '-' || text.charAt(i) == '+')) i++;
+            if (i < text.length() && text.charAt(i) == '.') i++;
+            return i < text.length() && isDigit(text.charAt(i));
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : '\0';
+        }
+
+        private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+
+        private IllegalArgumentException error(String what, int at) {
+            return new IllegalArgumentException(what + " at position " + at + ": " + text);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.DoublePredicate;
+
+/**
+ * LengthFlow
+ *
+ * java.util.concurrent.Flow stages for streaming lengths with demand-based backpressure. Rows travel in
+ * primitive {@link Batch}es so that each stage works on a whole batch at a time instead of one Length.
+ *
+ * <pre>
+ *   SubmissionPublisher&lt;Length&gt; source = new SubmissionPublisher&lt;&gt;();
+ *   LengthFlow.Batcher batcher = LengthFlow.batcher(1024);
+ *   LengthFlow.Converter toCm = LengthFlow.converter(LengthUnit.CENTIMETERS);
+ *   LengthFlow.Summer sum = LengthFlow.summer(LengthUnit.CENTIMETERS);
+ *   source.subscribe(batcher); batcher.subscribe(toCm); toCm.subscribe(sum);
+ *   ... source.submit(length) ...; source.close();
+ *   Length total = sum.result().join();
+ * </pre>
+ *
+ * Notes:
+ * - Every processor requests one item at a time from upstream and only requests the next after handing
+ *   its output to a SubmissionPublisher, whose submit() blocks while a downstream buffer is full. A slow
+ *   consumer therefore stalls every stage back to the source instead of queueing without bound.
+ * - Batcher groups single Lengths into batches of {@code batchSize} rows (a partial batch is flushed on
+ *   completion). Larger batches amortize per-item signalling; smaller ones lower per-row latency.
+ * - Converter rounds like Length.convert (through {@link LengthKernels}); Filter keeps rows whose value in
+ *   inches matches a predicate; Summer adds compensated in inches (LengthAccumulator) and completes a
+ *   future with the total rounded by the current RoundingPolicy (2 decimals half-up by default) in its unit.
+ * - Errors propagate downstream with onError; Summer completes its future exceptionally. A stage or
+ *   Summer that fails on an item (bad row, overflow) cancels its upstream and fails the same way, so
+ *   result() always completes.
+ */
+public final class LengthFlow {
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    private LengthFlow() { }
+
+    public static Batcher batcher(int batchSize) {
+        return new Batcher(batchSize, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    public static Converter converter(LengthUnit target) {
+        return new Converter(target, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    public static Filter filter(DoublePredicate inches) {
+        return new Filter(inches, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    public static Summer summer(LengthUnit target) {
+        return new Summer(target);
+    }
+
+    // ===== Batch =====
+    /** Immutable-by-convention block of rows: values[i] in LengthUnit ordinal units[i], for i < size. */
+    public static final class Batch {
+        private final double[] values;
+        private final byte[] units;
+
+        public Batch(double[] values, byte[] units) {
+            if (values == null || units == null) throw new IllegalArgumentException("Values and units cannot be null");
+            if (values.length != units.length) throw new IllegalArgumentException("Values and units must have the same length");
+            this.values = values;
+            this.units = units;
+        }
+
+        public int size() { return values.length; }
+        public double value(int i) { return values[i]; }
+        public LengthUnit unit(int i) { return UNITS[units[i]]; }
+        public double inches(int i) { return unit(i).toInches(values[i]); }
+
+        double[] values() { return values; }
+        byte[] units() { return units; }
+    }
+
+    // ===== Processor base =====
+    /** Processor that takes one upstream item at a time and publishes through a bounded SubmissionPublisher. */
+    private abstract static class Stage<T> extends SubmissionPublisher<Batch> implements Flow.Processor<T, Batch> {
+        private Flow.Subscription upstream;
+
+        Stage(Executor executor, int bufferSize) {
+            super(executor, bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T item) {
+            try {
+                process(item);
+            } catch (RuntimeException e) {
+                upstream.cancel();
+                closeExceptionally(e);
+                return;
+            }
+            upstream.request(1); // only after submit() has found room downstream
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            closeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                finish();
+                close();
+            } catch (RuntimeException e) {
+                closeExceptionally(e);
+            }
+        }
+
+        abstract void process(T item);
+
+        void finish() { }
+    }
+
+    // ===== Batcher: Length -> Batch =====
+    public static final class Batcher extends Stage<Length> {
+        private final int batchSize;
+        private double[] values;
+        private byte[] units;
+        private int n;
+
+        public Batcher(int batchSize, Executor executor, int bufferSize) {
+            super(executor, bufferSize);
+            if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+            this.batchSize = batchSize;
+            this.values = new double[batchSize];
+            this.units = new byte[batchSize];
+        }
+
+        @Override
+        void process(Length item) {
+            if (item == null) throw new IllegalArgumentException("Length cannot be null");
+            values[n] = item.getValue();
+            units[n++] = (byte) item.getUnit().ordinal();
+            if (n == batchSize) emit();
+        }
+
+        @Override
+        void finish() {
+            if (n > 0) emit();
+        }
+
+        private void emit() {
+            Batch b = n == batchSize ? new Batch(values, units)
+                    : new Batch(Arrays.copyOf(values, n), Arrays.copyOf(units, n));
+            values = new double[batchSize];
+            units = new byte[batchSize];
+            n = 0;
+            submit(b);
+        }
+    }
+
+    // ===== Converter: Batch -> Batch in one unit =====
+    public static final class Converter extends Stage<Batch> {
+        private final LengthUnit target;
+        private final byte ordinal;
+
+        public Converter(LengthUnit target, Executor executor, int bufferSize) {
+            super(executor, bufferSize);
+            if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+            this.target = target;
+            this.ordinal = (byte) target.ordinal();
+        }
+
+        @Override
+        void process(Batch item) {
+            double[] out = new double[item.size()];
+            LengthKernels.convert(item.values(), item.units(), target, out);
+            byte[] units = new byte[out.length];
+            Arrays.fill(units, ordinal);
+            submit(new Batch(out, units));
+        }
+    }
+
+    // ===== Filter: keep rows whose value in inches matches =====
+    public static final class Filter extends Stage<Batch> {
+        private final DoublePredicate inches;
+
+        public Filter(DoublePredicate inches, Executor executor, int bufferSize) {
+            super(executor, bufferSize);
+            if (inches == null) throw new IllegalArgumentException("Predicate cannot be null");
+            this.inches = inches;
+        }
+
+        @Override
+        void process(Batch item) {
+            int size = item.size();
+            double[] v = new double[size];
+            byte[] u = new byte[size];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (inches.test(item.inches(i))) {
+                    v[kept] = item.value(i);
+                    u[kept++] = item.units()[i];
+                }
+            }
+            if (kept == 0) return;
+            submit(kept == size ? item : new Batch(Arrays.copyOf(v, kept), Arrays.copyOf(u, kept)));
+        }
+    }
+
+    // ===== Summer: terminal subscriber =====
+    public static final class Summer implements Flow.Subscriber<Batch> {
+        private final LengthUnit target;
+        private final LengthAccumulator acc = new LengthAccumulator();
+        private final CompletableFuture<Length> result = new CompletableFuture<>();
+        private Flow.Subscription upstream;
+
+        public Summer(LengthUnit target) {
+            if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+            this.target = target;
+        }
+
+        /** Completes with the total once upstream completes. */
+        public CompletableFuture<Length> result() { return result; }
+
+        /** Rows summed so far. */
+        public long count() { return acc.count(); }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Batch item) {
+            if (result.isDone()) return; // failed already; upstream has been cancelled
+            try {
+                for (int i = 0; i < item.size(); i++) acc.add(item.value(i), item.unit(i));
+            } catch (RuntimeException e) {
+                upstream.cancel();
+                result.completeExceptionally(e);
+                return;
+            }
+            upstream.request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            result.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                result.complete(acc.toLength(target));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * LengthFormat
+ *
+ * Allocation-free formatter producing exactly the Length.toString() text, e.g. "3.5 ft", "-0.25 cm".
+ *
+ * Notes:
+ * - The value is rounded by {@link RoundingPolicy#current()}. For any 2-decimal policy (the default is
+ *   half-up) that gives a scaled long k = value * 100 with the policy's rounding (RoundingPolicy.steps).
+ *   For |k| < 1e9 the text is written straight from k's digits: integer part, '.', then one or two
+ *   fraction digits (trailing zero dropped, at least one kept), which is what Double.toString prints there.
+ * - Larger magnitudes (1e7 and up) print Double.toString of policy.apply(value) in scientific notation.
+ *   k is never formed for them, so it cannot saturate a long (e.g. 1e18 under HALF_EVEN prints 1.0E18).
+ *   That fallback allocates; so does any other scale or NONE.
+ * - Output goes into a caller-supplied StringBuilder or ByteBuffer (ASCII, written at its position).
+ */
+public final class LengthFormat {
+
+    private static final double SCALE = 100.0;      // 2 decimals
+    private static final long PLAIN_LIMIT = 1_000_000_000L; // k limit where Double.toString stays plain
+    private static final double PLAIN_VALUE_LIMIT = PLAIN_LIMIT / SCALE; // |value| below which k is computed
+
+    private LengthFormat() { }
+
+    // ===== StringBuilder =====
+    public static StringBuilder format(Length length, StringBuilder out) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return format(length.getValue(), length.getUnit(), out);
+    }
+
+    public static StringBuilder format(double value, LengthUnit unit, StringBuilder out) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (out == null) throw new IllegalArgumentException("Output cannot be null");
+        RoundingPolicy policy = RoundingPolicy.current();
+        if (!isTwoDecimal(policy) || !(Math.abs(value) < PLAIN_VALUE_LIMIT))
+            return out.append(policy.apply(value)).append(' ').append(unit.getSymbol());
+        long k = policy.steps(value);
+        if (k <= -PLAIN_LIMIT || k >= PLAIN_LIMIT) {
+            out.append(policy.apply(value)); // rounds up to 1e7 at the limit
+        } else {
+            if (k < 0) {
+                out.append('-');
+                k = -k;
+            }
+            out.append(k / 100).append('.');
+            int frac = (int) (k % 100);
+            if (frac % 10 == 0) {
+                out.append((char) ('0' + frac / 10));
+            } else {
+                out.append((char) ('0' + frac / 10)).append((char) ('0' + frac % 10));
+            }
+        }
+        return out.append(' ').append(unit.getSymbol());
+    }
+
+    // ===== ByteBuffer (ASCII) =====
+    public static ByteBuffer format(Length length, ByteBuffer out) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return format(length.getValue(), length.getUnit(), out);
+    }
+
+    /** Writes the text at the buffer's position and advances it; throws BufferOverflowException if full. */
+    public static ByteBuffer format(double value, LengthUnit unit, ByteBuffer out) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (out == null) throw new IllegalArgumentException("Output cannot be null");
+        RoundingPolicy policy = RoundingPolicy.current();
+        boolean plain = isTwoDecimal(policy) && Math.abs(value) < PLAIN_VALUE_LIMIT;
+        long k = plain ? policy.steps(value) : 0;
+        if (!plain || k <= -PLAIN_LIMIT || k >= PLAIN_LIMIT) {
+            String s = Double.toString(policy.apply(value));
+            for (int i = 0; i < s.length(); i++) out.put((byte) s.charAt(i));
+        } else {
+            if (k < 0) {
+                out.put((byte) '-');
+                k = -k;
+            }
+            putDigits(k / 100, out);
+            out.put((byte) '.');
+            int frac = (int) (k % 100);
+            out.put((byte) ('0' + frac / 10));
+            if (frac % 10 != 0) out.put((byte) ('0' + frac % 10));
+        }
+        out.put((byte) ' ');
+        String symbol = unit.getSymbol();
+        for (int i = 0; i < symbol.length(); i++) out.put((byte) symbol.charAt(i));
+        return out;
+    }
+
+    private static boolean isTwoDecimal(RoundingPolicy policy) {
+        return policy.scale() == 2 && policy.mode() != RoundingPolicy.Mode.NONE;
+    }
+
+    // Non-negative long as decimal ASCII digits
+    private static void putDigits(long v, ByteBuffer out) {
+        int digits = 1;
+        for (long t = v; t >= 10; t /= 10) digits++;
+        int start = out.position();
+        if (out.remaining() < digits) throw new BufferOverflowException();
+        for (int i = start + digits - 1; i >= start; i--) {
+            out.put(i, (byte) ('0' + (v % 10)));
+            v /= 10;
+        }
+        out.position(start + digits);
+    }
+}
@@ -0,0 +1,246 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+/**
+ * LengthGroups
+ *
+ * Primitive open-addressing table that deduplicates and groups lengths under Length's epsilon equality
+ * (|a - b| &lt; EPS in inches), keeping a count and a sum per group. Built for 100M+ rows: no boxing,
+ * no per-entry objects, 32 bytes per group slot.
+ *
+ * Notes:
+ * - Values are keyed by their quantization bucket floor(inches / EPS). Two values in one bucket are
+ *   always within EPS, so each bucket holds at most one group. A value in bucket q can only equal a group
+ *   in q - 1, q or q + 1, so a lookup probes those three buckets and never misses a match the way
+ *   HashSet&lt;Length&gt; can (its hashCode rounds to a bucket that equals(...) does not respect).
+ * - Magnitudes are limited to 2^62 * EPS inches (about 4.6e12 in, 73 million miles) so every bucket and
+ *   its neighbours fit in a long without saturating or wrapping; add rejects larger values and lookups
+ *   report no group for them. Buckets therefore never reach Long.MIN_VALUE, which marks an empty slot.
+ * - The first value seen for a group is its representative; a later value joins the group whose
+ *   representative is within EPS: the nearest of the candidates in q - 1, q and q + 1, even when its own
+ *   bucket already has a group (ties go to the lower bucket). Epsilon equality is not transitive, so
+ *   grouping depends on arrival order, as any epsilon dedup does.
+ * - Linear probing over one interleaved long[] (bucket, representative, count, sum per slot), resized at
+ *   50% load; capacity is limited to 2^28 slots (about 134M groups, 8 GiB of table).
+ * - Not thread-safe.
+ */
+public final class LengthGroups {
+
+    private static final double EPS = Length.EPS;
+    private static final long EMPTY = Long.MIN_VALUE; // below any bucket of an in-range value
+    private static final double MAX_INCHES = 0x1p62 * EPS;
+    private static final int MAX_CAPACITY = 1 << 28;
+
+    // Slot i occupies table[4i .. 4i+3]: bucket, representative inches (bits), count, sum inches (bits),
+    // so a probe and the update that follows touch one cache line
+    private long[] table;
+    private int mask;
+    private int groups;
+    private long rows;
+
+    public LengthGroups() {
+        this(1024);
+    }
+
+    /** Table sized for about {@code expectedGroups} groups without resizing. */
+    public LengthGroups(int expectedGroups) {
+        if (expectedGroups < 0) throw new IllegalArgumentException("Expected groups cannot be negative");
+        long want = Math.max(16L, Long.highestOneBit(Math.max(1L, (long) expectedGroups * 2 - 1)) << 1);
+        allocate((int) Math.min(MAX_CAPACITY, want));
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity << 2];
+        for (int i = 0; i < table.length; i += 4) table[i] = EMPTY;
+        mask = capacity - 1;
+    }
+
+    // ===== Inserts =====
+    /** Add a row; returns true if it started a new group (i.e. it was not a duplicate). */
+    public boolean add(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        double inches = unit.toInches(value);
+        if (!(Math.abs(inches) < MAX_INCHES))
+            throw new IllegalArgumentException("Value out of range: " + value + " " + unit);
+        return addInches(inches);
+    }
+
+    public boolean add(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return add(length.getValue(), length.getUnit());
+    }
+
+    /** Add rows of one unit; returns how many started new groups. */
+    public int addAll(double[] values, LengthUnit unit) {
+        if (values == null) throw new IllegalArgumentException("Values cannot be null");
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        int created = 0;
+        for (double v : values) if (add(v, unit)) created++;
+        return created;
+    }
+
+    /** Add rows from parallel arrays of values and LengthUnit ordinals; returns how many started new groups. */
+    public int addAll(double[] values, byte[] units) {
+        if (values == null || units == null) throw new IllegalArgumentException("Values and units cannot be null");
+        if (values.length != units.length) throw new IllegalArgumentException("Values and units must have the same length");
+        LengthUnit[] all = LengthUnit.values();
+        int created = 0;
+        for (int i = 0; i < values.length; i++) {
+            int u = units[i] & 0xff;
+            if (u >= all.length) throw new IllegalArgumentException("Unknown unit ordinal at index " + i);
+            if (add(values[i], all[u])) created++;
+        }
+        return created;
+    }
+
+    private boolean addInches(double inches) {
+        rows++;
+        int slot = find(inches);
+        if (slot >= 0) {
+            table[slot + 2]++;
+            table[slot + 3] = Double.doubleToRawLongBits(Double.longBitsToDouble(table[slot + 3]) + inches);
+            return false;
+        }
+        if (groups >= (mask + 1) >>> 1) grow();
+        long q = bucketOf(inches);
+        int i = slotFor(q);
+        table[i] = q;
+        table[i + 1] = Double.doubleToRawLongBits(inches);
+        table[i + 2] = 1;
+        table[i + 3] = Double.doubleToRawLongBits(inches);
+        groups++;
+        return true;
+    }
+
+    // ===== Lookups =====
+    /** Whether a group equal to {@code value} (within EPS) exists. */
+    public boolean contains(double value, LengthUnit unit) {
+        return find(toInches(value, unit)) >= 0;
+    }
+
+    /** Rows in the group equal to {@code value}, or 0. */
+    public long count(double value, LengthUnit unit) {
+        int slot = find(toInches(value, unit));
+        return slot < 0 ? 0 : table[slot + 2];
+    }
+
+    /**
+     * Sum of the group equal to {@code value} in {@code target}, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default), or null.
+     */
+    public Length sum(double value, LengthUnit unit, LengthUnit target) {
+        if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+        int slot = find(toInches(value, unit));
+        return slot < 0 ? null : new Length(
+                Length.convertUnmetered(sumAt(slot), LengthUnit.INCHES, target, RoundingPolicy.current()), target);
+    }
+
+    /** Number of groups (distinct values). */
+    public int size() { return groups; }
+
+    /** Number of rows added. */
+    public long rows() { return rows; }
+
+    // ===== Iteration =====
+    public interface GroupVisitor {
+        void group(double representativeInches, long count, double sumInches);
+    }
+
+    /** Visit every group, in table order. */
+    public void forEach(GroupVisitor visitor) {
+        if (visitor == null) throw new IllegalArgumentException("Visitor cannot be null");
+        for (int i = 0; i < table.length; i += 4) {
+            if (table[i] != EMPTY) visitor.group(representativeAt(i), table[i + 2], sumAt(i));
+        }
+    }
+
+    /** Representatives of all groups in {@code unit} (unrounded), in table order. */
+    public double[] representatives(LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        double[] out = new double[groups];
+        int o = 0;
+        for (int i = 0; i < table.length; i += 4) {
+            if (table[i] != EMPTY) out[o++] = unit.fromInches(representativeAt(i));
+        }
+        return out;
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length; i += 4) table[i] = EMPTY;
+        groups = 0;
+        rows = 0;
+    }
+
+    // ===== Table internals =====
+    private static double toInches(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        return unit.toInches(value);
+    }
+
+    private double representativeAt(int slot) { return Double.longBitsToDouble(table[slot + 1]); }
+
+    private double sumAt(int slot) { return Double.longBitsToDouble(table[slot + 3]); }
+
+    // |inches| < MAX_INCHES, so |q| <= 2^62 and q - 1, q + 1 cannot wrap
+    private static long bucketOf(double inches) {
+        return (long) Math.floor(inches / EPS);
+    }
+
+    // Offset of the nearest group within EPS of inches among buckets q - 1, q and q + 1; -1 if none.
+    // Ties go to the lower bucket
+    private int find(double inches) {
+        if (!(Math.abs(inches) < MAX_INCHES)) return -1;
+        long q = bucketOf(inches);
+        int best = -1;
+        double bestDistance = EPS;
+        for (long b = q - 1; b <= q + 1; b++) {
+            int slot = lookup(b);
+            if (slot < 0) continue;
+            double d = Math.abs(inches - representativeAt(slot));
+            if (d < bestDistance) {
+                best = slot;
+                bestDistance = d;
+            }
+        }
+        return best;
+    }
+
+    private int lookup(long q) {
+        for (int i = hash(q) & mask; ; i = (i + 1) & mask) {
+            long b = table[i << 2];
+            if (b == q) return i << 2;
+            if (b == EMPTY) return -1;
+        }
+    }
+
+    // Offset of the first empty slot in q's probe sequence (q is known to be absent)
+    private int slotFor(long q) {
+        int i = hash(q) & mask;
+        while (table[i << 2] != EMPTY) i = (i + 1) & mask;
+        return i << 2;
+    }
+
+    private void grow() {
+        int capacity = mask + 1;
+        if (capacity >= MAX_CAPACITY) throw new IllegalStateException("LengthGroups is full (" + groups + " groups)");
+        long[] old = table;
+        allocate(capacity << 1);
+        for (int j = 0; j < old.length; j += 4) {
+            if (old[j] != EMPTY) System.arraycopy(old, j, table, slotFor(old[j]), 4);
+        }
+    }
+
+    // Murmur3 finalizer: neighbouring buckets land far apart
+    private static int hash(long q) {
+        q ^= q >>> 33;
+        q *= 0xff51afd7ed558ccdL;
+        q ^= q >>> 33;
+        q *= 0xc4ceb9fe1a85ec53L;
+        q ^= q >>> 33;
+        return (int) q;
+    }
+}
@@ -0,0 +1,278 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LengthIndex
+ *
+ * Sorted index over stored lengths for tolerance-equality, range and k-nearest lookups in any unit.
+ *
+ * Notes:
+ * - Keys are base inches kept in sorted primitive arrays next to an int id into append-only storage
+ *   of the original (value, unit) pairs, so results come back as the Lengths that were stored.
+ * - Bulk loads sort once (stable radix sort, see {@link LengthSort}). Incremental inserts go into a small sorted delta run (at most
+ *   {@link #DELTA_CAPACITY} entries) that is merged into the main run when full, so inserts are cheap
+ *   and every query is a binary search in each of the two runs: O(log n), plus O(k) for k results.
+ * - "Equal" means |a - b| < EPS inches, exactly as Length.compare; ranges are inclusive. Equality
+ *   searches the closed range [x - EPS, x + EPS] and trims its ends with that exact test, so it also
+ *   works where x +/- EPS rounds back to x (|x| beyond about 1.7e10 inches).
+ * - Not thread-safe.
+ */
+public final class LengthIndex {
+
+    /** Maximum size of the unmerged insert run. */
+    public static final int DELTA_CAPACITY = 4096;
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    // Storage by id
+    private double[] values = new double[16];
+    private byte[] units = new byte[16];
+    private int size;
+
+    // Main sorted run
+    private double[] keys = new double[0];
+    private int[] ids = new int[0];
+    private int mainSize;
+
+    // Delta sorted run
+    private final double[] deltaKeys = new double[DELTA_CAPACITY];
+    private final int[] deltaIds = new int[DELTA_CAPACITY];
+    private int deltaSize;
+
+    public LengthIndex() { }
+
+    // ===== Loading =====
+    /** Add many values in one unit; re-sorts once at the end. */
+    public LengthIndex bulkLoad(double[] src, LengthUnit unit) {
+        if (src == null) throw new IllegalArgumentException("Values cannot be null");
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        byte ordinal = (byte) unit.ordinal();
+        for (double v : src) store(v, ordinal);
+        rebuild();
+        return this;
+    }
+
+    /** Add many values with per-row LengthUnit ordinals; re-sorts once at the end. */
+    public LengthIndex bulkLoad(double[] src, byte[] srcUnits) {
+        if (src == null || srcUnits == null) throw new IllegalArgumentException("Values and units cannot be null");
+        if (src.length != srcUnits.length) throw new IllegalArgumentException("Values and units must have the same length");
+        for (int i = 0; i < src.length; i++) {
+            if (srcUnits[i] < 0 || srcUnits[i] >= UNITS.length)
+                throw new IllegalArgumentException("Unknown unit ordinal at index " + i);
+            store(src[i], srcUnits[i]);
+        }
+        rebuild();
+        return this;
+    }
+
+    public LengthIndex add(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        int id = store(value, (byte) unit.ordinal());
+        if (deltaSize == DELTA_CAPACITY) mergeDelta();
+        double key = unit.toInches(value);
+        int pos = upperBound(deltaKeys, deltaSize, key);
+        System.arraycopy(deltaKeys, pos, deltaKeys, pos + 1, deltaSize - pos);
+        System.arraycopy(deltaIds, pos, deltaIds, pos + 1, deltaSize - pos);
+        deltaKeys[pos] = key;
+        deltaIds[pos] = id;
+        deltaSize++;
+        return this;
+    }
+
+    public LengthIndex add(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return add(length.getValue(), length.getUnit());
+    }
+
+    public int size() { return size; }
+
+    private int store(double value, byte unit) {
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            units = Arrays.copyOf(units, size * 2);
+        }
+        values[size] = value;
+        units[size] = unit;
+        return size++;
+    }
+
+    // Re-sort everything into the main run (after bulk loads)
+    private void rebuild() {
+        keys = new double[size];
+        ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = UNITS[units[i]].toInches(values[i]);
+            ids[i] = i;
+        }
+        LengthSort.sortKeys(keys, ids, size);
+        mainSize = size;
+        deltaSize = 0;
+    }
+
+    private void mergeDelta() {
+        int n = mainSize + deltaSize;
+        double[] k = new double[n];
+        int[] d = new int[n];
+        int i = 0, j = 0, o = 0;
+        while (i < mainSize && j < deltaSize) {
+            if (keys[i] <= deltaKeys[j]) { k[o] = keys[i]; d[o++] = ids[i++]; }
+            else { k[o] = deltaKeys[j]; d[o++] = deltaIds[j++]; }
+        }
+        while (i < mainSize) { k[o] = keys[i]; d[o++] = ids[i++]; }
+        while (j < deltaSize) { k[o] = deltaKeys[j]; d[o++] = deltaIds[j++]; }
+        keys = k;
+        ids = d;
+        mainSize = n;
+        deltaSize = 0;
+    }
+
+    // ===== Queries =====
+    /** Number of stored lengths equal to (value, unit) within EPS. */
+    public int countEqual(double value, LengthUnit unit) {
+        double x = toInches(value, unit);
+        long m = equalSlice(keys, mainSize, x), d = equalSlice(deltaKeys, deltaSize, x);
+        return (to(m) - from(m)) + (to(d) - from(d));
+    }
+
+    /** Stored lengths equal to (value, unit) within EPS, in ascending order. */
+    public List<Length> findEqual(double value, LengthUnit unit) {
+        double x = toInches(value, unit);
+        long m = equalSlice(keys, mainSize, x), d = equalSlice(deltaKeys, deltaSize, x);
+        return collect(from(m), to(m), from(d), to(d));
+    }
+
+    public List<Length> findEqual(Length length) {
+        requireLength(length);
+        return findEqual(length.getValue(), length.getUnit());
+    }
+
+    /** Number of stored lengths in [lo, hi]. */
+    public int countRange(Length lo, Length hi) {
+        requireLength(lo);
+        requireLength(hi);
+        long m = rangeSlice(keys, mainSize, inches(lo), inches(hi));
+        long d = rangeSlice(deltaKeys, deltaSize, inches(lo), inches(hi));
+        return (to(m) - from(m)) + (to(d) - from(d));
+    }
+
+    /** Stored lengths in [lo, hi], in ascending order. */
+    public List<Length> range(Length lo, Length hi) {
+        requireLength(lo);
+        requireLength(hi);
+        long m = rangeSlice(keys, mainSize, inches(lo), inches(hi));
+        long d = rangeSlice(deltaKeys, deltaSize, inches(lo), inches(hi));
+        return collect(from(m), to(m), from(d), to(d));
+    }
+
+    /** The stored length closest to (value, unit), or null if the index is empty. */
+    public Length nearest(double value, LengthUnit unit) {
+        List<Length> one = nearest(value, unit, 1);
+        return one.isEmpty() ? null : one.get(0);
+    }
+
+    /** The k stored lengths closest to (value, unit), closest first (ties favour the smaller one). */
+    public List<Length> nearest(double value, LengthUnit unit, int k) {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative");
+        double x = toInches(value, unit);
+        // Two cursors per run expanding outwards from x
+        int mr = lowerBound(keys, mainSize, x), ml = mr - 1;
+        int dr = lowerBound(deltaKeys, deltaSize, x), dl = dr - 1;
+        List<Length> out = new ArrayList<>(Math.min(k, size));
+        while (out.size() < k) {
+            double best = Double.POSITIVE_INFINITY;
+            int pick = -1;
+            if (ml >= 0 && x - keys[ml] <= best) { best = x - keys[ml]; pick = 0; }
+            if (dl >= 0 && x - deltaKeys[dl] < best) { best = x - deltaKeys[dl]; pick = 1; }
+            if (mr < mainSize && keys[mr] - x < best) { best = keys[mr] - x; pick = 2; }
+            if (dr < deltaSize && deltaKeys[dr] - x < best) { pick = 3; }
+            if (pick < 0) break;
+            switch (pick) {
+                case 0: out.add(lengthOf(ids[ml--])); break;
+                case 1: out.add(lengthOf(deltaIds[dl--])); break;
+                case 2: out.add(lengthOf(ids[mr++])); break;
+                default: out.add(lengthOf(deltaIds[dr++])); break;
+            }
+        }
+        return out;
+    }
+
+    // Slices are packed as (from << 32 | to) over a[0, n)
+
+    // Keys in [lo, hi]
+    private static long rangeSlice(double[] a, int n, double lo, double hi) {
+        int from = lowerBound(a, n, lo);
+        int to = Math.max(from, upperBound(a, n, hi));
+        return (long) from << 32 | to;
+    }
+
+    // Keys within EPS of x: search the closed range, then trim the ends with the exact test
+    private static long equalSlice(double[] a, int n, double x) {
+        int from = lowerBound(a, n, x - Length.EPS);
+        int to = upperBound(a, n, x + Length.EPS);
+        while (from < to && !(Math.abs(a[from] - x) < Length.EPS)) from++;
+        while (to > from && !(Math.abs(a[to - 1] - x) < Length.EPS)) to--;
+        return (long) from << 32 | to;
+    }
+
+    private static int from(long slice) { return (int) (slice >>> 32); }
+
+    private static int to(long slice) { return (int) slice; }
+
+    // Merge the slices [i, iEnd) of the main run and [j, jEnd) of the delta run in key order
+    private List<Length> collect(int i, int iEnd, int j, int jEnd) {
+        List<Length> out = new ArrayList<>((iEnd - i) + (jEnd - j));
+        while (i < iEnd || j < jEnd) {
+            if (j >= jEnd || (i < iEnd && keys[i] <= deltaKeys[j])) out.add(lengthOf(ids[i++]));
+            else out.add(lengthOf(deltaIds[j++]));
+        }
+        return out;
+    }
+
+    private Length lengthOf(int id) {
+        return new Length(values[id], UNITS[units[id]]);
+    }
+
+    // ===== Helpers =====
+    // First index with a[i] >= x
+    private static int lowerBound(double[] a, int n, double x) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < x) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First index with a[i] > x
+    private static int upperBound(double[] a, int n, double x) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= x) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static double toInches(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        return unit.toInches(value);
+    }
+
+    private static double inches(Length l) {
+        return l.getUnit().toInches(l.getValue());
+    }
+
+    private static void requireLength(Length l) {
+        if (l == null) throw new IllegalArgumentException("Length cannot be null");
+    }
+}
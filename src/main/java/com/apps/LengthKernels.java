@@ -0,0 +1,174 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.Arrays;
+
+/**
+ * LengthKernels
+ *
+ * Batch kernels over mixed-unit columns (a {@code double[]} of values beside a {@code byte[]} of
+ * LengthUnit ordinals): convert to a target unit, pairwise add, pairwise tolerance compare and
+ * rounding to 2 decimals.
+ *
+ * Notes:
+ * - Results are bit-identical to the per-object methods: convert matches Length.convert, add matches
+ *   Length.add(v1, u1, v2, u2, result), compare matches Length.compare and round2 matches the default
+ *   2-decimal rounding. Under the default RoundingPolicy the rounding is inlined in the loop; any other
+ *   current policy is applied in a second pass over the output.
+ * - Like Length, values go to inches (multiply) and then to the target unit (divide by its factor).
+ * - Unit factors come from a 256-entry table indexed by the unsigned ordinal byte, with NaN for unknown
+ *   ordinals, so the loops have no per-element branches, lookups by enum or allocation.
+ * - Inputs are validated before anything is written: one pass sums a NaN probe that a non-finite value
+ *   or unknown ordinal poisons, and only then is the input rescanned to throw IllegalArgumentException
+ *   naming the first bad index. Outputs may therefore alias inputs of the same type (e.g. convert in
+ *   place), and are left untouched when the call throws.
+ * - When the jdk.incubator.vector module is present (--add-modules jdk.incubator.vector), the probe and
+ *   the arithmetic run in {@link LengthVectorKernels} and only tails run here; rounding is then a
+ *   second pass of RoundingPolicy.apply. -Dqm.vector=false keeps the scalar loops.
+ */
+public final class LengthKernels {
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    // [ordinal & 0xff] -> factor to inches (NaN for unknown ordinals)
+    private static final double[] TO_INCHES = table(u -> u.toInches(1.0));
+
+    // Vector API bodies in use; the class is only loaded when this is true
+    static volatile boolean vector = !"false".equals(System.getProperty("qm.vector"))
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private LengthKernels() { }
+
+    // ===== Convert =====
+    /** out[i] = Length.convert(values[i], units[i], target). */
+    public static void convert(double[] values, byte[] units, LengthUnit target, double[] out) {
+        int n = checkColumn(values, units);
+        checkTarget(target);
+        checkOut(out, n);
+        boolean vec = vector;
+        checkValues(values, units, vec);
+        double kt = target.toInches(1.0);
+        RoundingPolicy policy = RoundingPolicy.current();
+        int i = 0;
+        if (vec) {
+            i = LengthVectorKernels.bulk(n);
+            LengthVectorKernels.convert(values, units, kt, out, i);
+        } else if (policy == RoundingPolicy.DEFAULT) {
+            for (; i < n; i++) out[i] = Math.round(values[i] * TO_INCHES[units[i] & 0xff] / kt * 100.0) / 100.0;
+            return;
+        }
+        for (; i < n; i++) out[i] = values[i] * TO_INCHES[units[i] & 0xff] / kt;
+        policy.apply(out, out, n);
+    }
+
+    // ===== Add =====
+    /** out[i] = Length.add(v1[i], u1[i], v2[i], u2[i], result). */
+    public static void add(double[] v1, byte[] u1, double[] v2, byte[] u2, LengthUnit result, double[] out) {
+        int n = checkColumn(v1, u1);
+        if (checkColumn(v2, u2) != n) throw new IllegalArgumentException("Operand columns differ in length");
+        checkTarget(result);
+        checkOut(out, n);
+        boolean vec = vector;
+        checkValues(v1, u1, vec);
+        checkValues(v2, u2, vec);
+        double kt = result.toInches(1.0);
+        RoundingPolicy policy = RoundingPolicy.current();
+        int i = 0;
+        if (vec) {
+            i = LengthVectorKernels.bulk(n);
+            LengthVectorKernels.add(v1, u1, v2, u2, kt, out, i);
+        } else if (policy == RoundingPolicy.DEFAULT) {
+            for (; i < n; i++) {
+                double inches = v1[i] * TO_INCHES[u1[i] & 0xff] + v2[i] * TO_INCHES[u2[i] & 0xff];
+                out[i] = Math.round(inches / kt * 100.0) / 100.0;
+            }
+            return;
+        }
+        for (; i < n; i++) out[i] = (v1[i] * TO_INCHES[u1[i] & 0xff] + v2[i] * TO_INCHES[u2[i] & 0xff]) / kt;
+        policy.apply(out, out, n);
+    }
+
+    // ===== Compare =====
+    /** out[i] = new Length(v1[i], u1[i]).compare(new Length(v2[i], u2[i])); returns the number of matches. */
+    public static int compare(double[] v1, byte[] u1, double[] v2, byte[] u2, boolean[] out) {
+        int n = checkColumn(v1, u1);
+        if (checkColumn(v2, u2) != n) throw new IllegalArgumentException("Operand columns differ in length");
+        if (out == null || out.length < n) throw new IllegalArgumentException("Output too small");
+        boolean vec = vector;
+        checkValues(v1, u1, vec);
+        checkValues(v2, u2, vec);
+        int i = 0;
+        int matches = 0;
+        if (vec) {
+            i = LengthVectorKernels.bulk(n);
+            matches = LengthVectorKernels.compare(v1, u1, v2, u2, out, i);
+        }
+        for (; i < n; i++) {
+            boolean eq = Math.abs(v1[i] * TO_INCHES[u1[i] & 0xff] - v2[i] * TO_INCHES[u2[i] & 0xff]) < Length.EPS;
+            out[i] = eq;
+            matches += eq ? 1 : 0;
+        }
+        return matches;
+    }
+
+    // ===== Round =====
+    /** out[i] = values[i] rounded half-up to 2 decimals ({@link RoundingPolicy#DEFAULT}), whatever the current policy. */
+    public static void round2(double[] values, double[] out) {
+        if (values == null) throw new IllegalArgumentException("Values cannot be null");
+        checkOut(out, values.length);
+        for (int i = 0; i < values.length; i++) out[i] = Math.round(values[i] * 100.0) / 100.0;
+    }
+
+    // ===== Helpers =====
+    private interface Factor {
+        double of(LengthUnit u);
+    }
+
+    private static double[] table(Factor factor) {
+        double[] t = new double[256];
+        Arrays.fill(t, Double.NaN);
+        for (LengthUnit u : UNITS) t[u.ordinal()] = factor.of(u);
+        return t;
+    }
+
+    private static int checkColumn(double[] values, byte[] units) {
+        if (values == null) throw new IllegalArgumentException("Values cannot be null");
+        if (units == null) throw new IllegalArgumentException("Units cannot be null");
+        if (units.length != values.length) throw new IllegalArgumentException("Values and units differ in length");
+        return values.length;
+    }
+
+    private static void checkTarget(LengthUnit target) {
+        if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+    }
+
+    private static void checkOut(double[] out, int n) {
+        if (out == null || out.length < n) throw new IllegalArgumentException("Output too small");
+    }
+
+    // NaN probe over a whole column, before any output is written
+    private static void checkValues(double[] values, byte[] units, boolean vec) {
+        int n = values.length;
+        int i = 0;
+        if (vec) {
+            i = LengthVectorKernels.bulk(n);
+            if (!LengthVectorKernels.valid(values, units, i)) throw invalid(values, units);
+        }
+        double probe = 0.0;
+        for (; i < n; i++) probe += (values[i] + TO_INCHES[units[i] & 0xff]) * 0.0;
+        if (probe != 0.0) throw invalid(values, units);
+    }
+
+    // Slow path after the probe tripped: name the first offending element
+    private static IllegalArgumentException invalid(double[] values, byte[] units) {
+        for (int i = 0; i < values.length; i++) {
+            if ((units[i] & 0xff) >= UNITS.length)
+                return new IllegalArgumentException("Unknown unit ordinal " + (units[i] & 0xff) + " at index " + i);
+            if (Double.isNaN(values[i]) || Double.isInfinite(values[i]))
+                return new IllegalArgumentException("Value must be finite at index " + i);
+        }
+        throw new IllegalStateException("Probe tripped on a valid column");
+    }
+}
@@ -0,0 +1,509 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * LengthLog
+ *
+ * Durable per-key running totals of lengths: every add is appended to a memory-mapped write-ahead log,
+ * the aggregated state is snapshotted periodically, and reopening the directory restores the state from
+ * the last snapshot plus the log tail written after it.
+ *
+ * Layout of the directory:
+ * <pre>
+ *   %016x.wal     : log segment starting at that position; records until the first zero length
+ *     record      : int payloadBytes | int crc32(payload) | short keyBytes | key (UTF-8) | byte unit | double value
+ *     end marker  : int -1, written by close() after the last record
+ *   snapshot.bin  : int magic | long logPosition | int keys | (short keyBytes | key | long nanoInches) * keys | int crc32
+ * </pre>
+ *
+ * Notes:
+ * - State is a {@link LengthTotals} (exact nano-inch sums), so replaying a record always gives the same
+ *   totals regardless of the order of replay or of snapshots.
+ * - append(...) writes the record and updates the totals under one lock and returns the record's end
+ *   position; it does not wait for the disk. sync(position) makes everything up to that position durable
+ *   with group commit: one force of the mapped segment covers every thread waiting at that time.
+ *   {@link #add} is append + sync. A rejected value or a failed roll leaves both the log and the totals
+ *   as they were: the totals are updated only once the record bytes are written, just before its length
+ *   makes it visible, and a new segment is adopted only after it is mapped.
+ * - Segments are preallocated at segmentBytes; a record that does not fit starts the next segment (the
+ *   previous one is forced first). After a snapshot, segments entirely before its position are deleted.
+ * - Automatic snapshots run on a background daemon thread, at most one at a time, so append never
+ *   waits for snapshot I/O. A failed background snapshot is rethrown by close().
+ * - Recovery skips, without mapping them, segments that end before the snapshot position. It stops at
+ *   the end marker or at the first record with a bad length or checksum (a torn write), so appends
+ *   continue from the last intact record. After a clean close only the marker is cleared; after a
+ *   crash the rest of the segment is zeroed (read a word at a time, written only where not zero).
+ * - Data errors throw IllegalArgumentException; I/O errors surface as IOException, or
+ *   UncheckedIOException from append/sync/snapshot paths that cannot declare it.
+ */
+public final class LengthLog implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+    public static final long DEFAULT_SNAPSHOT_EVERY = 1_000_000L;
+
+    private static final int SNAPSHOT_MAGIC = 0x534C4D51; // "QMLS" little-endian
+    private static final String SNAPSHOT = "snapshot.bin";
+    private static final String SNAPSHOT_TMP = "snapshot.tmp";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int END_MARKER = -1;
+    private static final int MAX_KEY_BYTES = 1024;
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final long snapshotEvery;
+    private final LengthTotals<String> totals = new LengthTotals<>();
+    private final CRC32 crc = new CRC32();
+
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final Object snapshotLock = new Object();
+
+    // Guarded by appendLock
+    private MappedByteBuffer segment;
+    private long segmentBase;
+    private long position;
+    private long sinceSnapshot;
+    private boolean closed;
+
+    private volatile long durable;
+    private volatile long snapshotPosition;
+    private final long recoveredRecords;
+
+    // Automatic snapshots (null when disabled)
+    private final ExecutorService snapshotter;
+    private final AtomicBoolean snapshotPending = new AtomicBoolean();
+    private volatile UncheckedIOException snapshotFailure;
+
+    private LengthLog(Path dir, int segmentBytes, long snapshotEvery) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.snapshotEvery = snapshotEvery;
+        Files.createDirectories(dir);
+        snapshotPosition = loadSnapshot();
+        recoveredRecords = replay();
+        durable = position;
+        snapshotter = snapshotEvery == 0 ? null : Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "length-log-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static LengthLog open(Path dir) throws IOException {
+        return open(dir, DEFAULT_SEGMENT_BYTES, DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    /**
+     * Open (recovering if needed) the log in {@code dir}. A snapshot is taken automatically after every
+     * {@code snapshotEvery} appends (0 disables automatic snapshots).
+     */
+    public static LengthLog open(Path dir, int segmentBytes, long snapshotEvery) throws IOException {
+        if (dir == null) throw new IllegalArgumentException("Directory cannot be null");
+        if (segmentBytes < 4096) throw new IllegalArgumentException("Segment must be at least 4096 bytes");
+        if (snapshotEvery < 0) throw new IllegalArgumentException("Snapshot interval cannot be negative");
+        return new LengthLog(dir, segmentBytes, snapshotEvery);
+    }
+
+    // ===== Writes =====
+    /** Append and apply one measurement; returns the log position to pass to {@link #sync}. */
+    public long append(String key, double value, LengthUnit unit) {
+        if (key == null) throw new IllegalArgumentException("Key cannot be null");
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) throw new IllegalArgumentException("Key longer than " + MAX_KEY_BYTES + " bytes");
+        int payload = 2 + keyBytes.length + 1 + 8;
+        long nanoInches = FixedLength.quantize(unit.toInches(value)); // range check before the lock
+
+        long end;
+        boolean snapshotDue = false;
+        synchronized (appendLock) {
+            if (closed) throw new IllegalStateException("Log is closed");
+            int offset = (int) (position - segmentBase);
+            if (offset + RECORD_HEADER_BYTES + payload > segment.capacity()) offset = roll();
+
+            ByteBuffer b = segment;
+            int p = offset + RECORD_HEADER_BYTES;
+            b.putShort(p, (short) keyBytes.length);
+            b.put(p + 2, keyBytes);
+            b.put(p + 2 + keyBytes.length, (byte) unit.ordinal());
+            b.putDouble(p + 3 + keyBytes.length, value);
+            crc.reset();
+            crc.update(b.slice(p, payload));
+            b.putInt(offset + 4, (int) crc.getValue());
+            // Apply before publishing: if the total rejects it, the record never becomes visible
+            totals.addNanoInches(key, nanoInches);
+            b.putInt(offset, payload); // length last: a record is visible only once complete
+
+            position = segmentBase + offset + RECORD_HEADER_BYTES + payload;
+            end = position;
+            if (snapshotEvery > 0 && ++sinceSnapshot >= snapshotEvery) {
+                sinceSnapshot = 0;
+                snapshotDue = true;
+            }
+        }
+        if (snapshotDue) scheduleSnapshot();
+        return end;
+    }
+
+    public long append(String key, Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return append(key, length.getValue(), length.getUnit());
+    }
+
+    /** Append, apply and wait until the measurement is durable. */
+    public void add(String key, double value, LengthUnit unit) {
+        sync(append(key, value, unit));
+    }
+
+    public void add(String key, Length length) {
+        sync(append(key, length));
+    }
+
+    /** Make every record up to {@code upTo} durable; threads arriving while a force runs share the next one. */
+    public void sync(long upTo) {
+        if (durable >= upTo) return;
+        synchronized (syncLock) {
+            if (durable >= upTo) return;
+            MappedByteBuffer seg;
+            long base, end;
+            synchronized (appendLock) {
+                seg = segment;
+                base = segmentBase;
+                end = position;
+            }
+            // Earlier segments were forced when the log rolled past them
+            int from = (int) (Math.max(durable, base) - base);
+            seg.force(from, (int) (end - base) - from);
+            durable = end;
+        }
+    }
+
+    // Force and leave the current segment, map the next; returns the offset to write at (0). If mapping
+    // fails the log stays on the current segment, so a later append can retry the roll
+    private int roll() {
+        segment.force();
+        long nextBase = segmentBase + segment.capacity();
+        MappedByteBuffer next;
+        try {
+            next = mapSegment(nextBase);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segment = next;
+        segmentBase = nextBase;
+        position = nextBase;
+        return 0;
+    }
+
+    private MappedByteBuffer mapSegment(long base) throws IOException {
+        try (FileChannel ch = FileChannel.open(segmentPath(base), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(ch.size(), segmentBytes);
+            MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            m.order(ByteOrder.LITTLE_ENDIAN);
+            return m;
+        }
+    }
+
+    private Path segmentPath(long base) {
+        return dir.resolve(String.format("%016x%s", base, SEGMENT_SUFFIX));
+    }
+
+    // ===== Snapshots =====
+    // Run a snapshot on the background thread unless one is already queued or running
+    private void scheduleSnapshot() {
+        if (!snapshotPending.compareAndSet(false, true)) return;
+        try {
+            snapshotter.execute(() -> {
+                try {
+                    snapshot();
+                } catch (IllegalStateException closing) {
+                    // close() won the race; nothing to snapshot
+                } catch (UncheckedIOException e) {
+                    snapshotFailure = e;
+                } finally {
+                    snapshotPending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException closing) {
+            snapshotPending.set(false);
+        }
+    }
+
+    /** Write the aggregated state to disk and drop log segments it makes redundant. */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            long pos;
+            Map<String, Long> state;
+            synchronized (appendLock) {
+                if (closed) throw new IllegalStateException("Log is closed");
+                pos = position;
+                state = totals.nanoSnapshot();
+                sinceSnapshot = 0;
+            }
+            try {
+                writeSnapshot(pos, state);
+                snapshotPosition = pos;
+                deleteSegmentsBefore(pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void writeSnapshot(long pos, Map<String, Long> state) throws IOException {
+        List<byte[]> keys = new ArrayList<>(state.size());
+        int bytes = 4 + 8 + 4 + 4;
+        for (String k : state.keySet()) {
+            byte[] kb = k.getBytes(StandardCharsets.UTF_8);
+            keys.add(kb);
+            bytes += 2 + kb.length + 8;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(SNAPSHOT_MAGIC).putLong(pos).putInt(state.size());
+        int i = 0;
+        for (long nano : state.values()) {
+            byte[] kb = keys.get(i++);
+            buf.putShort((short) kb.length).put(kb).putLong(nano);
+        }
+        CRC32 c = new CRC32();
+        c.update(buf.array(), 0, buf.position());
+        buf.putInt((int) c.getValue()).flip();
+
+        Path tmp = dir.resolve(SNAPSHOT_TMP);
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(tmp, dir.resolve(SNAPSHOT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Returns the log position covered by the snapshot (0 without one)
+    private long loadSnapshot() throws IOException {
+        Path p = dir.resolve(SNAPSHOT);
+        if (!Files.exists(p)) return 0L;
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(p)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.remaining() < 20 || buf.getInt(0) != SNAPSHOT_MAGIC) throw new IOException("Corrupt snapshot: " + p);
+        CRC32 c = new CRC32();
+        c.update(buf.array(), 0, buf.limit() - 4);
+        if ((int) c.getValue() != buf.getInt(buf.limit() - 4)) throw new IOException("Corrupt snapshot: " + p);
+        buf.position(4);
+        long pos = buf.getLong();
+        int n = buf.getInt();
+        for (int i = 0; i < n; i++) {
+            byte[] kb = new byte[buf.getShort() & 0xffff];
+            buf.get(kb);
+            totals.addNanoInches(new String(kb, StandardCharsets.UTF_8), buf.getLong());
+        }
+        return pos;
+    }
+
+    private void deleteSegmentsBefore(long pos) throws IOException {
+        long current;
+        synchronized (appendLock) {
+            current = segmentBase;
+        }
+        // A segment is redundant once the next one starts at or before the snapshot position
+        List<Long> bases = segmentBases();
+        for (int i = 0; i + 1 < bases.size(); i++) {
+            long base = bases.get(i);
+            if (base < current && bases.get(i + 1) <= pos) Files.deleteIfExists(segmentPath(base));
+        }
+    }
+
+    private List<Long> segmentBases() throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(f -> f.getFileName().toString())
+                    .filter(n -> n.endsWith(SEGMENT_SUFFIX) && n.length() == 16 + SEGMENT_SUFFIX.length())
+                    .forEach(n -> bases.add(Long.parseUnsignedLong(n.substring(0, 16), 16)));
+        }
+        bases.sort(null);
+        return bases;
+    }
+
+    // ===== Recovery =====
+    // Replay records after the snapshot position; leaves the log positioned after the last intact record
+    private long replay() throws IOException {
+        long start = snapshotPosition;
+        long replayed = 0;
+        List<Long> bases = segmentBases();
+        MappedByteBuffer last = null;
+        long lastBase = start;
+        int end = 0;
+        boolean torn = false;
+        boolean clean = false;
+        for (int i = 0; i < bases.size(); i++) {
+            long base = bases.get(i);
+            if (torn) {
+                Files.deleteIfExists(segmentPath(base)); // nothing after a torn record can be trusted
+                continue;
+            }
+            if (i + 1 < bases.size() && bases.get(i + 1) <= start) continue; // wholly before the snapshot
+            MappedByteBuffer m = mapSegment(base);
+            if (base + m.capacity() <= start) continue;
+            int off = (int) Math.max(0, start - base);
+            clean = false;
+            while (off + RECORD_HEADER_BYTES <= m.capacity()) {
+                int payload = m.getInt(off);
+                if (payload == 0) break;
+                if (payload == END_MARKER) {
+                    clean = true;
+                    break;
+                }
+                if (payload < 11 || payload > 2 + MAX_KEY_BYTES + 9 || off + RECORD_HEADER_BYTES + payload > m.capacity()
+                        || !applyRecord(m, off, payload)) {
+                    torn = true;
+                    break;
+                }
+                off += RECORD_HEADER_BYTES + payload;
+                replayed++;
+            }
+            last = m;
+            lastBase = base;
+            end = off;
+        }
+        if (last == null) {
+            // Fresh log, or every segment predates the snapshot: continue in a new segment at its position
+            lastBase = start;
+            last = mapSegment(lastBase);
+            end = 0;
+            clean = false;
+        }
+        // After a clean close nothing follows the marker; after a crash, clear leftovers of torn writes
+        if (clear(last, end, clean ? end + RECORD_HEADER_BYTES : last.capacity())) last.force();
+        segment = last;
+        segmentBase = lastBase;
+        position = lastBase + end;
+        return replayed;
+    }
+
+    // Zero m[from, to) where it is not zero already (untouched sparse pages are only read); true if written
+    private static boolean clear(MappedByteBuffer m, int from, int to) {
+        boolean dirty = false;
+        int i = from;
+        for (; i < to && (i & 7) != 0; i++) {
+            if (m.get(i) != 0) {
+                m.put(i, (byte) 0);
+                dirty = true;
+            }
+        }
+        for (; i + 8 <= to; i += 8) {
+            if (m.getLong(i) != 0L) {
+                m.putLong(i, 0L);
+                dirty = true;
+            }
+        }
+        for (; i < to; i++) {
+            if (m.get(i) != 0) {
+                m.put(i, (byte) 0);
+                dirty = true;
+            }
+        }
+        return dirty;
+    }
+
+    private boolean applyRecord(ByteBuffer m, int off, int payload) {
+        int p = off + RECORD_HEADER_BYTES;
+        CRC32 c = new CRC32();
+        c.update(m.slice(p, payload));
+        if ((int) c.getValue() != m.getInt(off + 4)) return false;
+        int keyLen = m.getShort(p) & 0xffff;
+        if (payload != 2 + keyLen + 9) return false;
+        byte[] kb = new byte[keyLen];
+        m.get(p + 2, kb);
+        int ordinal = m.get(p + 2 + keyLen) & 0xff;
+        if (ordinal >= UNITS.length) return false;
+        totals.add(new String(kb, StandardCharsets.UTF_8), m.getDouble(p + 3 + keyLen), UNITS[ordinal]);
+        return true;
+    }
+
+    // ===== Reads =====
+    /**
+     * Current total for {@code key} in {@code unit}, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default).
+     */
+    public Length get(String key, LengthUnit unit) {
+        return totals.get(key, unit);
+    }
+
+    /** Current totals of all keys in {@code unit}. */
+    public Map<String, Length> totals(LengthUnit unit) {
+        return totals.snapshot(unit);
+    }
+
+    /** End position of the last appended record. */
+    public long position() {
+        synchronized (appendLock) {
+            return position;
+        }
+    }
+
+    /** Position up to which the log is known to be on disk. */
+    public long durablePosition() { return durable; }
+
+    /** Log position covered by the latest snapshot. */
+    public long snapshotPosition() { return snapshotPosition; }
+
+    /** Number of log records replayed when this log was opened. */
+    public long recoveredRecords() { return recoveredRecords; }
+
+    /**
+     * Wait for a running background snapshot, mark the end of the log and force it. Rethrows the failure
+     * of a background snapshot, if any, once the log is closed.
+     */
+    @Override
+    public void close() {
+        if (snapshotter != null) {
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (appendLock) {
+            if (closed) return;
+            int offset = (int) (position - segmentBase);
+            if (offset + RECORD_HEADER_BYTES <= segment.capacity()) segment.putInt(offset, END_MARKER);
+            segment.force();
+            durable = position;
+            closed = true;
+        }
+        UncheckedIOException failure = snapshotFailure;
+        if (failure != null) {
+            snapshotFailure = null;
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LengthMetrics
+ *
+ * Opt-in instrumentation of Length.convert, convertTo, add and equals: per-unit-pair call counters,
+ * log-linear (HDR-style) latency histograms and counts of validation failures.
+ *
+ * Notes:
+ * - Disabled by default (enable with {@link #enable()}, JMX, or -Dqm.metrics=true). When disabled each
+ *   instrumented method costs one read of a volatile boolean before running its unmetered body.
+ * - When enabled, calls are timed with System.nanoTime and recorded into LongAdder cells, so concurrent
+ *   callers do not contend on a shared counter.
+ * - A validation failure is an IllegalArgumentException thrown by the operation; it is counted and rethrown.
+ * - Only conversions requested by callers are counted: direct Length calls, LengthCache lookups, and one
+ *   per value converted or added by LengthServer and ConversionPipeline. Library code that converts its
+ *   own results to a target unit (totals, accumulators, sketches, windows, groups, collectors) uses the
+ *   unmetered path, so it does not inflate the CONVERT counters or latency histograms.
+ * - Histograms have 8 sub-buckets per power of two (about 12% relative precision) and cover any long.
+ * - Exposed through {@link LengthMetricsMXBean} ({@link #registerMBean()}) and {@link #dump()}.
+ */
+public final class LengthMetrics {
+
+    public enum Op { CONVERT, CONVERT_TO, ADD, EQUALS }
+
+    static volatile boolean enabled = Boolean.getBoolean("qm.metrics");
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+    private static final Op[] OPS = Op.values();
+    private static final int PAIRS = UNITS.length * UNITS.length;
+
+    private static final LongAdder[] pairCounts = adders(OPS.length * PAIRS);
+    private static final LongAdder[] failures = adders(OPS.length);
+    private static final Histogram[] latency = new Histogram[OPS.length];
+
+    static {
+        for (int i = 0; i < latency.length; i++) latency[i] = new Histogram();
+    }
+
+    private LengthMetrics() { }
+
+    public static void enable() { enabled = true; }
+    public static void disable() { enabled = false; }
+    public static boolean isEnabled() { return enabled; }
+
+    // ===== Metered wrappers (called by Length when enabled) =====
+    static double convert(double value, LengthUnit from, LengthUnit to, RoundingPolicy policy) {
+        long t0 = System.nanoTime();
+        try {
+            double r = Length.convertUnmetered(value, from, to, policy);
+            record(Op.CONVERT, from, to, t0);
+            return r;
+        } catch (IllegalArgumentException e) {
+            countFailure(Op.CONVERT);
+            throw e;
+        }
+    }
+
+    static Length convertTo(Length length, LengthUnit target, RoundingPolicy policy) {
+        long t0 = System.nanoTime();
+        try {
+            Length r = length.convertToUnmetered(target, policy);
+            record(Op.CONVERT_TO, length.getUnit(), target, t0);
+            return r;
+        } catch (IllegalArgumentException e) {
+            countFailure(Op.CONVERT_TO);
+            throw e;
+        }
+    }
+
+    static Length add(Length a, Length b, RoundingPolicy policy) {
+        long t0 = System.nanoTime();
+        try {
+            Length r = a.addUnmetered(b, policy);
+            record(Op.ADD, a.getUnit(), b.getUnit(), t0);
+            return r;
+        } catch (IllegalArgumentException e) {
+            countFailure(Op.ADD);
+            throw e;
+        }
+    }
+
+    static double add(double v1, LengthUnit u1, double v2, LengthUnit u2, LengthUnit resultUnit,
+                      RoundingPolicy policy) {
+        long t0 = System.nanoTime();
+        try {
+            double r = Length.addUnmetered(v1, u1, v2, u2, resultUnit, policy);
+            record(Op.ADD, u1, u2, t0);
+            return r;
+        } catch (IllegalArgumentException e) {
+            countFailure(Op.ADD);
+            throw e;
+        }
+    }
+
+    static boolean equals(Length a, Object o) {
+        long t0 = System.nanoTime();
+        boolean r = a.equalsUnmetered(o);
+        if (o instanceof Length) record(Op.EQUALS, a.getUnit(), ((Length) o).getUnit(), t0);
+        else latency[Op.EQUALS.ordinal()].record(System.nanoTime() - t0);
+        return r;
+    }
+
+    static void countFailure(Op op) {
+        failures[op.ordinal()].increment();
+    }
+
+    // Also used by LengthCache to count memoized conversions
+    static void record(Op op, LengthUnit from, LengthUnit to, long t0) {
+        long elapsed = System.nanoTime() - t0;
+        pairCounts[op.ordinal() * PAIRS + from.ordinal() * UNITS.length + to.ordinal()].increment();
+        latency[op.ordinal()].record(elapsed);
+    }
+
+    // ===== Reads =====
+    /** Calls of {@code op} on the (from, to) unit pair; for ADD and EQUALS the pair is (first, second) operand. */
+    public static long count(Op op, LengthUnit from, LengthUnit to) {
+        return pairCounts[op.ordinal() * PAIRS + from.ordinal() * UNITS.length + to.ordinal()].sum();
+    }
+
+    /** Successful calls of {@code op} across all unit pairs. */
+    public static long count(Op op) {
+        long n = 0;
+        for (int p = 0; p < PAIRS; p++) n += pairCounts[op.ordinal() * PAIRS + p].sum();
+        return n;
+    }
+
+    public static long failures(Op op) {
+        return failures[op.ordinal()].sum();
+    }
+
+    /** Latency at quantile {@code q} (0..1) in nanoseconds, as the upper bound of its bucket. */
+    public static long latencyNanos(Op op, double q) {
+        return latency[op.ordinal()].quantile(q);
+    }
+
+    public static void reset() {
+        for (LongAdder a : pairCounts) a.reset();
+        for (LongAdder a : failures) a.reset();
+        for (Histogram h : latency) h.reset();
+    }
+
+    /** Text dump of all non-zero counters and per-operation latency percentiles. */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("LengthMetrics (").append(enabled ? "enabled" : "disabled").append(")\n");
+        for (Op op : OPS) {
+            sb.append(String.format("%-10s calls=%d failures=%d p50=%.3fus p99=%.3fus max=%.3fus%n",
+                    op, count(op), failures(op),
+                    latencyNanos(op, 0.50) / 1e3, latencyNanos(op, 0.99) / 1e3, latencyNanos(op, 1.0) / 1e3));
+            for (LengthUnit from : UNITS) {
+                for (LengthUnit to : UNITS) {
+                    long n = count(op, from, to);
+                    if (n > 0) sb.append(String.format("    %s->%s %d%n", from, to, n));
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // ===== JMX =====
+    public static final String OBJECT_NAME = "com.apps:type=LengthMetrics";
+
+    /** Register the MXBean with the platform MBean server (idempotent). */
+    public static ObjectName registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) server.registerMBean(new MXBeanImpl(), name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    private static final class MXBeanImpl implements LengthMetricsMXBean {
+        @Override public boolean isEnabled() { return enabled; }
+        @Override public void setEnabled(boolean on) { enabled = on; }
+
+        @Override
+        public Map<String, Long> getOperationCounts() {
+            Map<String, Long> m = new LinkedHashMap<>();
+            for (Op op : OPS) m.put(op.name(), count(op));
+            return m;
+        }
+
+        @Override
+        public Map<String, Long> getUnitPairCounts() {
+            Map<String, Long> m = new LinkedHashMap<>();
+            for (Op op : OPS) {
+                for (LengthUnit from : UNITS) {
+                    for (LengthUnit to : UNITS) {
+                        long n = count(op, from, to);
+                        if (n > 0) m.put(op + " " + from + "->" + to, n);
+                    }
+                }
+            }
+            return m;
+        }
+
+        @Override
+        public Map<String, Long> getValidationFailures() {
+            Map<String, Long> m = new LinkedHashMap<>();
+            for (Op op : OPS) m.put(op.name(), failures(op));
+            return m;
+        }
+
+        @Override public Map<String, Double> getLatencyP50Micros() { return latencies(0.50); }
+        @Override public Map<String, Double> getLatencyP99Micros() { return latencies(0.99); }
+        @Override public Map<String, Double> getLatencyMaxMicros() { return latencies(1.0); }
+
+        private Map<String, Double> latencies(double q) {
+            Map<String, Double> m = new LinkedHashMap<>();
+            for (Op op : OPS) m.put(op.name(), latencyNanos(op, q) / 1e3);
+            return m;
+        }
+
+        @Override public String dump() { return LengthMetrics.dump(); }
+        @Override public void reset() { LengthMetrics.reset(); }
+    }
+
+    // ===== Log-linear histogram =====
+    private static final class Histogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB = 1 << SUB_BITS;
+        private final LongAdder[] buckets = adders((64 - SUB_BITS + 1) * SUB);
+
+        void record(long nanos) {
+            buckets[index(Math.max(0, nanos))].increment();
+        }
+
+        // Values below SUB map 1:1; above, the top SUB_BITS+1 bits select the bucket
+        static int index(long v) {
+            if (v < SUB) return (int) v;
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+            return (exp - SUB_BITS + 1) * SUB + sub;
+        }
+
+        static long upperBound(int index) {
+            if (index < SUB) return index;
+            int exp = index / SUB + SUB_BITS - 1;
+            int sub = index % SUB;
+            long low = (long) (SUB + sub) << (exp - SUB_BITS);
+            long width = 1L << (exp - SUB_BITS);
+            return low + width - 1 < low ? Long.MAX_VALUE : low + width - 1;
+        }
+
+        long quantile(double q) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return upperBound(i);
+            }
+            return upperBound(counts.length - 1);
+        }
+
+        void reset() {
+            for (LongAdder b : buckets) b.reset();
+        }
+    }
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] a = new LongAdder[n];
+        for (int i = 0; i < n; i++) a[i] = new LongAdder();
+        return a;
+    }
+}
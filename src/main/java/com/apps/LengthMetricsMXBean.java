@@ -0,0 +1,33 @@
+package com.apps;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link LengthMetrics}, registered as {@code com.apps:type=LengthMetrics}.
+ */
+public interface LengthMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /** Successful calls per operation. */
+    Map<String, Long> getOperationCounts();
+
+    /** Successful calls per operation and unit pair, e.g. "CONVERT FEET->INCHES". */
+    Map<String, Long> getUnitPairCounts();
+
+    /** IllegalArgumentException (validation) failures per operation. */
+    Map<String, Long> getValidationFailures();
+
+    Map<String, Double> getLatencyP50Micros();
+
+    Map<String, Double> getLatencyP99Micros();
+
+    Map<String, Double> getLatencyMaxMicros();
+
+    /** Human-readable dump of all counters and histograms. */
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,237 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.nio.ByteBuffer;
+
+/**
+ * LengthParser
+ *
+ * Reusable, allocation-free parser for measurements in the Length.toString() format ("3.5 ft", "-2.54 cm",
+ * "1.5E8 in"), reading directly from a CharSequence or an ASCII ByteBuffer range.
+ *
+ * Notes:
+ * - Grammar: [ws] [+|-] digits [. digits] [(e|E) [+|-] digits] [ws] [,|;] [ws] unit [ws]. The unit is a
+ *   symbol (ft, in, yd, cm) or a LengthUnit name, case-insensitive. The optional separator lets the
+ *   same parser read "value,unit" CSV rows.
+ * - Numbers with at most 15 significant digits and a small exponent are converted exactly with one
+ *   multiply or divide by a power of ten; anything else falls back to Double.parseDouble (which allocates).
+ *   Either way the result equals Double.parseDouble of the same text.
+ * - parse(...) returns false on malformed input instead of throwing, so bad rows cost no exception;
+ *   the static {@link #parseLength} throws IllegalArgumentException like the Length constructor.
+ * - Not thread-safe: keep one parser per thread. The last result is read with value()/unit().
+ */
+public final class LengthParser {
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    // Exactly representable powers of ten
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int MAX_FAST_DIGITS = 15;
+
+    // Current source: exactly one of these is non-null during a parse
+    private CharSequence chars;
+    private ByteBuffer bytes;
+
+    private double value;
+    private LengthUnit unit;
+
+    // ===== Entry points =====
+    public boolean parse(CharSequence text) {
+        if (text == null) throw new IllegalArgumentException("Text cannot be null");
+        return parse(text, 0, text.length());
+    }
+
+    /** Parse {@code text[from, to)} as one measurement. */
+    public boolean parse(CharSequence text, int from, int to) {
+        if (text == null) throw new IllegalArgumentException("Text cannot be null");
+        checkRange(from, to, text.length());
+        chars = text;
+        try {
+            return parseRange(from, to);
+        } finally {
+            chars = null;
+        }
+    }
+
+    /** Parse the ASCII bytes {@code buf[from, to)} (absolute indices; position is not changed). */
+    public boolean parse(ByteBuffer buf, int from, int to) {
+        if (buf == null) throw new IllegalArgumentException("Buffer cannot be null");
+        checkRange(from, to, buf.limit());
+        bytes = buf;
+        try {
+            return parseRange(from, to);
+        } finally {
+            bytes = null;
+        }
+    }
+
+    /** Value of the last successful parse, in {@link #unit()}. */
+    public double value() { return value; }
+
+    /** Unit of the last successful parse. */
+    public LengthUnit unit() { return unit; }
+
+    /** Materialize the last successful parse as a Length. */
+    public Length toLength() {
+        if (unit == null) throw new IllegalStateException("Nothing parsed yet");
+        return new Length(value, unit);
+    }
+
+    /** Convenience: parse or throw IllegalArgumentException. */
+    public static Length parseLength(CharSequence text) {
+        LengthParser p = new LengthParser();
+        if (!p.parse(text)) throw new IllegalArgumentException("Not a length: " + text);
+        return p.toLength();
+    }
+
+    /** Look up a unit by symbol or name (case-insensitive); null if unknown. */
+    public static LengthUnit parseUnit(CharSequence text) {
+        if (text == null) return null;
+        LengthParser p = new LengthParser();
+        p.chars = text;
+        int from = p.skipSpaces(0, text.length());
+        int to = text.length();
+        while (to > from && (text.charAt(to - 1) == ' ' || text.charAt(to - 1) == '\t')) to--;
+        return p.matchUnit(from, to);
+    }
+
+    // ===== Grammar =====
+    private boolean parseRange(int from, int to) {
+        int i = skipSpaces(from, to);
+        int numberStart = i;
+
+        boolean negative = false;
+        if (i < to && (at(i) == '-' || at(i) == '+')) {
+            negative = at(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significant = 0;   // significant digits seen (leading zeros excluded)
+        int scale = 0;         // decimal exponent adjustment from dropped/fraction digits
+        boolean anyDigit = false;
+        while (i < to && isDigit(at(i))) {
+            anyDigit = true;
+            int d = at(i++) - '0';
+            if (significant < 19) {
+                mantissa = mantissa * 10 + d;
+                if (mantissa != 0) significant++;
+            } else {
+                significant++;
+                scale++;
+            }
+        }
+        if (i < to && at(i) == '.') {
+            i++;
+            while (i < to && isDigit(at(i))) {
+                anyDigit = true;
+                int d = at(i++) - '0';
+                if (significant < 19) {
+                    mantissa = mantissa * 10 + d;
+                    if (mantissa != 0) significant++;
+                    scale--;
+                } else {
+                    significant++;
+                }
+            }
+        }
+        if (!anyDigit) return false;
+
+        int exponent = 0;
+        if (i < to && (at(i) == 'e' || at(i) == 'E')) {
+            i++;
+            boolean negExp = false;
+            if (i < to && (at(i) == '-' || at(i) == '+')) {
+                negExp = at(i) == '-';
+                i++;
+            }
+            if (i >= to || !isDigit(at(i))) return false;
+            while (i < to && isDigit(at(i))) {
+                if (exponent < 100_000) exponent = exponent * 10 + (at(i) - '0');
+                i++;
+            }
+            if (negExp) exponent = -exponent;
+        }
+        int numberEnd = i;
+
+        i = skipSpaces(i, to);
+        if (i < to && (at(i) == ',' || at(i) == ';')) i = skipSpaces(i + 1, to);
+        int unitStart = i;
+        while (i < to && isLetter(at(i))) i++;
+        LengthUnit parsedUnit = matchUnit(unitStart, i);
+        if (parsedUnit == null) return false;
+        if (skipSpaces(i, to) != to) return false;
+
+        double v = toDouble(mantissa, significant, scale + exponent, negative, numberStart, numberEnd);
+        if (Double.isNaN(v) || Double.isInfinite(v)) return false;
+        this.value = v;
+        this.unit = parsedUnit;
+        return true;
+    }
+
+    private double toDouble(long mantissa, int significant, int exp10, boolean negative, int start, int end) {
+        if (significant <= MAX_FAST_DIGITS) {
+            double m = mantissa;
+            double v;
+            if (mantissa == 0) {
+                v = 0.0;
+            } else if (exp10 >= 0 && exp10 < POW10.length) {
+                v = m * POW10[exp10];
+            } else if (exp10 < 0 && -exp10 < POW10.length) {
+                v = m / POW10[-exp10];
+            } else {
+                return slowParse(start, end);
+            }
+            // Exact inputs, one correctly rounded operation: same bits as Double.parseDouble
+            return negative ? -v : v;
+        }
+        return slowParse(start, end);
+    }
+
+    private double slowParse(int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) sb.append(at(i));
+        return Double.parseDouble(sb.toString());
+    }
+
+    private LengthUnit matchUnit(int from, int to) {
+        int len = to - from;
+        if (len == 0) return null;
+        for (LengthUnit u : UNITS) {
+            if (regionMatches(u.getSymbol(), from, len) || regionMatches(u.name(), from, len)) return u;
+        }
+        return null;
+    }
+
+    private boolean regionMatches(String candidate, int from, int len) {
+        if (candidate.length() != len) return false;
+        for (int k = 0; k < len; k++) {
+            if (Character.toLowerCase(at(from + k)) != Character.toLowerCase(candidate.charAt(k))) return false;
+        }
+        return true;
+    }
+
+    // ===== Character access =====
+    private char at(int i) {
+        return chars != null ? chars.charAt(i) : (char) (bytes.get(i) & 0xFF);
+    }
+
+    private int skipSpaces(int i, int to) {
+        while (i < to && (at(i) == ' ' || at(i) == '\t')) i++;
+        return i;
+    }
+
+    private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+
+    private static boolean isLetter(char c) { return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_'; }
+
+    private static void checkRange(int from, int to, int length) {
+        if (from < 0 || to > length || from > to)
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ") for length " + length);
+    }
+}
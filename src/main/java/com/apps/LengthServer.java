@@ -0,0 +1,324 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LengthServer
+ *
+ * Optional embedded HTTP server (JDK com.sun.net.httpserver, no external dependencies) exposing
+ * Length.convert and Length.add to other services.
+ *
+ * Endpoints (plain text, one "value unit" measurement per line, same format as Length.toString):
+ * <pre>
+ *   GET  /convert?value=3&amp;from=ft&amp;to=in          -> "36.0 in"
+ *   POST /convert/batch?to=cm   body: "3 ft\n1 yd\n" -> one converted line per input line
+ *   GET  /add?v1=1&amp;u1=ft&amp;v2=12&amp;u2=in[&amp;to=in]  -> "2.0 ft" (result in u1 unless 'to' is given)
+ *   POST /add/batch[?to=in]     body: "1 ft + 12 in\n" -> one sum per line
+ * </pre>
+ *
+ * Notes:
+ * - Handlers run on virtual threads when the JDK provides them (21+, detected reflectively) and on a
+ *   cached thread pool otherwise, so the class still runs on the project's Java 17 baseline.
+ * - Batch bodies are parsed as they stream in with {@link LengthParser} over a reusable byte buffer and
+ *   answered with {@link LengthFormat}, without building a String per line. Lines that do not parse are
+ *   answered with "invalid" so output lines stay aligned with input lines.
+ * - Bad parameters on single endpoints give 400 with the IllegalArgumentException message.
+ * - Small responses hit the Nagle/delayed-ACK stall (~40 ms per request) unless the JVM runs with
+ *   -Dsun.net.httpserver.nodelay=true. The property is JVM-wide, so start() leaves it to the caller.
+ */
+public final class LengthServer {
+
+    private static final int MAX_LINE = 4096;
+    private static final byte[] INVALID = "invalid\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private LengthServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /** Start on {@code port} (0 picks a free port). */
+    public static LengthServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        ExecutorService executor = newHandlerExecutor();
+        server.setExecutor(executor);
+        server.createContext("/convert/batch", post(LengthServer::convertBatch));
+        server.createContext("/convert", get(LengthServer::convertOne));
+        server.createContext("/add/batch", post(LengthServer::addBatch));
+        server.createContext("/add", get(LengthServer::addOne));
+        server.start();
+        return new LengthServer(server, executor);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Whether handlers run on virtual threads on this JDK. */
+    public static boolean virtualThreadsAvailable() {
+        return virtualThreadFactory() != null;
+    }
+
+    private static ExecutorService newHandlerExecutor() {
+        Method m = virtualThreadFactory();
+        if (m != null) {
+            try {
+                return (ExecutorService) m.invoke(null);
+            } catch (ReflectiveOperationException ignored) {
+                // fall through to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    private static Method virtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // ===== Single endpoints =====
+    private static void convertOne(HttpExchange ex) throws IOException {
+        Map<String, String> q = query(ex);
+        double value = number(q, "value");
+        LengthUnit from = unit(q, "from");
+        LengthUnit to = unit(q, "to");
+        double converted = Length.convert(value, from, to);
+        sendLength(ex, converted, to);
+    }
+
+    private static void addOne(HttpExchange ex) throws IOException {
+        Map<String, String> q = query(ex);
+        double v1 = number(q, "v1");
+        LengthUnit u1 = unit(q, "u1");
+        double v2 = number(q, "v2");
+        LengthUnit u2 = unit(q, "u2");
+        LengthUnit to = q.containsKey("to") ? unit(q, "to") : u1;
+        sendLength(ex, Length.add(v1, u1, v2, u2, to), to);
+    }
+
+    private static void sendLength(HttpExchange ex, double value, LengthUnit unit) throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(64);
+        LengthFormat.format(value, unit, out).put((byte) '\n').flip();
+        byte[] body = new byte[out.remaining()];
+        out.get(body);
+        ex.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    // ===== Batch endpoints =====
+    private static void convertBatch(HttpExchange ex) throws IOException {
+        LengthUnit to = unit(query(ex), "to");
+        LengthParser parser = new LengthParser();
+        streamLines(ex, (in, from, end, out) -> {
+            if (!parser.parse(in, from, end)) return false;
+            LengthFormat.format(Length.convert(parser.value(), parser.unit(), to), to, out);
+            return true;
+        });
+    }
+
+    private static void addBatch(HttpExchange ex) throws IOException {
+        Map<String, String> q = query(ex);
+        LengthUnit to = q.containsKey("to") ? unit(q, "to") : null;
+        LengthParser parser = new LengthParser();
+        streamLines(ex, (in, from, end, out) -> {
+            int plus = operatorIndex(in, from, end);
+            if (plus < 0 || !parser.parse(in, from, plus)) return false;
+            double v1 = parser.value();
+            LengthUnit u1 = parser.unit();
+            if (!parser.parse(in, plus + 1, end)) return false;
+            LengthUnit resultUnit = to != null ? to : u1;
+            LengthFormat.format(Length.add(v1, u1, parser.value(), parser.unit(), resultUnit), resultUnit, out);
+            return true;
+        });
+    }
+
+    // The '+' between operands follows the first operand's unit; skip exponent signs such as "1e+3"
+    private static int operatorIndex(ByteBuffer in, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (in.get(i) != '+') continue;
+            int j = i - 1;
+            while (j >= from && in.get(j) == ' ') j--;
+            if (j < from || !isLetter(in.get(j))) continue;
+            boolean exponent = j == i - 1 && (in.get(j) == 'e' || in.get(j) == 'E')
+                    && j > from && (isDigit(in.get(j - 1)) || in.get(j - 1) == '.');
+            if (!exponent) return i;
+        }
+        return -1;
+    }
+
+    private static boolean isLetter(byte b) { return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z'); }
+
+    private static boolean isDigit(byte b) { return b >= '0' && b <= '9'; }
+
+    private interface LineHandler {
+        /** Format the answer for in[from, end) into out; return false if the line is invalid. */
+        boolean handle(ByteBuffer in, int from, int end, ByteBuffer out);
+    }
+
+    // Read the request body line by line through one buffer, answering each line as it arrives
+    private static void streamLines(HttpExchange ex, LineHandler handler) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        ex.sendResponseHeaders(200, 0); // chunked
+        byte[] inBytes = new byte[64 * 1024];
+        ByteBuffer in = ByteBuffer.wrap(inBytes);
+        ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+        try (InputStream body = ex.getRequestBody(); OutputStream os = ex.getResponseBody()) {
+            int filled = 0;
+            boolean eof = false;
+            while (!eof || filled > 0) {
+                if (!eof) {
+                    int n = body.read(inBytes, filled, inBytes.length - filled);
+                    if (n < 0) eof = true; else filled += n;
+                }
+                int start = 0;
+                for (int i = 0; i < filled; i++) {
+                    if (inBytes[i] == '\n') {
+                        answer(handler, in, start, i, out, os);
+                        start = i + 1;
+                    }
+                }
+                if (eof && start < filled) {
+                    answer(handler, in, start, filled, out, os);
+                    start = filled;
+                }
+                if (start == 0 && filled == inBytes.length) {
+                    throw new IOException("Line exceeds " + inBytes.length + " bytes");
+                }
+                System.arraycopy(inBytes, start, inBytes, 0, filled - start);
+                filled -= start;
+            }
+            os.write(out.array(), 0, out.position());
+        }
+    }
+
+    private static void answer(LineHandler handler, ByteBuffer in, int from, int end,
+                               ByteBuffer out, OutputStream os) throws IOException {
+        if (end > from && in.get(end - 1) == '\r') end--;
+        if (end == from) return;
+        if (out.remaining() < MAX_LINE) {
+            os.write(out.array(), 0, out.position());
+            out.clear();
+        }
+        int mark = out.position();
+        boolean ok;
+        try {
+            ok = handler.handle(in, from, end, out);
+        } catch (IllegalArgumentException | BufferOverflowException e) {
+            ok = false;
+        }
+        if (ok) {
+            out.put((byte) '\n');
+        } else {
+            out.position(mark);
+            out.put(INVALID);
+        }
+    }
+
+    // ===== Request helpers =====
+    private interface Handler {
+        void handle(HttpExchange ex) throws IOException;
+    }
+
+    private static HttpHandler get(Handler h) {
+        return method("GET", h);
+    }
+
+    private static HttpHandler post(Handler h) {
+        return method("POST", h);
+    }
+
+    private static HttpHandler method(String method, Handler h) {
+        return ex -> {
+            try {
+                if (!method.equals(ex.getRequestMethod())) {
+                    sendError(ex, 405, "Use " + method);
+                } else {
+                    String ctx = ex.getHttpContext().getPath();
+                    if (!ex.getRequestURI().getPath().equals(ctx)) sendError(ex, 404, "Not found");
+                    else h.handle(ex);
+                }
+            } catch (IllegalArgumentException e) {
+                sendError(ex, 400, e.getMessage());
+            } finally {
+                ex.close();
+            }
+        };
+    }
+
+    private static void sendError(HttpExchange ex, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> params = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String val = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, val);
+        }
+        return params;
+    }
+
+    private static double number(Map<String, String> q, String name) {
+        String v = q.get(name);
+        if (v == null) throw new IllegalArgumentException("Missing parameter: " + name);
+        try {
+            return Double.parseDouble(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + name + "=" + v);
+        }
+    }
+
+    private static LengthUnit unit(Map<String, String> q, String name) {
+        String v = q.get(name);
+        if (v == null) throw new IllegalArgumentException("Missing parameter: " + name);
+        LengthUnit u = LengthParser.parseUnit(v);
+        if (u == null) throw new IllegalArgumentException("Unknown unit: " + name + "=" + v);
+        return u;
+    }
+}
@@ -0,0 +1,271 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * LengthSketch
+ *
+ * Fixed-memory, mergeable quantile sketch (KLL) over lengths, for p50/p95/p99 of streams far too large
+ * to sort. Values are normalized to inches on the way in; quantiles are reported in any LengthUnit.
+ *
+ * Notes:
+ * - Items live in a stack of compactors. Level h holds items of weight 2^h; when the sketch exceeds its
+ *   capacity the lowest full level is sorted and every other item (random offset) is promoted. Capacity
+ *   per level shrinks geometrically (factor 2/3) away from the top, so memory is O(k) plus a few slots per
+ *   level: about 3k doubles regardless of the stream length.
+ * - Rank error is about 1.7/k with high probability (k = 200 gives roughly +/-1% in rank). min and max
+ *   are exact.
+ * - The promotion offsets come from a xorshift generator seeded from System.nanoTime; pass a seed to
+ *   {@link #LengthSketch(int, long)} for reproducible sketches.
+ * - A query sorts each level's items (plain double sorts; all items of a level weigh the same) and
+ *   walks the levels in merged order; nothing is boxed.
+ * - Not thread-safe: keep one sketch per thread and {@link #merge} them at the end. A merge keeps the
+ *   receiving sketch's k.
+ * - {@link #toBytes()} writes a compact little-endian form (header plus the retained doubles);
+ *   {@link #fromBytes} restores it.
+ */
+public final class LengthSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final int MAGIC = 0x4B4C4C31; // "KLL1"
+    private static final int MIN_LEVEL_CAPACITY = 2;
+    private static final double DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private long seed;
+    private int retained;
+    private int[] capacities;   // per level, recomputed when a level is added
+    private int totalCapacity;
+
+    public LengthSketch() {
+        this(DEFAULT_K);
+    }
+
+    public LengthSketch(int k) {
+        this(k, System.nanoTime());
+    }
+
+    /** Sketch whose compactions depend only on {@code seed} and the input order. */
+    public LengthSketch(int k, long seed) {
+        if (k < 8 || k > 65535) throw new IllegalArgumentException("k must be in [8, 65535]");
+        this.k = k;
+        long state = 0x9E3779B97F4A7C15L ^ seed;
+        this.seed = state != 0 ? state : 0x9E3779B97F4A7C15L; // xorshift state must not be zero
+        updateCapacities();
+        levels[0] = new double[capacities[0]];
+    }
+
+    // ===== Ingest =====
+    public LengthSketch add(double value, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        addInches(unit.toInches(value));
+        return this;
+    }
+
+    public LengthSketch add(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return add(length.getValue(), length.getUnit());
+    }
+
+    private void addInches(double inches) {
+        if (sizes[0] == levels[0].length) levels[0] = Arrays.copyOf(levels[0], sizes[0] * 2 + 1);
+        levels[0][sizes[0]++] = inches;
+        retained++;
+        count++;
+        if (inches < min) min = inches;
+        if (inches > max) max = inches;
+        if (retained > totalCapacity) compressOnce();
+    }
+
+    /** Fold {@code other} into this sketch; {@code other} is left unchanged. */
+    public LengthSketch merge(LengthSketch other) {
+        if (other == null) throw new IllegalArgumentException("Sketch cannot be null");
+        if (other == this || other.count == 0) return this;
+        ensureLevels(other.levels.length);
+        for (int h = 0; h < other.levels.length; h++) {
+            int need = sizes[h] + other.sizes[h];
+            if (levels[h].length < need) levels[h] = Arrays.copyOf(levels[h], need);
+            System.arraycopy(other.levels[h], 0, levels[h], sizes[h], other.sizes[h]);
+            sizes[h] = need;
+        }
+        retained += other.retained;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        while (retained > totalCapacity) compressOnce();
+        return this;
+    }
+
+    // ===== Compaction =====
+    // Capacity of level h shrinks by DECAY per level below the top, which gets k
+    private void updateCapacities() {
+        capacities = new int[levels.length];
+        totalCapacity = 0;
+        for (int h = 0; h < levels.length; h++) {
+            int depth = levels.length - h - 1;
+            capacities[h] = Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(DECAY, depth)));
+            totalCapacity += capacities[h];
+        }
+    }
+
+    // Sort the lowest level at or over capacity and promote every other item (half its weight survives
+    // as items of double weight one level up); an odd item out stays behind
+    private void compressOnce() {
+        int h = 0;
+        while (sizes[h] < capacities[h]) h++;
+        if (h == levels.length - 1) ensureLevels(levels.length + 1);
+
+        double[] src = levels[h];
+        int n = sizes[h];
+        Arrays.sort(src, 0, n);
+        int keep = n & 1;
+        int start = keep + (nextBit() ? 1 : 0);
+        int promoted = (n - keep) / 2;
+
+        int dst = h + 1;
+        int need = sizes[dst] + promoted;
+        if (levels[dst].length < need) levels[dst] = Arrays.copyOf(levels[dst], need);
+        for (int i = start, j = sizes[dst]; i < n; i += 2, j++) levels[dst][j] = src[i];
+        sizes[dst] = need;
+        sizes[h] = keep;
+        retained -= n - keep - promoted;
+    }
+
+    private void ensureLevels(int n) {
+        if (levels.length >= n) return;
+        int old = levels.length;
+        levels = Arrays.copyOf(levels, n);
+        sizes = Arrays.copyOf(sizes, n);
+        updateCapacities();
+        for (int h = old; h < n; h++) levels[h] = new double[capacities[h]];
+    }
+
+    private boolean nextBit() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (seed & 1) != 0;
+    }
+
+    // ===== Queries =====
+    public long count() { return count; }
+
+    public int k() { return k; }
+
+    /** Number of retained items (memory footprint in doubles). */
+    public int retainedItems() { return retained; }
+
+    /** Estimated value at quantile {@code q} (0..1) in inches; exact at 0 and 1. */
+    public double quantileInches(double q) {
+        if (!(q >= 0.0 && q <= 1.0)) throw new IllegalArgumentException("Quantile must be in [0, 1]");
+        if (count == 0) throw new IllegalArgumentException("Sketch is empty");
+        if (q == 0.0) return min;
+        if (q == 1.0) return max;
+
+        int numLevels = levels.length;
+        double[][] sorted = new double[numLevels][];
+        long total = 0;
+        for (int h = 0; h < numLevels; h++) {
+            sorted[h] = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(sorted[h]);
+            total += (long) sizes[h] << h;
+        }
+        double target = q * total;
+        int[] pos = new int[numLevels];
+        long cumulative = 0;
+        double item = max;
+        while (true) {
+            int next = nextLevel(sorted, pos);
+            if (next < 0) return item;
+            item = sorted[next][pos[next]++];
+            cumulative += 1L << next;
+            if (cumulative >= target) return item;
+        }
+    }
+
+    /**
+     * Estimated value at quantile {@code q} in {@code unit}, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default).
+     */
+    public Length quantile(double q, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        double inches = quantileInches(q);
+        return new Length(Length.convertUnmetered(inches, LengthUnit.INCHES, unit, RoundingPolicy.current()), unit);
+    }
+
+    public Length min(LengthUnit unit) { return quantile(0.0, unit); }
+
+    public Length max(LengthUnit unit) { return quantile(1.0, unit); }
+
+    // Level holding the smallest unvisited item (the lowest level on ties), or -1 when all are visited
+    private static int nextLevel(double[][] sorted, int[] pos) {
+        int best = -1;
+        for (int h = 0; h < sorted.length; h++) {
+            if (pos[h] == sorted[h].length) continue;
+            if (best < 0 || Double.compare(sorted[h][pos[h]], sorted[best][pos[best]]) < 0) best = h;
+        }
+        return best;
+    }
+
+    // ===== Serialization =====
+    /** Compact binary form: header (k, count, min, max, level sizes) then the retained doubles. */
+    public byte[] toBytes() {
+        int n = retained;
+        ByteBuffer buf = ByteBuffer.allocate(4 + 4 + 8 + 8 + 8 + 4 + 4 * levels.length + 8 * n)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(k).putLong(count).putDouble(min).putDouble(max).putInt(levels.length);
+        for (int s : sizes) buf.putInt(s);
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) buf.putDouble(levels[h][i]);
+        }
+        return buf.array();
+    }
+
+    public static LengthSketch fromBytes(byte[] bytes) {
+        if (bytes == null) throw new IllegalArgumentException("Bytes cannot be null");
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buf.getInt() != MAGIC) throw new IllegalArgumentException("Not a length sketch");
+            LengthSketch s = new LengthSketch(buf.getInt());
+            s.count = buf.getLong();
+            s.min = buf.getDouble();
+            s.max = buf.getDouble();
+            int numLevels = buf.getInt();
+            if (numLevels < 1 || numLevels > 64) throw new IllegalArgumentException("Corrupt sketch: levels");
+            s.ensureLevels(numLevels);
+            for (int h = 0; h < numLevels; h++) {
+                int size = buf.getInt();
+                if (size < 0 || size > bytes.length / 8) throw new IllegalArgumentException("Corrupt sketch: level size");
+                s.sizes[h] = size;
+                s.retained += size;
+            }
+            for (int h = 0; h < numLevels; h++) {
+                if (s.levels[h].length < s.sizes[h]) s.levels[h] = new double[s.sizes[h]];
+                for (int i = 0; i < s.sizes[h]; i++) s.levels[h][i] = buf.getDouble();
+            }
+            if (buf.hasRemaining()) throw new IllegalArgumentException("Corrupt sketch: trailing bytes");
+            return s;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt sketch: truncated", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LengthSketch{k=" + k + ", count=" + count + ", retained=" + retained + ", levels=" + levels.length + "}";
+    }
+}
@@ -0,0 +1,192 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * LengthSort
+ *
+ * Bulk sorting of lengths by physical magnitude: base-inch keys are extracted once, then sorted with a
+ * parallel LSD radix / merge sort instead of calling a comparator (and toBase()) per comparison.
+ *
+ * Notes:
+ * - Order is Length's natural order (Double.compare on inches); the sort is stable, so lengths of equal
+ *   magnitude keep their input order (e.g. 1 ft stays before or after 12 in as given).
+ * - Keys are mapped to order-preserving long bits and sorted with 8-bit LSD radix passes carrying an int
+ *   row index; passes whose byte is the same for every key are skipped, so clustered data costs fewer
+ *   than 8 passes. The rows are permuted once at the end.
+ * - Arrays above {@link #PARALLEL_THRESHOLD} rows are split into runs radix-sorted on the common
+ *   ForkJoinPool and merged pairwise; smaller arrays are sorted on the calling thread.
+ * - Extra memory is about 24 bytes per row (two long keys and two int indices).
+ */
+public final class LengthSort {
+
+    /** Below this many rows the sort runs on the calling thread. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    private LengthSort() { }
+
+    // ===== Public API =====
+    /** Sort lengths in place by physical magnitude (stable). */
+    public static void sort(Length[] lengths) {
+        if (lengths == null) throw new IllegalArgumentException("Lengths cannot be null");
+        int n = lengths.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            Length l = lengths[i];
+            if (l == null) throw new IllegalArgumentException("Length cannot be null at index " + i);
+            keys[i] = sortable(l.getUnit().toInches(l.getValue()));
+        }
+        int[] order = sortedOrder(keys);
+        Length[] copy = lengths.clone();
+        for (int i = 0; i < n; i++) lengths[i] = copy[order[i]];
+    }
+
+    /** Sort a value/unit column pair in place by physical magnitude (stable); units are LengthUnit ordinals. */
+    public static void sort(double[] values, byte[] units) {
+        int[] order = order(values, units);
+        double[] v = values.clone();
+        byte[] u = units.clone();
+        for (int i = 0; i < order.length; i++) {
+            values[i] = v[order[i]];
+            units[i] = u[order[i]];
+        }
+    }
+
+    /** Row indices of a value/unit column pair in ascending physical magnitude; the columns are not touched. */
+    public static int[] order(double[] values, byte[] units) {
+        if (values == null || units == null) throw new IllegalArgumentException("Values and units cannot be null");
+        if (values.length != units.length) throw new IllegalArgumentException("Values and units must have the same length");
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            int u = units[i] & 0xff;
+            if (u >= UNITS.length) throw new IllegalArgumentException("Unknown unit ordinal at index " + i);
+            if (Double.isNaN(values[i]) || Double.isInfinite(values[i]))
+                throw new IllegalArgumentException("Value must be finite at index " + i);
+            keys[i] = sortable(UNITS[u].toInches(values[i]));
+        }
+        return sortedOrder(keys);
+    }
+
+    /** Sort the first {@code n} inch keys ascending, carrying {@code ids} along (used by LengthIndex). */
+    static void sortKeys(double[] inches, int[] ids, int n) {
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) keys[i] = sortable(inches[i]);
+        int[] order = sortedOrder(keys);
+        int[] d = new int[n];
+        for (int i = 0; i < n; i++) {
+            inches[i] = unsortable(keys[i]);
+            d[i] = ids[order[i]];
+        }
+        System.arraycopy(d, 0, ids, 0, n);
+    }
+
+    // ===== Keys =====
+    // Flip the sign bit of positives and every bit of negatives: signed long order then matches
+    // Double.compare (including -0.0 before 0.0)
+    private static long sortable(double d) {
+        long b = Double.doubleToRawLongBits(d);
+        return b ^ ((b >> 63) & Long.MAX_VALUE);
+    }
+
+    private static double unsortable(long k) {
+        return Double.longBitsToDouble(k ^ ((k >> 63) & Long.MAX_VALUE));
+    }
+
+    // Sorts keys in place; returns the original index of each sorted key
+    private static int[] sortedOrder(long[] keys) {
+        int n = keys.length;
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) idx[i] = i;
+        long[] tmpKeys = new long[n];
+        int[] tmpIdx = new int[n];
+        if (n <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            radix(keys, idx, tmpKeys, tmpIdx, 0, n);
+        } else {
+            int leaf = Math.max(PARALLEL_THRESHOLD / 4, n / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            ForkJoinPool.commonPool().invoke(new SortTask(keys, idx, tmpKeys, tmpIdx, 0, n, leaf));
+        }
+        return idx;
+    }
+
+    // ===== Radix =====
+    // Stable LSD radix sort of k[lo, hi) (signed order) with idx along; result ends in k/idx
+    private static void radix(long[] k, int[] idx, long[] tk, int[] ti, int lo, int hi) {
+        int n = hi - lo;
+        if (n < 2) return;
+        int[][] counts = new int[8][256];
+        for (int i = lo; i < hi; i++) {
+            long key = k[i] ^ Long.MIN_VALUE; // unsigned view so byte 7 orders negatives first
+            for (int b = 0; b < 8; b++) counts[b][(int) (key >>> (b << 3)) & 0xff]++;
+        }
+        long[] sk = k, dk = tk;
+        int[] si = idx, di = ti;
+        for (int b = 0; b < 8; b++) {
+            int[] c = counts[b];
+            int shift = b << 3;
+            if (c[(int) ((sk[lo] ^ Long.MIN_VALUE) >>> shift) & 0xff] == n) continue; // byte constant
+            int sum = lo;
+            for (int j = 0; j < 256; j++) {
+                int t = c[j];
+                c[j] = sum;
+                sum += t;
+            }
+            for (int i = lo; i < hi; i++) {
+                long key = sk[i];
+                int pos = c[(int) ((key ^ Long.MIN_VALUE) >>> shift) & 0xff]++;
+                dk[pos] = key;
+                di[pos] = si[i];
+            }
+            long[] swapK = sk; sk = dk; dk = swapK;
+            int[] swapI = si; si = di; di = swapI;
+        }
+        if (sk != k) {
+            System.arraycopy(sk, lo, k, lo, n);
+            System.arraycopy(si, lo, idx, lo, n);
+        }
+    }
+
+    // ===== Parallel split / merge =====
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] k, tk;
+        private final int[] idx, ti;
+        private final int lo, hi, leaf;
+
+        SortTask(long[] k, int[] idx, long[] tk, int[] ti, int lo, int hi, int leaf) {
+            this.k = k; this.idx = idx; this.tk = tk; this.ti = ti;
+            this.lo = lo; this.hi = hi; this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= leaf) {
+                radix(k, idx, tk, ti, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(k, idx, tk, ti, lo, mid, leaf), new SortTask(k, idx, tk, ti, mid, hi, leaf));
+            merge(mid);
+        }
+
+        // Stable merge of [lo, mid) and [mid, hi) through the scratch arrays
+        private void merge(int mid) {
+            if (k[mid - 1] <= k[mid]) return; // already in order
+            int i = lo, j = mid, o = lo;
+            while (i < mid && j < hi) {
+                if (k[j] < k[i]) { tk[o] = k[j]; ti[o++] = idx[j++]; }
+                else { tk[o] = k[i]; ti[o++] = idx[i++]; }
+            }
+            while (i < mid) { tk[o] = k[i]; ti[o++] = idx[i++]; }
+            while (j < hi) { tk[o] = k[j]; ti[o++] = idx[j++]; }
+            System.arraycopy(tk, lo, k, lo, hi - lo);
+            System.arraycopy(ti, lo, idx, lo, hi - lo);
+        }
+    }
+}
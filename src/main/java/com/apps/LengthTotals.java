@@ -0,0 +1,231 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LengthTotals
+ *
+ * Concurrent running totals of lengths keyed by stream/sensor, built for many writer threads.
+ *
+ * Notes:
+ * - Each key owns a set of striped cells (like LongAdder). A writer quantizes its value to nano-inches
+ *   ({@link FixedLength#quantize}) and adds it to its thread's stripe with a CAS, moving to another
+ *   stripe on contention. No locks are taken and nothing is allocated per add once a key exists.
+ * - Integer accumulation is exact and order independent, so there is no rounding drift between
+ *   stripes, and a read sees every add either fully or not at all.
+ * - {@link #drain} resets while reading (a CAS to zero per stripe): each add lands in exactly one period.
+ * - {@link #remove} takes the key out of the map and then seals each stripe with a tombstone. An add
+ *   that raced with it either landed before the seal (and is in the returned total) or sees the
+ *   tombstone and retries on the key's new cells, so no add is lost.
+ * - snapshot/drain are consistent per key. {@link #consistentSnapshot} is consistent across keys without
+ *   blocking writers: each add and remove bumps a started and a finished counter on its thread's stripe,
+ *   and the snapshot reads all totals between two collections of those counters, retrying if any write
+ *   was in flight or started meanwhile. Writers never wait; under a sustained write load the snapshot
+ *   may retry many times.
+ * - Each stripe holds about +/- 9.2e9 inches; an add that would overflow its stripe moves on to the
+ *   next, and only an add that fits in no stripe is rejected with IllegalArgumentException.
+ * - Stripes are combined exactly ({@link NanoInchSum}), so totals never saturate; only
+ *   {@link #nanoInches} throws ArithmeticException if a total exceeds a long of nano-inches.
+ * - Totals are reported in any LengthUnit, rounded by the current RoundingPolicy (2 decimals half-up by
+ *   default) like Length.add.
+ */
+public final class LengthTotals<K> {
+
+    // Longs per stripe: one used, the rest pad the stripe to its own cache line
+    private static final int PAD = 8;
+    // Stripe value of a removed key's cells; never a valid total (adds reaching it are rejected)
+    private static final long TOMBSTONE = Long.MIN_VALUE;
+
+    private final int stripes;
+    private final ConcurrentHashMap<K, AtomicLongArray> cells = new ConcurrentHashMap<>();
+    // Per stripe, padded like the cells: writes started (slot 0) and finished (slot 1)
+    private final AtomicLongArray versions;
+
+    public LengthTotals() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public LengthTotals(int stripes) {
+        if (stripes <= 0) throw new IllegalArgumentException("Stripes must be positive");
+        int capped = Math.min(stripes, 1 << 10); // round up below the cap, so it stays a power of two
+        this.stripes = capped == 1 ? 1 : Integer.highestOneBit(capped - 1) << 1;
+        this.versions = new AtomicLongArray(this.stripes * PAD);
+    }
+
+    // ===== Writes =====
+    public void add(K key, double value, LengthUnit unit) {
+        if (key == null) throw new IllegalArgumentException("Key cannot be null");
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        addDelta(key, FixedLength.quantize(unit.toInches(value)));
+    }
+
+    public void add(K key, Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        add(key, length.getValue(), length.getUnit());
+    }
+
+    // Exact restore of a total in nano-inches (used by LengthLog recovery)
+    void addNanoInches(K key, long delta) {
+        addDelta(key, delta);
+    }
+
+    private void addDelta(K key, long delta) {
+        int h = threadHash();
+        int ver = (h & (stripes - 1)) * PAD;
+        versions.getAndIncrement(ver);
+        try {
+            while (true) {
+                AtomicLongArray c = cells.get(key);
+                if (c == null) c = cells.computeIfAbsent(key, k -> new AtomicLongArray(stripes * PAD));
+                if (addTo(c, key, delta, h)) return;
+                // c was removed (and is no longer mapped): retry on the key's new cells
+            }
+        } finally {
+            versions.getAndIncrement(ver + 1);
+        }
+    }
+
+    // False if c has been sealed by remove(...). A full stripe passes the add on to the next one
+    private boolean addTo(AtomicLongArray c, K key, long delta, int h) {
+        int full = 0;
+        for (int attempt = 0; ; attempt++) {
+            int slot = ((h + attempt) & (stripes - 1)) * PAD;
+            long current = c.get(slot);
+            if (current == TOMBSTONE) return false;
+            long next = current + delta;
+            if (((current ^ next) & (delta ^ next)) < 0 || next == TOMBSTONE) {
+                if (++full == stripes)
+                    throw new IllegalArgumentException("Total for " + key + " out of range; drain more often");
+                continue;
+            }
+            if (c.compareAndSet(slot, current, next)) return true;
+        }
+    }
+
+    private static int threadHash() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40);
+    }
+
+    // ===== Reads =====
+    /** Current total for {@code key} in nano-inches (0 for an unknown key); ArithmeticException beyond a long. */
+    public long nanoInches(K key) {
+        AtomicLongArray c = cells.get(key);
+        return c == null ? 0L : sum(c, false).nanoInches();
+    }
+
+    /**
+     * Current total for {@code key} in {@code unit}, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default).
+     */
+    public Length get(K key, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        AtomicLongArray c = cells.get(key);
+        return (c == null ? new NanoInchSum() : sum(c, false)).toLength(unit);
+    }
+
+    /** Totals of all keys in {@code unit}, without resetting; each key is read at a different instant. */
+    public Map<K, Length> snapshot(LengthUnit unit) {
+        return collect(unit, false);
+    }
+
+    /** Totals of all keys in {@code unit} as of one instant, retried until no write overlaps the read. */
+    public Map<K, Length> consistentSnapshot(LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        long[] started = new long[stripes];
+        while (true) {
+            if (!quiescent(started)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Map<K, Length> out = collect(unit, false);
+            if (unchanged(started)) return out;
+        }
+    }
+
+    /** Totals of all keys in {@code unit}, resetting each to zero as it is read. */
+    public Map<K, Length> drain(LengthUnit unit) {
+        return collect(unit, true);
+    }
+
+    /** Stop tracking {@code key}; returns its final total (null for an unknown key). */
+    public Length remove(K key, LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        int ver = (threadHash() & (stripes - 1)) * PAD;
+        versions.getAndIncrement(ver);
+        try {
+            AtomicLongArray c = cells.remove(key);
+            if (c == null) return null;
+            NanoInchSum total = new NanoInchSum();
+            for (int i = 0; i < stripes; i++) {
+                long v = c.getAndSet(i * PAD, TOMBSTONE);
+                if (v != TOMBSTONE) total.addNanoInches(v);
+            }
+            return total.toLength(unit);
+        } finally {
+            versions.getAndIncrement(ver + 1);
+        }
+    }
+
+    public int size() { return cells.size(); }
+
+    // Stripes per key after rounding up to a power of two and capping
+    int stripes() { return stripes; }
+
+    // Exact totals of all keys in nano-inches (used by LengthLog snapshots)
+    Map<K, Long> nanoSnapshot() {
+        Map<K, Long> out = new LinkedHashMap<>();
+        for (Map.Entry<K, AtomicLongArray> e : cells.entrySet()) {
+            out.put(e.getKey(), sum(e.getValue(), false).nanoInches());
+        }
+        return out;
+    }
+
+    // Records each stripe's started count; true if every write started so far has finished
+    private boolean quiescent(long[] started) {
+        for (int i = 0; i < stripes; i++) started[i] = versions.get(i * PAD);
+        for (int i = 0; i < stripes; i++) {
+            if (versions.get(i * PAD + 1) != started[i]) return false;
+        }
+        return true;
+    }
+
+    // True if no write has started since quiescent(started)
+    private boolean unchanged(long[] started) {
+        for (int i = 0; i < stripes; i++) {
+            if (versions.get(i * PAD) != started[i]) return false;
+        }
+        return true;
+    }
+
+    private Map<K, Length> collect(LengthUnit unit, boolean reset) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        Map<K, Length> out = new LinkedHashMap<>();
+        for (Map.Entry<K, AtomicLongArray> e : cells.entrySet()) {
+            out.put(e.getKey(), sum(e.getValue(), reset).toLength(unit));
+        }
+        return out;
+    }
+
+    // Exact sum of the stripes; a sealed (removed) stripe counts as zero and is never reset
+    private NanoInchSum sum(AtomicLongArray c, boolean reset) {
+        NanoInchSum total = new NanoInchSum();
+        for (int i = 0; i < stripes; i++) {
+            int slot = i * PAD;
+            long v = c.get(slot);
+            if (reset) {
+                while (v != TOMBSTONE && !c.compareAndSet(slot, v, 0L)) v = c.get(slot);
+            }
+            if (v != TOMBSTONE) total.addNanoInches(v);
+        }
+        return total;
+    }
+}
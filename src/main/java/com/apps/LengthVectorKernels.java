@@ -0,0 +1,116 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * LengthVectorKernels
+ *
+ * Vector API (jdk.incubator.vector) bodies of the {@link LengthKernels} loops, used only when the
+ * module is in the boot layer (run with --add-modules jdk.incubator.vector).
+ *
+ * Notes:
+ * - Each method covers the first {@code m} elements, a multiple of {@link #STEP}; LengthKernels runs
+ *   the tail and keeps the argument checks, the error messages and the rounding.
+ * - A step loads 8 unit bytes and widens them to doubles one block of the preferred double species
+ *   at a time. A lane's factor is picked with one compare and blend per LengthUnit, starting from NaN,
+ *   so an unknown ordinal poisons the probe exactly as the 256-entry table does in the scalar loop.
+ * - Lanes do the same IEEE multiplies, adds and divides as the scalar loops, in the same order and
+ *   without FMA, so results are bit-identical to them.
+ */
+final class LengthVectorKernels {
+
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> B = ByteVector.SPECIES_64;
+
+    /** Elements per step: one 64-bit load of unit bytes. */
+    static final int STEP = B.length();
+
+    private static final int LANES = D.length();
+    private static final int PARTS = STEP / LANES;   // double blocks per step (LANES is at most 8)
+
+    private static final double[] FACTORS;
+    private static final DoubleVector NAN = DoubleVector.broadcast(D, Double.NaN);
+
+    static {
+        LengthUnit[] units = LengthUnit.values();
+        FACTORS = new double[units.length];
+        for (LengthUnit u : units) FACTORS[u.ordinal()] = u.toInches(1.0);
+    }
+
+    private LengthVectorKernels() { }
+
+    /** Largest multiple of STEP not above {@code n}. */
+    static int bulk(int n) {
+        return n - n % STEP;
+    }
+
+    // Factor to inches per lane for block {@code part} of the step's unit bytes (NaN for unknown ordinals)
+    private static DoubleVector factors(ByteVector units, int part) {
+        DoubleVector ord = (DoubleVector) units.convertShape(VectorOperators.B2D, D, part);
+        DoubleVector k = NAN;
+        for (int u = 0; u < FACTORS.length; u++) k = k.blend(FACTORS[u], ord.eq(u));
+        return k;
+    }
+
+    /** False if any of the first {@code m} values is not finite or has an unknown unit ordinal. */
+    static boolean valid(double[] values, byte[] units, int m) {
+        DoubleVector probe = DoubleVector.zero(D);
+        for (int i = 0; i < m; i += STEP) {
+            ByteVector u = ByteVector.fromArray(B, units, i);
+            for (int p = 0; p < PARTS; p++) {
+                DoubleVector v = DoubleVector.fromArray(D, values, i + p * LANES);
+                probe = probe.add(v.add(factors(u, p)).mul(0.0));
+            }
+        }
+        return probe.reduceLanes(VectorOperators.ADD) == 0.0;
+    }
+
+    /** out[i] = values[i] * factor(units[i]) / kt, unrounded. */
+    static void convert(double[] values, byte[] units, double kt, double[] out, int m) {
+        for (int i = 0; i < m; i += STEP) {
+            ByteVector u = ByteVector.fromArray(B, units, i);
+            for (int p = 0; p < PARTS; p++) {
+                int o = i + p * LANES;
+                DoubleVector.fromArray(D, values, o).mul(factors(u, p)).div(kt).intoArray(out, o);
+            }
+        }
+    }
+
+    /** out[i] = (v1[i] * factor(u1[i]) + v2[i] * factor(u2[i])) / kt, unrounded. */
+    static void add(double[] v1, byte[] u1, double[] v2, byte[] u2, double kt, double[] out, int m) {
+        for (int i = 0; i < m; i += STEP) {
+            ByteVector ua = ByteVector.fromArray(B, u1, i);
+            ByteVector ub = ByteVector.fromArray(B, u2, i);
+            for (int p = 0; p < PARTS; p++) {
+                int o = i + p * LANES;
+                DoubleVector a = DoubleVector.fromArray(D, v1, o).mul(factors(ua, p));
+                DoubleVector b = DoubleVector.fromArray(D, v2, o).mul(factors(ub, p));
+                a.add(b).div(kt).intoArray(out, o);
+            }
+        }
+    }
+
+    /** out[i] = |v1[i] * factor(u1[i]) - v2[i] * factor(u2[i])| &lt; EPS; returns the number of matches. */
+    static int compare(double[] v1, byte[] u1, double[] v2, byte[] u2, boolean[] out, int m) {
+        int matches = 0;
+        for (int i = 0; i < m; i += STEP) {
+            ByteVector ua = ByteVector.fromArray(B, u1, i);
+            ByteVector ub = ByteVector.fromArray(B, u2, i);
+            for (int p = 0; p < PARTS; p++) {
+                int o = i + p * LANES;
+                DoubleVector a = DoubleVector.fromArray(D, v1, o).mul(factors(ua, p));
+                DoubleVector b = DoubleVector.fromArray(D, v2, o).mul(factors(ub, p));
+                VectorMask<Double> eq = a.sub(b).abs().lt(Length.EPS);
+                eq.intoArray(out, o);
+                matches += eq.trueCount();
+            }
+        }
+        return matches;
+    }
+}
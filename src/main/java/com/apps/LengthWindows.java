@@ -0,0 +1,276 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.Arrays;
+
+/**
+ * LengthWindows
+ *
+ * Incremental tumbling and sliding window aggregation (count, sum, min, max) over timestamped lengths,
+ * e.g. per-minute sums in centimeters from a stream of (timestamp, value, unit) events.
+ *
+ * <pre>
+ *   LengthWindows perMinute = LengthWindows.sliding(60_000, 10_000, 5_000, LengthUnit.CENTIMETERS,
+ *           w -&gt; dashboard.update(w.start(), w.sum(), w.max()));
+ *   perMinute.add(event.millis(), event.value(), event.unit());
+ * </pre>
+ *
+ * Notes:
+ * - Windows are [start, start + size) with start a multiple of slide (tumbling: slide == size). Time is
+ *   whatever the caller's timestamps are (millis, nanos, ...).
+ * - Each event updates exactly one pane of gcd(size, slide) time units, which keeps count, a compensated
+ *   sum, min and max in base inches. A window result combines its size / pane partial aggregates; raw
+ *   events are never stored or re-scanned.
+ * - Out of order: the watermark is the largest timestamp seen minus {@code allowedLateness}. Events
+ *   older than the watermark are dropped (see {@link #dropped()}). A window is emitted, once, in start
+ *   order, when the watermark reaches its end. Windows with no events are not emitted.
+ * - Memory is a fixed ring of (size + allowedLateness) / pane + 2 panes, independent of the event rate.
+ * - Results are converted to the chosen unit and rounded by the current RoundingPolicy (2 decimals
+ *   half-up by default), like Length.add.
+ * - Not thread-safe.
+ */
+public final class LengthWindows {
+
+    private static final int MAX_PANES = 1 << 24;
+
+    /** Receives each window once it is complete. */
+    public interface WindowListener {
+        void onWindow(Window window);
+    }
+
+    private final long size;
+    private final long slide;
+    private final long pane;
+    private final long lateness;
+    private final LengthUnit unit;
+    private final WindowListener listener;
+
+    // Pane ring: slot = floorMod(paneId, ring length)
+    private final long[] paneIds;
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] comps;   // Neumaier compensation per pane
+    private final double[] mins;
+    private final double[] maxs;
+
+    private boolean started;
+    private long maxTimestamp;
+    private long nextStart;         // start of the first window not yet emitted
+    private long dropped;
+
+    public LengthWindows(long size, long slide, long allowedLateness, LengthUnit unit, WindowListener listener) {
+        if (size <= 0 || slide <= 0) throw new IllegalArgumentException("Window size and slide must be positive");
+        if (slide > size) throw new IllegalArgumentException("Slide cannot exceed the window size");
+        if (allowedLateness < 0) throw new IllegalArgumentException("Allowed lateness cannot be negative");
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        this.size = size;
+        this.slide = slide;
+        this.pane = gcd(size, slide);
+        this.lateness = allowedLateness;
+        this.unit = unit;
+        this.listener = listener;
+        long ring = (size + allowedLateness + pane - 1) / pane + 2;
+        if (ring > MAX_PANES) throw new IllegalArgumentException("Too many panes: " + ring + " (max " + MAX_PANES + ")");
+        int n = (int) ring;
+        paneIds = new long[n];
+        counts = new long[n];
+        sums = new double[n];
+        comps = new double[n];
+        mins = new double[n];
+        maxs = new double[n];
+        Arrays.fill(paneIds, Long.MIN_VALUE);
+    }
+
+    public static LengthWindows tumbling(long size, long allowedLateness, LengthUnit unit, WindowListener listener) {
+        return new LengthWindows(size, size, allowedLateness, unit, listener);
+    }
+
+    public static LengthWindows sliding(long size, long slide, long allowedLateness, LengthUnit unit,
+                                        WindowListener listener) {
+        return new LengthWindows(size, slide, allowedLateness, unit, listener);
+    }
+
+    // ===== Ingest =====
+    /** Add one event; returns false if it was older than the watermark and dropped. */
+    public boolean add(long timestamp, double value, LengthUnit valueUnit) {
+        if (valueUnit == null) throw new IllegalArgumentException("Unit cannot be null");
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new IllegalArgumentException("Value must be finite");
+        if (!started) {
+            started = true;
+            maxTimestamp = timestamp;
+            nextStart = firstStartEndingAfter(watermark());
+        } else if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+            emitUpTo(watermark());
+        } else if (timestamp < watermark()) {
+            dropped++;
+            return false;
+        }
+        addToPane(Math.floorDiv(timestamp, pane), valueUnit.toInches(value));
+        return true;
+    }
+
+    public boolean add(long timestamp, Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        return add(timestamp, length.getValue(), length.getUnit());
+    }
+
+    /** Emit every remaining window that has events (end of stream); later events start afresh. */
+    public void flush() {
+        if (!started) return;
+        emitUpTo(maxTimestamp > Long.MAX_VALUE - size ? Long.MAX_VALUE - size : maxTimestamp + size);
+        Arrays.fill(paneIds, Long.MIN_VALUE);
+        started = false;
+    }
+
+    // ===== Queries =====
+    /** Largest timestamp seen minus the allowed lateness; Long.MIN_VALUE before the first event. */
+    public long watermark() {
+        return started ? saturatingSubtract(maxTimestamp, lateness) : Long.MIN_VALUE;
+    }
+
+    /** Events rejected as too late. */
+    public long dropped() { return dropped; }
+
+    /** Aggregate so far of the not yet emitted window starting at {@code start}, or null if it has no events. */
+    public Window peek(long start) {
+        if (Math.floorMod(start, slide) != 0) throw new IllegalArgumentException("Window start must be a multiple of the slide");
+        if (!started || start < nextStart) return null;
+        return aggregate(start);
+    }
+
+    // ===== Panes =====
+    private void addToPane(long paneId, double inches) {
+        int s = slot(paneId);
+        if (paneIds[s] != paneId) { // slot's previous pane is older than every open window
+            paneIds[s] = paneId;
+            counts[s] = 0;
+            sums[s] = 0.0;
+            comps[s] = 0.0;
+            mins[s] = Double.POSITIVE_INFINITY;
+            maxs[s] = Double.NEGATIVE_INFINITY;
+        }
+        counts[s]++;
+        double t = sums[s] + inches;
+        comps[s] += Math.abs(sums[s]) >= Math.abs(inches) ? (sums[s] - t) + inches : (inches - t) + sums[s];
+        sums[s] = t;
+        if (inches < mins[s]) mins[s] = inches;
+        if (inches > maxs[s]) maxs[s] = inches;
+    }
+
+    private int slot(long paneId) {
+        return (int) Math.floorMod(paneId, (long) paneIds.length);
+    }
+
+    // ===== Emission =====
+    // Emit, in start order, every window ending at or before the watermark. An empty window jumps ahead
+    // to the first window holding the next live pane, but never past the first window still open
+    private void emitUpTo(long watermark) {
+        while (nextStart <= saturatingSubtract(watermark, size)) {
+            Window w = aggregate(nextStart);
+            if (w != null) {
+                listener.onWindow(w);
+                nextStart += slide;
+                continue;
+            }
+            long earliest = earliestPaneFrom(nextStart);
+            nextStart = Math.max(nextStart + slide, firstStartEndingAfter(Math.min(earliest, watermark)));
+        }
+    }
+
+    // Combine the panes of [start, start + size); null if none of them has events
+    private Window aggregate(long start) {
+        long first = Math.floorDiv(start, pane);
+        long last = first + size / pane;
+        long count = 0;
+        double sum = 0.0, comp = 0.0;
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (long p = first; p < last; p++) {
+            int s = slot(p);
+            if (paneIds[s] != p) continue;
+            count += counts[s];
+            double part = sums[s];
+            double t = sum + part;
+            comp += Math.abs(sum) >= Math.abs(part) ? (sum - t) + part : (part - t) + sum;
+            sum = t;
+            comp += comps[s];
+            if (mins[s] < min) min = mins[s];
+            if (maxs[s] > max) max = maxs[s];
+        }
+        if (count == 0) return null;
+        return new Window(start, start + size, count, toUnit(sum + comp), toUnit(min), toUnit(max));
+    }
+
+    // Start time of the earliest live pane at or after {@code from}, or Long.MAX_VALUE
+    private long earliestPaneFrom(long from) {
+        long firstId = Math.floorDiv(from, pane);
+        long best = Long.MAX_VALUE;
+        for (int s = 0; s < paneIds.length; s++) {
+            long id = paneIds[s];
+            if (id != Long.MIN_VALUE && id >= firstId && counts[s] > 0 && id < best) best = id;
+        }
+        return best == Long.MAX_VALUE ? best : best * pane;
+    }
+
+    // Smallest window start (multiple of slide) whose window ends after t
+    private long firstStartEndingAfter(long t) {
+        return (Math.floorDiv(saturatingSubtract(t, size), slide) + 1) * slide;
+    }
+
+    private Length toUnit(double inches) {
+        return new Length(Length.convertUnmetered(inches, LengthUnit.INCHES, unit, RoundingPolicy.current()), unit);
+    }
+
+    private static long saturatingSubtract(long a, long b) {
+        long r = a - b;
+        return ((a ^ b) & (a ^ r)) < 0 ? Long.MIN_VALUE : r;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // ===== Window =====
+    /**
+     * Aggregate of one window; sum/min/max are in the engine's unit, rounded by the current
+     * RoundingPolicy (2 decimals half-up by default).
+     */
+    public static final class Window {
+        private final long start;
+        private final long end;
+        private final long count;
+        private final Length sum;
+        private final Length min;
+        private final Length max;
+
+        Window(long start, long end, long count, Length sum, Length min, Length max) {
+            this.start = start;
+            this.end = end;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        public long start() { return start; }
+        public long end() { return end; }
+        public long count() { return count; }
+        public Length sum() { return sum; }
+        public Length min() { return min; }
+        public Length max() { return max; }
+
+        @Override
+        public String toString() {
+            return "Window[" + start + ", " + end + ") count=" + count + " sum=" + sum + " min=" + min + " max=" + max;
+        }
+    }
+}
@@ -1,17 +1,104 @@
 package com.apps;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Command-line entry point for bulk conversion (see {@link ConversionPipeline}).
+ *
+ * Usage: java com.apps.Main (convert|sum) INPUT --to UNIT [--out FILE] [--threads N] [--chunk-mb N]
+ * - convert: writes every line of INPUT converted to UNIT (stdout unless --out is given)
+ * - sum:     prints the total of all lines in UNIT
+ * --chunk-mb is the chunk size in MiB, from 1 to 1024 (ConversionPipeline.MAX_CHUNK_SIZE).
+ * A throughput summary is printed to stderr at the end.
+ */
 public class Main {
+
+    private static final String USAGE =
+            "Usage: java com.apps.Main (convert|sum) INPUT --to UNIT [--out FILE] [--threads N] [--chunk-mb N]";
+
+    static final int MAX_CHUNK_MB = ConversionPipeline.MAX_CHUNK_SIZE >> 20;
+
     public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
-
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    static int run(String[] args) throws IOException {
+        if (args.length < 2) throw new IllegalArgumentException("Missing command or input file");
+        String command = args[0];
+        Path input = Paths.get(args[1]);
+        LengthUnit target = null;
+        Path output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = ConversionPipeline.DEFAULT_CHUNK_SIZE;
+
+        for (int i = 2; i < args.length; i++) {
+            String opt = args[i];
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + opt);
+            String val = args[++i];
+            switch (opt) {
+                case "--to":
+                    target = LengthParser.parseUnit(val);
+                    if (target == null) throw new IllegalArgumentException("Unknown unit: " + val);
+                    break;
+                case "--out": output = Paths.get(val); break;
+                case "--threads": threads = (int) parsePositive(opt, val, Integer.MAX_VALUE); break;
+                case "--chunk-mb": chunkSize = (int) parsePositive(opt, val, MAX_CHUNK_MB) << 20; break;
+                default: throw new IllegalArgumentException("Unknown option: " + opt);
+            }
+        }
+        if (target == null) throw new IllegalArgumentException("--to UNIT is required");
+
+        ConversionPipeline pipeline = new ConversionPipeline(target, threads, chunkSize);
+        ConversionPipeline.Summary summary;
+        switch (command) {
+            case "convert":
+                if (output == null) {
+                    WritableByteChannel out = Channels.newChannel(System.out);
+                    summary = pipeline.convert(input, out);
+                    System.out.flush();
+                } else {
+                    try (WritableByteChannel out = FileChannel.open(output,
+                            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                        summary = pipeline.convert(input, out);
+                    }
+                }
+                break;
+            case "sum":
+                summary = pipeline.sum(input);
+                System.out.println(summary.getTotal());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+        System.err.println(summary);
+        return 0;
+    }
+
+    private static long parsePositive(String opt, String val, long max) {
+        try {
+            long n = Long.parseLong(val);
+            if (n <= 0) throw new IllegalArgumentException(opt + " must be positive");
+            if (n > max) throw new IllegalArgumentException(opt + " must be at most " + max);
+            return n;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(opt + " expects an integer: " + val);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+/**
+ * NanoInchSum
+ *
+ * Exact running sum of lengths as a count of nano-inches, for reductions whose result must not depend
+ * on how the input was split (parallel streams, fork-join).
+ *
+ * Notes:
+ * - Each value is quantized once to nano-inches ({@link FixedLength#quantize}), as LengthTotals does,
+ *   and added to a 128-bit integer (two longs). Integer addition is associative, so any split and merge
+ *   order gives the same total, bit for bit, as one sequential pass.
+ * - A single value must be within about +/- 9.2e9 inches; the total itself cannot overflow in practice.
+ * - Not thread-safe: one instance per task or stream segment, then {@link #merge}.
+ */
+final class NanoInchSum {
+
+    private static final double TWO_64 = 0x1p64;
+
+    private long hi;   // high 64 bits of the two's complement total
+    private long lo;   // low 64 bits (unsigned)
+    private long count;
+
+    /** Add a value in inches; throws IllegalArgumentException if it is outside the fixed-point range. */
+    void addInches(double inches) {
+        addNanoInches(FixedLength.quantize(inches));
+        count++;
+    }
+
+    void add(Length length) {
+        if (length == null) throw new IllegalArgumentException("Length cannot be null");
+        addInches(length.getUnit().toInches(length.getValue()));
+    }
+
+    NanoInchSum merge(NanoInchSum other) {
+        long s = lo + other.lo;
+        hi += other.hi + (Long.compareUnsigned(s, lo) < 0 ? 1 : 0);
+        lo = s;
+        count += other.count;
+        return this;
+    }
+
+    /** Add an already quantized amount (not counted as a value). */
+    void addNanoInches(long v) {
+        // Sign-extend v to 128 bits and add with carry
+        long s = lo + v;
+        hi += (v >> 63) + (Long.compareUnsigned(s, lo) < 0 ? 1 : 0);
+        lo = s;
+    }
+
+    long count() { return count; }
+
+    /** Total in nano-inches; throws ArithmeticException if it does not fit in a long. */
+    long nanoInches() {
+        if (hi != (lo >> 63)) throw new ArithmeticException("Total exceeds the range of a long of nano-inches");
+        return lo;
+    }
+
+    /** Total in inches (exact while it fits in a long of nano-inches, else the nearest double). */
+    double inches() {
+        if (hi == (lo >> 63)) return (double) lo / FixedLength.QUANTA_PER_INCH;
+        double unsignedLo = (double) (lo >>> 1) * 2.0 + (lo & 1);
+        return (hi * TWO_64 + unsignedLo) / FixedLength.QUANTA_PER_INCH;
+    }
+
+    /** Total in {@code unit}, rounded like Length.convert. */
+    Length toLength(LengthUnit unit) {
+        return new Length(Length.convertUnmetered(inches(), LengthUnit.INCHES, unit, RoundingPolicy.current()), unit);
+    }
+}
@@ -0,0 +1,191 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelLengthReducer
+ *
+ * Fork-join reductions (sum, min, max, average) over primitive columns of lengths:
+ * a {@code double[]} of values plus either one shared unit or a {@code byte[]} of LengthUnit ordinals.
+ *
+ * Notes:
+ * - Ranges are split in half until they are at most {@link #THRESHOLD} elements; each leaf sums exact
+ *   nano-inches (see {@link NanoInchSum}) and the partial results are merged with integer adds.
+ * - Integer sums are associative, so sum and average are bit-identical to a sequential pass over the
+ *   same values, for any pool size or split. Results are rounded by the current
+ *   RoundingPolicy (2 decimals half-up by default) in the target unit.
+ * - Each value must be within about +/- 9.2e9 inches (the nano-inch range); others are rejected.
+ * - min/max/average of an empty column throw IllegalArgumentException; sum of an empty column is 0.
+ * - Runs in the common ForkJoinPool unless a pool is supplied.
+ */
+public final class ParallelLengthReducer {
+
+    /** Leaf size below which a range is reduced sequentially. */
+    public static final int THRESHOLD = 1 << 14;
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+    private static final double FIXED_RANGE = Long.MAX_VALUE / (double) FixedLength.QUANTA_PER_INCH;
+
+    private final ForkJoinPool pool;
+
+    public ParallelLengthReducer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelLengthReducer(ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        this.pool = pool;
+    }
+
+    // ===== Single-unit columns =====
+    public Length sum(double[] values, LengthUnit unit, LengthUnit target) {
+        return stats(values, null, requireUnit(unit)).sum(requireUnit(target));
+    }
+
+    public Length min(double[] values, LengthUnit unit, LengthUnit target) {
+        return stats(values, null, requireUnit(unit)).min(requireUnit(target));
+    }
+
+    public Length max(double[] values, LengthUnit unit, LengthUnit target) {
+        return stats(values, null, requireUnit(unit)).max(requireUnit(target));
+    }
+
+    public Length average(double[] values, LengthUnit unit, LengthUnit target) {
+        return stats(values, null, requireUnit(unit)).average(requireUnit(target));
+    }
+
+    // ===== Mixed-unit columns (byte[] of LengthUnit ordinals) =====
+    public Length sum(double[] values, byte[] units, LengthUnit target) {
+        return stats(values, requireUnits(values, units), null).sum(requireUnit(target));
+    }
+
+    public Length min(double[] values, byte[] units, LengthUnit target) {
+        return stats(values, requireUnits(values, units), null).min(requireUnit(target));
+    }
+
+    public Length max(double[] values, byte[] units, LengthUnit target) {
+        return stats(values, requireUnits(values, units), null).max(requireUnit(target));
+    }
+
+    public Length average(double[] values, byte[] units, LengthUnit target) {
+        return stats(values, requireUnits(values, units), null).average(requireUnit(target));
+    }
+
+    private Stats stats(double[] values, byte[] units, LengthUnit unit) {
+        if (values == null) throw new IllegalArgumentException("Values cannot be null");
+        return pool.invoke(new ReduceTask(values, units, unit, 0, values.length));
+    }
+
+    // ===== Fork-join task =====
+    private static final class ReduceTask extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] values;
+        private final byte[] units;     // null when all values share 'unit'
+        private final LengthUnit unit;
+        private final int from;
+        private final int to;
+
+        ReduceTask(double[] values, byte[] units, LengthUnit unit, int from, int to) {
+            this.values = values;
+            this.units = units;
+            this.unit = unit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= THRESHOLD) return reduceLeaf();
+            int mid = (from + to) >>> 1;
+            ReduceTask left = new ReduceTask(values, units, unit, from, mid);
+            left.fork();
+            Stats right = new ReduceTask(values, units, unit, mid, to).compute();
+            return left.join().merge(right);
+        }
+
+        private Stats reduceLeaf() {
+            Stats s = new Stats();
+            for (int i = from; i < to; i++) {
+                double v = values[i];
+                if (Double.isNaN(v) || Double.isInfinite(v))
+                    throw new IllegalArgumentException("Value must be finite at index " + i);
+                LengthUnit u = units == null ? unit : unitAt(units, i);
+                double inches = u.toInches(v);
+                if (Math.abs(inches) >= FIXED_RANGE)
+                    throw new IllegalArgumentException("Value out of fixed-point range at index " + i);
+                s.accept(inches);
+            }
+            return s;
+        }
+    }
+
+    // Partial reduction in inches
+    private static final class Stats {
+        private final NanoInchSum sum = new NanoInchSum();
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void accept(double inches) {
+            sum.addInches(inches);
+            if (inches < min) min = inches;
+            if (inches > max) max = inches;
+        }
+
+        Stats merge(Stats other) {
+            sum.merge(other.sum);
+            if (other.min < min) min = other.min;
+            if (other.max > max) max = other.max;
+            return this;
+        }
+
+        Length sum(LengthUnit target) {
+            return sum.toLength(target);
+        }
+
+        Length min(LengthUnit target) {
+            return inTarget(requireNonEmpty().min, target);
+        }
+
+        Length max(LengthUnit target) {
+            return inTarget(requireNonEmpty().max, target);
+        }
+
+        Length average(LengthUnit target) {
+            return inTarget(requireNonEmpty().sum.inches() / sum.count(), target);
+        }
+
+        private Stats requireNonEmpty() {
+            if (sum.count() == 0) throw new IllegalArgumentException("Cannot reduce an empty column");
+            return this;
+        }
+
+        private static Length inTarget(double inches, LengthUnit target) {
+            double value = Length.convertUnmetered(inches, LengthUnit.INCHES, target, RoundingPolicy.current());
+            return new Length(value, target);
+        }
+    }
+
+    private static LengthUnit unitAt(byte[] units, int i) {
+        int ordinal = units[i];
+        if (ordinal < 0 || ordinal >= UNITS.length)
+            throw new IllegalArgumentException("Unknown unit ordinal " + ordinal + " at index " + i);
+        return UNITS[ordinal];
+    }
+
+    private static LengthUnit requireUnit(LengthUnit unit) {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        return unit;
+    }
+
+    private static byte[] requireUnits(double[] values, byte[] units) {
+        if (units == null) throw new IllegalArgumentException("Units cannot be null");
+        if (values != null && units.length != values.length)
+            throw new IllegalArgumentException("Values and units must have the same length");
+        return units;
+    }
+}
@@ -18,22 +18,39 @@ import java.util.Objects;
  * - UC5 adds convertTo(...) (instance) and convert(...) (static) to perform conversions.
  * - UC6 adds add(...) for summing lengths of possibly different units.
  *   Arithmetic normalizes both operands to base, adds, converts to result unit, and rounds to 2 decimals.
+ * - Rounding follows {@link RoundingPolicy#current()} (2 decimals half-up by default); convertTo, convert
+ *   and add also take an explicit RoundingPolicy per call.
+ * - Length is Comparable by physical magnitude; {@link LengthSort} sorts large arrays with a parallel radix sort.
+ * - multiply(...)/divide(...) produce areas, volumes and ratios as {@link DerivedQuantity}.
+ * - LengthUnit factors and symbols are defined once, in the standard {@link UnitRegistry}; conversion
+ *   still goes value * from-factor / to-factor through inches, so results match UC5/UC6 bit for bit.
  */
 public class QuantityMeasurementApp {
 
     // ===== UC3/UC4/UC5/UC6: Unified Length with nested enum =====
-    public static class Length {
+    public static class Length implements Comparable<Length> {
 
         public enum LengthUnit {
-            FEET(12.0),              // 1 ft = 12 in
-            INCHES(1.0),             // base unit
-            YARDS(36.0),             // 1 yd = 3 ft = 36 in
-            CENTIMETERS(1.0 / 2.54); // 1 cm ≈ 0.3937007874 in
+            FEET,        // 1 ft = 12 in
+            INCHES,      // base unit
+            YARDS,       // 1 yd = 3 ft = 36 in
+            CENTIMETERS; // 1 cm ≈ 0.3937007874 in
 
             private final double factorToInches;
+            private final String symbol;
+
+            // Factor and symbol come from the standard registry's length category (id == ordinal)
+            LengthUnit() {
+                UnitRegistry.Unit u = UnitRegistry.standard().category(UnitRegistry.LENGTH).unit(ordinal());
+                if (!u.getName().equals(name()))
+                    throw new IllegalStateException("Length unit id " + ordinal() + " is " + u.getName() + ", not " + name());
+                this.factorToInches = u.getFactorToBase();
+                this.symbol = u.getSymbol();
+            }
 
-            LengthUnit(double factorToInches) {
-                this.factorToInches = factorToInches;
+            /** Short display symbol used by toString (e.g. "ft"). */
+            public String getSymbol() {
+                return symbol;
             }
 
             /** Convert a value in this unit to base unit (inches). */
@@ -45,10 +62,15 @@ public class QuantityMeasurementApp {
             public double fromInches(double inches) {
                 return inches / factorToInches;
             }
+
+            /** Convert a value in this unit to {@code target} through inches (unrounded). */
+            public double convertTo(double value, LengthUnit target) {
+                return target.fromInches(toInches(value));
+            }
         }
 
-        // Tiny tolerance for floating-point equality
-        private static final double EPS = 1e-6;
+        // Tiny tolerance (in inches) for floating-point equality; shared with the index/dedup helpers
+        static final double EPS = 1e-6;
 
         private final double value;
         private final LengthUnit unit;
@@ -70,31 +92,51 @@ public class QuantityMeasurementApp {
         // ===== UC5: Instance conversion (immutability: return a new Length) =====
         /**
          * Convert this Length to the target unit.
-         * Returns a new instance with the numeric value rounded to 2 decimals.
+         * Returns a new instance with the numeric value rounded by the current
+         * RoundingPolicy (2 decimals half-up by default).
          */
         public Length convertTo(LengthUnit targetUnit) {
+            return convertTo(targetUnit, RoundingPolicy.current());
+        }
+
+        /** Convert to the target unit, rounding with {@code policy} instead of the current policy. */
+        public Length convertTo(LengthUnit targetUnit, RoundingPolicy policy) {
+            if (LengthMetrics.enabled) return LengthMetrics.convertTo(this, targetUnit, policy);
+            return convertToUnmetered(targetUnit, policy);
+        }
+
+        // Uninstrumented bodies below are wrapped by LengthMetrics when metrics are enabled
+        Length convertToUnmetered(LengthUnit targetUnit, RoundingPolicy policy) {
             if (targetUnit == null) throw new IllegalArgumentException("Target unit cannot be null");
+            if (policy == null) throw new IllegalArgumentException("Rounding policy cannot be null");
             if (targetUnit == this.unit) return this; // micro-optimization
 
-            double baseInches = this.toBase();
-            double converted = targetUnit.fromInches(baseInches);
-            double rounded = round(converted, 2);
-            return new Length(rounded, targetUnit);
+            double converted = this.unit.convertTo(this.value, targetUnit);
+            return new Length(policy.apply(converted), targetUnit);
         }
 
         // ===== UC5: Static utility conversion =====
         /**
          * Convert raw numeric value from one unit to another.
-         * Returns only the numeric result (rounded to 2 decimals).
+         * Returns only the numeric result, rounded by the current RoundingPolicy (2 decimals half-up by default).
          */
         public static double convert(double value, LengthUnit from, LengthUnit to) {
+            return convert(value, from, to, RoundingPolicy.current());
+        }
+
+        /** Convert a raw value, rounding with {@code policy} instead of the current policy. */
+        public static double convert(double value, LengthUnit from, LengthUnit to, RoundingPolicy policy) {
+            if (LengthMetrics.enabled) return LengthMetrics.convert(value, from, to, policy);
+            return convertUnmetered(value, from, to, policy);
+        }
+
+        static double convertUnmetered(double value, LengthUnit from, LengthUnit to, RoundingPolicy policy) {
             if (from == null || to == null) throw new IllegalArgumentException("Units cannot be null");
+            if (policy == null) throw new IllegalArgumentException("Rounding policy cannot be null");
             if (Double.isNaN(value) || Double.isInfinite(value))
                 throw new IllegalArgumentException("Value must be finite");
 
-            double base = from.toInches(value);
-            double converted = to.fromInches(base);
-            return round(converted, 2);
+            return policy.apply(from.convertTo(value, to));
         }
 
         // ===== UC6: Addition APIs =====
@@ -104,33 +146,72 @@ public class QuantityMeasurementApp {
          * Immutability: returns a new Length.
          */
         public Length add(Length that) {
+            return add(that, RoundingPolicy.current());
+        }
+
+        /** Add another Length, rounding with {@code policy} instead of the current policy. */
+        public Length add(Length that, RoundingPolicy policy) {
+            if (LengthMetrics.enabled) return LengthMetrics.add(this, that, policy);
+            return addUnmetered(that, policy);
+        }
+
+        Length addUnmetered(Length that, RoundingPolicy policy) {
             if (that == null) throw new IllegalArgumentException("Length to add cannot be null");
+            if (policy == null) throw new IllegalArgumentException("Rounding policy cannot be null");
             double sumInches = this.toBase() + that.toBase();
             double sumInThisUnit = this.unit.fromInches(sumInches);
-            return new Length(round(sumInThisUnit, 2), this.unit);
+            return new Length(policy.apply(sumInThisUnit), this.unit);
         }
 
         /**
          * Static helper for addition; returns result in {@code a.unit}.
          */
         public static Length add(Length a, Length b) {
-            if (a == null || b == null) throw new IllegalArgumentException("Lengths cannot be null");
+            if (a == null || b == null) {
+                if (LengthMetrics.enabled) LengthMetrics.countFailure(LengthMetrics.Op.ADD);
+                throw new IllegalArgumentException("Lengths cannot be null");
+            }
             return a.add(b);
         }
 
         /**
          * Static numeric addition with explicit result unit.
-         * Sums v1 in u1 and v2 in u2, returns numeric value in resultUnit (rounded to 2 decimals).
+         * Sums v1 in u1 and v2 in u2, returns numeric value in resultUnit,
+         * rounded by the current RoundingPolicy (2 decimals half-up by default).
          */
         public static double add(double v1, LengthUnit u1, double v2, LengthUnit u2, LengthUnit resultUnit) {
+            return add(v1, u1, v2, u2, resultUnit, RoundingPolicy.current());
+        }
+
+        /** Static numeric addition, rounding with {@code policy} instead of the current policy. */
+        public static double add(double v1, LengthUnit u1, double v2, LengthUnit u2, LengthUnit resultUnit,
+                                 RoundingPolicy policy) {
+            if (LengthMetrics.enabled) return LengthMetrics.add(v1, u1, v2, u2, resultUnit, policy);
+            return addUnmetered(v1, u1, v2, u2, resultUnit, policy);
+        }
+
+        static double addUnmetered(double v1, LengthUnit u1, double v2, LengthUnit u2, LengthUnit resultUnit,
+                                   RoundingPolicy policy) {
             if (u1 == null || u2 == null || resultUnit == null)
                 throw new IllegalArgumentException("Units cannot be null");
+            if (policy == null) throw new IllegalArgumentException("Rounding policy cannot be null");
             if (Double.isNaN(v1) || Double.isInfinite(v1) || Double.isNaN(v2) || Double.isInfinite(v2))
                 throw new IllegalArgumentException("Values must be finite");
 
             double sumInches = u1.toInches(v1) + u2.toInches(v2);
             double inResult = resultUnit.fromInches(sumInches);
-            return round(inResult, 2);
+            return policy.apply(inResult);
+        }
+
+        // ===== Derived dimensions (see DerivedQuantity) =====
+        /** Product of two lengths as an area in this instance's unit, e.g. 2 ft * 6 in = 1.0 ft^2. */
+        public DerivedQuantity multiply(Length that) {
+            return DerivedQuantity.of(this).multiply(that);
+        }
+
+        /** Ratio of two lengths (dimensionless), computed in this instance's unit. */
+        public DerivedQuantity divide(Length that) {
+            return DerivedQuantity.of(this).divide(that);
         }
 
         // Compare with tolerance (instead of exact Double.compare)
@@ -139,8 +220,25 @@ public class QuantityMeasurementApp {
             return Math.abs(this.toBase() - other.toBase()) < EPS;
         }
 
+        /**
+         * Natural order by physical magnitude (inches), e.g. 11 in &lt; 1 ft &lt; 1 yd.
+         * Exact, unlike equals(...): lengths within EPS are equal but may still compare as non-zero.
+         * For large arrays prefer {@link LengthSort}, which extracts each key once.
+         * Throws NullPointerException for null, as the Comparable contract requires.
+         */
+        @Override
+        public int compareTo(Length other) {
+            Objects.requireNonNull(other, "Length cannot be null");
+            return Double.compare(this.toBase(), other.toBase());
+        }
+
         @Override
         public boolean equals(Object o) {
+            if (LengthMetrics.enabled) return LengthMetrics.equals(this, o);
+            return equalsUnmetered(o);
+        }
+
+        boolean equalsUnmetered(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             return compare((Length) o);
@@ -155,20 +253,10 @@ public class QuantityMeasurementApp {
 
         @Override
         public String toString() {
-            switch (unit) {
-                case FEET: return round(value, 2) + " ft";
-                case INCHES: return round(value, 2) + " in";
-                case YARDS: return round(value, 2) + " yd";
-                case CENTIMETERS: return round(value, 2) + " cm";
-                default: return value + " ?";
-            }
+            // "<value rounded by the current policy> <symbol>", e.g. "3.5 ft" (see LengthFormat)
+            return LengthFormat.format(value, unit, new StringBuilder(16)).toString();
         }
 
-        // Rounds to given decimal places (half-up behavior consistent with Math.round)
-        private static double round(double v, int places) {
-            double p = Math.pow(10, places);
-            return Math.round(v * p) / p;
-        }
     }
 
     // ===== UC1 & UC2 legacy classes (kept for backward compatibility) =====
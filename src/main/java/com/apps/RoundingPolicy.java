@@ -0,0 +1,178 @@
+package com.apps;
+
+import java.util.Locale;
+
+/**
+ * RoundingPolicy
+ *
+ * How Length results are rounded: a number of decimal places (scale) and a mode. The default,
+ * 2 decimals half-up, reproduces Length's historical results bit for bit.
+ *
+ * <pre>
+ *   Length.convert(1.0, FEET, CENTIMETERS, RoundingPolicy.of(3, RoundingPolicy.Mode.HALF_EVEN)); // 30.48
+ *   RoundingPolicy.setCurrent(RoundingPolicy.NONE);  // global: no rounding anywhere
+ * </pre>
+ *
+ * Notes:
+ * - Modes: HALF_UP (as Math.round, ties toward positive infinity), HALF_EVEN (as Math.rint), TRUNCATE
+ *   (toward zero; a scaled value within a few ulps of a step counts as on it, so 0.29 stays 0.29) and
+ *   NONE (values pass through unchanged; scale is ignored).
+ * - Powers of ten come from a precomputed table (scale 0..{@link #MAX_SCALE}, all exact doubles) and
+ *   instances are interned per (mode, scale), so apply(...) is a multiply, one rounding op and a divide:
+ *   no Math.pow and no BigDecimal.
+ * - The global policy ({@link #current()}) is used by Length's convert/add, toString, and the helpers
+ *   that promise Length's results (LengthKernels, LazyLength, LengthExpression, DerivedQuantity).
+ *   It is a volatile field, initialized from -Dqm.rounding=MODE[:scale] (e.g. HALF_EVEN:3) if present;
+ *   a malformed value is reported on stderr and DEFAULT is used, so class initialization never fails.
+ *   Per-operation overloads on Length take an explicit policy instead.
+ */
+public final class RoundingPolicy {
+
+    public enum Mode { HALF_UP, HALF_EVEN, TRUNCATE, NONE }
+
+    /** Largest supported number of decimal places. */
+    public static final int MAX_SCALE = 15;
+
+    private static final Mode[] MODES = Mode.values();
+    private static final int HALF_UP = 0, HALF_EVEN = 1, TRUNCATE = 2; // Mode ordinals
+    private static final double[] POW10 = new double[MAX_SCALE + 1];
+    private static final RoundingPolicy[] INTERNED = new RoundingPolicy[MODES.length * (MAX_SCALE + 1)];
+
+    static {
+        double p = 1.0;
+        for (int s = 0; s <= MAX_SCALE; s++) {
+            POW10[s] = p;
+            p *= 10.0;
+        }
+        for (Mode m : MODES) {
+            for (int s = 0; s <= MAX_SCALE; s++) INTERNED[m.ordinal() * (MAX_SCALE + 1) + s] = new RoundingPolicy(m, s);
+        }
+    }
+
+    /** 2 decimals, half-up: Length's historical rounding. */
+    public static final RoundingPolicy DEFAULT = of(2, Mode.HALF_UP);
+
+    /** No rounding at all. */
+    public static final RoundingPolicy NONE = of(0, Mode.NONE);
+
+    private static volatile RoundingPolicy current = fromProperty(System.getProperty("qm.rounding"));
+
+    private final Mode mode;
+    private final int kind;         // mode.ordinal(): an int switch avoids the enum switch-map lookup
+    private final int scale;
+    private final double factor;
+
+    private RoundingPolicy(Mode mode, int scale) {
+        this.mode = mode;
+        this.kind = mode.ordinal();
+        this.scale = scale;
+        this.factor = POW10[scale];
+    }
+
+    public static RoundingPolicy of(int scale, Mode mode) {
+        if (mode == null) throw new IllegalArgumentException("Mode cannot be null");
+        if (scale < 0 || scale > MAX_SCALE) throw new IllegalArgumentException("Scale must be in [0, " + MAX_SCALE + "]");
+        return INTERNED[mode.ordinal() * (MAX_SCALE + 1) + (mode == Mode.NONE ? 0 : scale)];
+    }
+
+    // ===== Global policy =====
+    /** Policy used by operations that do not take one explicitly. */
+    public static RoundingPolicy current() { return current; }
+
+    public static void setCurrent(RoundingPolicy policy) {
+        if (policy == null) throw new IllegalArgumentException("Policy cannot be null");
+        current = policy;
+    }
+
+    /** Parse "MODE" or "MODE:scale" (e.g. "HALF_EVEN:3", "NONE"); the scale defaults to 2. */
+    public static RoundingPolicy parse(String text) {
+        if (text == null) throw new IllegalArgumentException("Policy text cannot be null");
+        int colon = text.indexOf(':');
+        String name = (colon < 0 ? text : text.substring(0, colon)).trim();
+        Mode mode;
+        try {
+            mode = Mode.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown rounding mode: " + name);
+        }
+        int scale = 2;
+        if (colon >= 0) {
+            try {
+                scale = Integer.parseInt(text.substring(colon + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rounding scale in: " + text);
+            }
+        }
+        return of(scale, mode);
+    }
+
+    /** The policy named by -Dqm.rounding, or DEFAULT (with a warning) when it is malformed. */
+    static RoundingPolicy fromProperty(String text) {
+        if (text == null || text.isEmpty()) return DEFAULT;
+        try {
+            return parse(text);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring -Dqm.rounding=" + text + " (" + e.getMessage() + "); using " + DEFAULT);
+            return DEFAULT;
+        }
+    }
+
+    // ===== Rounding =====
+    public Mode mode() { return mode; }
+
+    public int scale() { return scale; }
+
+    /** Dense index of this interned instance, in [0, 64), e.g. for cache keys. */
+    int index() { return kind * (MAX_SCALE + 1) + scale; }
+
+    /** {@code v} rounded to this policy's scale and mode. */
+    public double apply(double v) {
+        switch (kind) {
+            case HALF_UP:   return Math.round(v * factor) / factor;
+            case HALF_EVEN: return Math.rint(v * factor) / factor;
+            case TRUNCATE:  return truncate(v * factor) / factor;
+            default:        return v;
+        }
+    }
+
+    /** out[i] = apply(values[i]) for i &lt; n (values and out may be the same array). */
+    public void apply(double[] values, double[] out, int n) {
+        switch (kind) {
+            case HALF_UP:
+                for (int i = 0; i < n; i++) out[i] = Math.round(values[i] * factor) / factor;
+                break;
+            case HALF_EVEN:
+                for (int i = 0; i < n; i++) out[i] = Math.rint(values[i] * factor) / factor;
+                break;
+            case TRUNCATE:
+                for (int i = 0; i < n; i++) out[i] = truncate(values[i] * factor) / factor;
+                break;
+            default:
+                if (values != out) System.arraycopy(values, 0, out, 0, n);
+        }
+    }
+
+    /**
+     * The rounded value as a count of 10^-scale steps (apply(v) == steps(v) / 10^scale); not for NONE.
+     * Only meaningful while |v * 10^scale| &lt; 2^63: beyond that the count saturates at the long range.
+     */
+    long steps(double v) {
+        switch (kind) {
+            case HALF_UP:   return Math.round(v * factor);
+            case HALF_EVEN: return (long) Math.rint(v * factor);
+            case TRUNCATE:  return (long) truncate(v * factor);
+            default:        throw new IllegalStateException("NONE has no fixed scale");
+        }
+    }
+
+    private static double truncate(double scaled) {
+        double nearest = Math.rint(scaled);
+        if (Math.abs(scaled - nearest) <= 4 * Math.ulp(scaled)) return nearest;
+        return scaled < 0 ? Math.ceil(scaled) : Math.floor(scaled);
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.NONE ? "NONE" : mode + ":" + scale;
+    }
+}
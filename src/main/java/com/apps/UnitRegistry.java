@@ -0,0 +1,271 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UnitRegistry
+ *
+ * Pluggable registry of measurement units grouped by category (length, weight, volume, temperature).
+ *
+ * Notes:
+ * - Every unit is defined relative to its category's base unit as base = value * factor + offset.
+ *   Offsets are only non-zero for affine scales such as Celsius/Fahrenheit.
+ * - Each category keeps a dense from x to table of scale and offset terms, rebuilt on registration,
+ *   so a conversion is one multiply (plus one add for affine units) and never divides.
+ * - Units get a stable integer id per category in registration order. In the standard registry the
+ *   length category registers FEET, INCHES, YARDS and CENTIMETERS first, and {@link LengthUnit} takes
+ *   its factors and symbols from them, so a LengthUnit's ordinal is its id. The other length units
+ *   (mm, m, km, mi) and the other categories are registry-only: LengthUnit is a closed enum.
+ * - Registration is synchronized; readers see an immutable table snapshot through a volatile field.
+ * - {@link #standard()} is shared and read-only: registering into it, or asking it for an unknown
+ *   category, throws. Use {@link #withStandardUnits()} for a registry that can be extended.
+ */
+public final class UnitRegistry {
+
+    public static final String LENGTH = "length";
+    public static final String WEIGHT = "weight";
+    public static final String VOLUME = "volume";
+    public static final String TEMPERATURE = "temperature";
+
+    // ===== Unit descriptor =====
+    public static final class Unit {
+        private final Category category;
+        private final int id;
+        private final String name;
+        private final String symbol;
+        private final double factorToBase;
+        private final double offsetToBase;
+
+        private Unit(Category category, int id, String name, String symbol, double factorToBase, double offsetToBase) {
+            this.category = category;
+            this.id = id;
+            this.name = name;
+            this.symbol = symbol;
+            this.factorToBase = factorToBase;
+            this.offsetToBase = offsetToBase;
+        }
+
+        public Category getCategory() { return category; }
+        public int getId() { return id; }
+        public String getName() { return name; }
+        public String getSymbol() { return symbol; }
+        public double getFactorToBase() { return factorToBase; }
+        public double getOffsetToBase() { return offsetToBase; }
+
+        /** Convert a value in this unit to the category base unit. */
+        public double toBase(double value) { return value * factorToBase + offsetToBase; }
+
+        /** Convert a value in this unit to {@code target} (unrounded). */
+        public double convertTo(double value, Unit target) {
+            if (target == null) throw new IllegalArgumentException("Target unit cannot be null");
+            if (target.category != category)
+                throw new IllegalArgumentException("Cannot convert " + category.name + " to " + target.category.name);
+            return category.convert(value, id, target.id);
+        }
+
+        @Override public String toString() { return name + " (" + symbol + ")"; }
+    }
+
+    // ===== Category with precomputed pair-wise tables =====
+    public static final class Category {
+        private final String name;
+        private final List<Unit> units = new ArrayList<>();
+        private final Map<String, Unit> bySymbol = new LinkedHashMap<>();
+        private volatile Tables tables = new Tables(0, new double[0], new double[0]);
+        private boolean frozen;
+
+        private Category(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+
+        public synchronized List<Unit> getUnits() { return Collections.unmodifiableList(new ArrayList<>(units)); }
+
+        public synchronized Unit unit(String symbolOrName) {
+            Unit u = bySymbol.get(symbolOrName);
+            if (u != null) return u;
+            for (Unit candidate : units) {
+                if (candidate.name.equalsIgnoreCase(symbolOrName)) return candidate;
+            }
+            return null;
+        }
+
+        public synchronized Unit unit(int id) {
+            if (id < 0 || id >= units.size()) throw new IllegalArgumentException("Unknown unit id: " + id);
+            return units.get(id);
+        }
+
+        /**
+         * Register a unit; base = value * factorToBase + offsetToBase.
+         * Returns the new unit, whose id is the number of units registered before it.
+         */
+        public synchronized Unit register(String name, String symbol, double factorToBase, double offsetToBase) {
+            if (frozen) throw new IllegalStateException("Category " + this.name + " is read-only");
+            if (name == null || symbol == null) throw new IllegalArgumentException("Name and symbol cannot be null");
+            if (!(factorToBase > 0) || Double.isInfinite(factorToBase))
+                throw new IllegalArgumentException("Factor must be finite and positive");
+            if (Double.isNaN(offsetToBase) || Double.isInfinite(offsetToBase))
+                throw new IllegalArgumentException("Offset must be finite");
+            if (bySymbol.containsKey(symbol) || unit(name) != null)
+                throw new IllegalArgumentException("Unit already registered in " + this.name + ": " + name);
+
+            Unit u = new Unit(this, units.size(), name, symbol, factorToBase, offsetToBase);
+            units.add(u);
+            bySymbol.put(symbol, u);
+            tables = buildTables();
+            return u;
+        }
+
+        public Unit register(String name, String symbol, double factorToBase) {
+            return register(name, symbol, factorToBase, 0.0);
+        }
+
+        /** Convert between two unit ids of this category using the precomputed tables (unrounded). */
+        public double convert(double value, int fromId, int toId) {
+            Tables t = tables;
+            if (fromId < 0 || fromId >= t.size) throw new IllegalArgumentException("Unknown unit id: " + fromId);
+            if (toId < 0 || toId >= t.size) throw new IllegalArgumentException("Unknown unit id: " + toId);
+            int idx = fromId * t.size + toId;
+            return value * t.scale[idx] + t.offset[idx];
+        }
+
+        private Tables buildTables() {
+            int n = units.size();
+            double[] factors = new double[n];
+            double[] offsets = new double[n];
+            for (int i = 0; i < n; i++) {
+                factors[i] = units.get(i).factorToBase;
+                offsets[i] = units.get(i).offsetToBase;
+            }
+            double[] scale = pairFactors(factors);
+            double[] offset = new double[n * n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    // to = (v * f_i + o_i - o_j) / f_j
+                    offset[i * n + j] = (offsets[i] - offsets[j]) / factors[j];
+                }
+            }
+            return new Tables(n, scale, offset);
+        }
+    }
+
+    // Immutable snapshot so readers never observe a half-built table
+    private static final class Tables {
+        final int size;
+        final double[] scale;
+        final double[] offset;
+
+        Tables(int size, double[] scale, double[] offset) {
+            this.size = size;
+            this.scale = scale;
+            this.offset = offset;
+        }
+    }
+
+    private final Map<String, Category> categories = new LinkedHashMap<>();
+    private boolean frozen;
+
+    /** The named category, created on first use (unless the registry is read-only). */
+    public synchronized Category category(String name) {
+        if (name == null) throw new IllegalArgumentException("Category cannot be null");
+        Category c = categories.get(name);
+        if (c != null) return c;
+        if (frozen) throw new IllegalArgumentException("Unknown category: " + name);
+        c = new Category(name);
+        categories.put(name, c);
+        return c;
+    }
+
+    public synchronized List<Category> getCategories() {
+        return Collections.unmodifiableList(new ArrayList<>(categories.values()));
+    }
+
+    /** Convert by unit symbol (or name) within a category (unrounded). */
+    public double convert(String category, double value, String from, String to) {
+        Category c;
+        synchronized (this) { c = categories.get(category); }
+        if (c == null) throw new IllegalArgumentException("Unknown category: " + category);
+        Unit f = c.unit(from);
+        Unit t = c.unit(to);
+        if (f == null || t == null) throw new IllegalArgumentException("Unknown unit in " + category + ": " + (f == null ? from : to));
+        return f.convertTo(value, t);
+    }
+
+    /** Dense n x n table of factors[i] / factors[j], laid out row-major by [from * n + to]. */
+    static double[] pairFactors(double[] factors) {
+        int n = factors.length;
+        double[] table = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                table[i * n + j] = (i == j) ? 1.0 : factors[i] / factors[j];
+            }
+        }
+        return table;
+    }
+
+    // ===== Standard units =====
+    /** Shared, read-only registry preloaded with the standard units (lazily created). */
+    public static UnitRegistry standard() {
+        return Standard.INSTANCE;
+    }
+
+    /** Registry preloaded with the standard units; callers may register more. */
+    public static UnitRegistry withStandardUnits() {
+        UnitRegistry r = new UnitRegistry();
+
+        // Length (base: inches). LengthUnit's constants first, in ordinal order, so ids == ordinals.
+        Category length = r.category(LENGTH);
+        length.register("FEET", "ft", 12.0);
+        length.register("INCHES", "in", 1.0);
+        length.register("YARDS", "yd", 36.0);
+        length.register("CENTIMETERS", "cm", 1.0 / 2.54);
+        length.register("MILLIMETERS", "mm", 1.0 / 25.4);
+        length.register("METERS", "m", 100.0 / 2.54);
+        length.register("KILOMETERS", "km", 100000.0 / 2.54);
+        length.register("MILES", "mi", 63360.0);
+
+        // Weight (base: grams)
+        Category weight = r.category(WEIGHT);
+        weight.register("GRAMS", "g", 1.0);
+        weight.register("MILLIGRAMS", "mg", 0.001);
+        weight.register("KILOGRAMS", "kg", 1000.0);
+        weight.register("TONNES", "t", 1_000_000.0);
+        weight.register("POUNDS", "lb", 453.59237);
+        weight.register("OUNCES", "oz", 28.349523125);
+
+        // Volume (base: litres)
+        Category volume = r.category(VOLUME);
+        volume.register("LITRES", "l", 1.0);
+        volume.register("MILLILITRES", "ml", 0.001);
+        volume.register("CUBIC_METERS", "m3", 1000.0);
+        volume.register("US_GALLONS", "gal", 3.785411784);
+        volume.register("US_QUARTS", "qt", 0.946352946);
+
+        // Temperature (base: kelvin), affine
+        Category temperature = r.category(TEMPERATURE);
+        temperature.register("KELVIN", "K", 1.0, 0.0);
+        temperature.register("CELSIUS", "C", 1.0, 273.15);
+        temperature.register("FAHRENHEIT", "F", 5.0 / 9.0, 459.67 * 5.0 / 9.0);
+        return r;
+    }
+
+    // Later register(...) and unknown category(...) calls throw
+    private synchronized UnitRegistry freeze() {
+        frozen = true;
+        for (Category c : categories.values()) {
+            synchronized (c) { c.frozen = true; }
+        }
+        return this;
+    }
+
+    private static final class Standard {
+        static final UnitRegistry INSTANCE = withStandardUnits().freeze();
+    }
+}
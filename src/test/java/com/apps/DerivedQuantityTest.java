@@ -0,0 +1,97 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * DerivedQuantity: packed dimensions, multiply/divide/add, conversion against Length and equality.
+ */
+class DerivedQuantityTest {
+
+    @Test
+    void packedDimensions() {
+        assertEquals(DerivedQuantity.AREA, DerivedQuantity.dimension(2));
+        assertEquals(-3, DerivedQuantity.lengthExponent(DerivedQuantity.dimension(-3)));
+        assertEquals(DerivedQuantity.LENGTH, DerivedQuantity.of(new Length(1.0, LengthUnit.FEET)).dimension());
+        assertThrows(IllegalArgumentException.class, () -> DerivedQuantity.dimension(DerivedQuantity.MAX_EXPONENT + 1));
+    }
+
+    @Test
+    void multiplyAndDivideInTheFirstUnit() {
+        DerivedQuantity area = DerivedQuantity.of(2.0, LengthUnit.FEET, 2);
+        DerivedQuantity volume = area.multiply(new Length(6.0, LengthUnit.INCHES));
+        assertEquals(1.0, volume.getValue());
+        assertEquals(LengthUnit.FEET, volume.getUnit());
+        assertEquals(DerivedQuantity.VOLUME, volume.dimension());
+
+        DerivedQuantity length = DerivedQuantity.of(1.0, LengthUnit.FEET, 2).divide(new Length(6.0, LengthUnit.INCHES));
+        assertEquals(2.0, length.getValue());
+        assertEquals(new Length(2.0, LengthUnit.FEET), length.toLength());
+
+        DerivedQuantity ratio = DerivedQuantity.of(new Length(1.0, LengthUnit.YARDS)).divide(new Length(1.0, LengthUnit.FEET));
+        assertEquals(0, ratio.getExponent());
+        assertEquals(3.0, ratio.getValue());
+        assertEquals("3.0", ratio.toString());
+    }
+
+    @Test
+    void addAndSubtractSameDimension() {
+        DerivedQuantity a = DerivedQuantity.of(1.0, LengthUnit.FEET, 2);
+        DerivedQuantity b = DerivedQuantity.of(144.0, LengthUnit.INCHES, 2);
+        assertEquals(2.0, a.add(b).getValue());
+        assertEquals(0.0, a.subtract(b).getValue());
+        assertThrows(IllegalArgumentException.class, () -> a.add(DerivedQuantity.of(1.0, LengthUnit.FEET, 3)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(LengthUnit.class)
+    void lengthConversionMatchesLength(LengthUnit from) {
+        for (LengthUnit to : LengthUnit.values()) {
+            for (double v : new double[]{-5775.06, 0.01, 1.0, 12.34, 1e6}) {
+                assertEquals(Length.convert(v, from, to), DerivedQuantity.of(v, from, 1).convertTo(to).getValue());
+            }
+        }
+    }
+
+    @Test
+    void areaAndVolumeConversion() {
+        assertEquals(144.0, DerivedQuantity.of(1.0, LengthUnit.FEET, 2).convertTo(LengthUnit.INCHES).getValue());
+        assertEquals(27.0, DerivedQuantity.of(1.0, LengthUnit.YARDS, 3).convertTo(LengthUnit.FEET).getValue());
+        assertEquals(12.0, DerivedQuantity.of(1.0, LengthUnit.INCHES, -1).convertTo(LengthUnit.FEET).getValue());
+        DerivedQuantity q = DerivedQuantity.of(3.0, LengthUnit.FEET, 2);
+        assertSame(q, q.convertTo(LengthUnit.FEET));
+        assertEquals(432.0, q.toBase());
+    }
+
+    @Test
+    void equalityAcrossUnits() {
+        DerivedQuantity sqFt = DerivedQuantity.of(1.0, LengthUnit.FEET, 2);
+        DerivedQuantity sqIn = DerivedQuantity.of(144.0, LengthUnit.INCHES, 2);
+        assertEquals(sqFt, sqIn);
+        assertEquals(sqFt.hashCode(), sqIn.hashCode());
+        assertNotEquals(sqFt, DerivedQuantity.of(12.0, LengthUnit.INCHES, 1));
+        assertNotEquals(sqFt, DerivedQuantity.of(145.0, LengthUnit.INCHES, 2));
+        assertEquals("1.0 ft^2", sqFt.toString());
+        assertEquals("2.5 cm", DerivedQuantity.of(2.5, LengthUnit.CENTIMETERS, 1).toString());
+    }
+
+    @Test
+    void rejectsBadInput() {
+        assertThrows(IllegalArgumentException.class, () -> DerivedQuantity.of(Double.NaN, LengthUnit.FEET, 1));
+        assertThrows(IllegalArgumentException.class, () -> DerivedQuantity.of(1.0, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> DerivedQuantity.of(1.0, LengthUnit.FEET, 7));
+        DerivedQuantity q = DerivedQuantity.of(1.0, LengthUnit.FEET, 4);
+        assertThrows(IllegalArgumentException.class, () -> q.multiply(DerivedQuantity.of(1.0, LengthUnit.FEET, 3)));
+        assertThrows(IllegalArgumentException.class, () -> q.divide(DerivedQuantity.of(0.0, LengthUnit.FEET, 1)));
+        assertThrows(IllegalArgumentException.class, () -> q.toLength());
+        assertThrows(IllegalArgumentException.class, () -> q.convertTo(null));
+    }
+}
@@ -0,0 +1,89 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FixedLength: quantization, exact equality/hash/order and range checks.
+ */
+class FixedLengthTest {
+
+    @Test
+    void quantizesToNanoInches() {
+        assertEquals(12_000_000_000L, FixedLength.of(1.0, LengthUnit.FEET).getNanoInches());
+        assertEquals(393_700_787L, FixedLength.of(1.0, LengthUnit.CENTIMETERS).getNanoInches());
+        assertEquals(1L, FixedLength.quantize(5e-10));
+        assertEquals(0L, FixedLength.quantize(4e-10));
+        assertEquals(-1_500_000_000L, FixedLength.of(new Length(-1.5, LengthUnit.INCHES)).getNanoInches());
+    }
+
+    @Test
+    void equalityIsExactAndUnitIndependent() {
+        FixedLength foot = FixedLength.of(1.0, LengthUnit.FEET);
+        FixedLength inches = FixedLength.of(12.0, LengthUnit.INCHES);
+        assertEquals(foot, inches);
+        assertEquals(foot.hashCode(), inches.hashCode());
+        assertEquals(0, foot.compareTo(inches));
+        assertNotEquals(foot, FixedLength.of(12.0 + 2e-9, LengthUnit.INCHES));
+
+        Set<FixedLength> set = new HashSet<>();
+        set.add(foot);
+        set.add(inches);
+        set.add(FixedLength.of(1.0 / 3.0, LengthUnit.YARDS));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void sortsByMagnitude() {
+        FixedLength[] a = {
+                FixedLength.of(1.0, LengthUnit.YARDS),
+                FixedLength.of(-2.0, LengthUnit.FEET),
+                FixedLength.of(30.0, LengthUnit.CENTIMETERS),
+                FixedLength.of(11.0, LengthUnit.INCHES)};
+        Arrays.sort(a);
+        assertEquals(LengthUnit.FEET, a[0].getUnit());
+        assertEquals(LengthUnit.INCHES, a[1].getUnit());
+        assertEquals(LengthUnit.CENTIMETERS, a[2].getUnit());
+        assertEquals(LengthUnit.YARDS, a[3].getUnit());
+    }
+
+    @Test
+    void convertAddAndToLength() {
+        FixedLength foot = FixedLength.of(1.0, LengthUnit.FEET);
+        assertSame(foot, foot.convertTo(LengthUnit.FEET));
+        FixedLength inCm = foot.convertTo(LengthUnit.CENTIMETERS);
+        assertEquals(foot.getNanoInches(), inCm.getNanoInches());
+        assertEquals(30.48, inCm.getValue(), 1e-9);
+        assertEquals(new Length(30.48, LengthUnit.CENTIMETERS), inCm.toLength());
+        assertEquals("30.48 cm", inCm.toString());
+
+        FixedLength sum = foot.add(FixedLength.of(6.0, LengthUnit.INCHES));
+        assertEquals(LengthUnit.FEET, sum.getUnit());
+        assertEquals(1.5, sum.getValue(), 0.0);
+        assertEquals(18.0, sum.toInches(), 0.0);
+    }
+
+    @Test
+    void rejectsBadInputAndOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> FixedLength.of(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> FixedLength.of(Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> FixedLength.of(null));
+        assertThrows(IllegalArgumentException.class, () -> FixedLength.of(1e10, LengthUnit.INCHES));
+        assertThrows(IllegalArgumentException.class, () -> FixedLength.ofNanoInches(1, null));
+        FixedLength big = FixedLength.ofNanoInches(Long.MAX_VALUE - 1, LengthUnit.INCHES);
+        assertThrows(IllegalArgumentException.class, () -> big.add(FixedLength.ofNanoInches(2, LengthUnit.INCHES)));
+        assertThrows(IllegalArgumentException.class, () -> big.add(null));
+        assertTrue(FixedLength.of(9e9, LengthUnit.INCHES).getNanoInches() > 0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * LazyLength: one-step chains match the eager Length methods; longer chains round once at the end.
+ */
+class LazyLengthTest {
+
+    private static final double[] VALUES = {-5775.06, 0.0, 0.01, 1.0, 12.34, 99_999.99};
+
+    @ParameterizedTest
+    @EnumSource(LengthUnit.class)
+    void singleConvertMatchesEager(LengthUnit from) {
+        for (LengthUnit to : LengthUnit.values()) {
+            if (to == from) continue;
+            for (double v : VALUES) {
+                assertEquals(new Length(v, from).convertTo(to), LazyLength.of(v, from).toLength(to));
+                assertEquals(Length.convert(v, from, to), LazyLength.of(v, from).convertTo(to).value());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(LengthUnit.class)
+    void singleAddMatchesEager(LengthUnit unit) {
+        for (LengthUnit other : LengthUnit.values()) {
+            for (double v : VALUES) {
+                Length eager = new Length(v, unit).add(new Length(1.23, other));
+                Length lazy = LazyLength.of(v, unit).add(new Length(1.23, other)).toLength();
+                assertEquals(eager.getValue(), lazy.getValue());
+                assertEquals(eager.getUnit(), lazy.getUnit());
+            }
+        }
+    }
+
+    @Test
+    void longChainsRoundOnce() {
+        LazyLength chain = LazyLength.of(1.0, LengthUnit.INCHES);
+        for (int i = 0; i < 3; i++) chain.convertTo(LengthUnit.YARDS).convertTo(LengthUnit.INCHES);
+        assertEquals(1.0, chain.value());
+
+        Length eager = new Length(1.0, LengthUnit.INCHES);
+        for (int i = 0; i < 3; i++) eager = eager.convertTo(LengthUnit.YARDS).convertTo(LengthUnit.INCHES);
+        assertEquals(1.08, eager.getValue()); // 1 in -> 0.03 yd -> 1.08 in
+    }
+
+    @Test
+    void subtractSetAndAccessors() {
+        LazyLength l = LazyLength.of(new Length(1.0, LengthUnit.FEET))
+                .subtract(6.0, LengthUnit.INCHES)
+                .subtract(new Length(1.0, LengthUnit.INCHES));
+        assertEquals(LengthUnit.FEET, l.unit());
+        assertEquals(5.0 / 12.0, l.rawValue(), 1e-12);
+        assertEquals(0.42, l.value());
+        assertEquals(new Length(0.42, LengthUnit.FEET), l.toLength());
+        assertSame(l, l.set(2.0, LengthUnit.YARDS));
+        assertEquals("2.0 yd", l.toString());
+    }
+
+    @Test
+    void followsTheRoundingPolicy() {
+        RoundingPolicy saved = RoundingPolicy.current();
+        try {
+            RoundingPolicy.setCurrent(RoundingPolicy.of(4, RoundingPolicy.Mode.TRUNCATE));
+            assertEquals(0.0277, LazyLength.of(1.0, LengthUnit.INCHES).convertTo(LengthUnit.YARDS).value());
+        } finally {
+            RoundingPolicy.setCurrent(saved);
+        }
+    }
+
+    @Test
+    void rejectsBadInput() {
+        assertThrows(IllegalArgumentException.class, () -> LazyLength.of(Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> LazyLength.of(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> LazyLength.of(null));
+        LazyLength l = LazyLength.of(1.0, LengthUnit.FEET);
+        assertThrows(IllegalArgumentException.class, () -> l.add(Double.POSITIVE_INFINITY, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> l.convertTo(null));
+        assertThrows(IllegalArgumentException.class, () -> l.set(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> l.add(1e308, LengthUnit.YARDS).value());
+    }
+}
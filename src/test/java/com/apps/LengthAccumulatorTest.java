@@ -0,0 +1,82 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthAccumulator: mixed-unit sums, compensation, merge and reset.
+ */
+class LengthAccumulatorTest {
+
+    @Test
+    void sumsMixedUnits() {
+        LengthAccumulator acc = new LengthAccumulator()
+                .add(1.0, LengthUnit.FEET)
+                .add(12.0, LengthUnit.INCHES)
+                .add(new Length(1.0, LengthUnit.YARDS))
+                .add(2.54, LengthUnit.CENTIMETERS);
+        assertEquals(61.0, acc.sumInches(), 1e-12);
+        assertEquals(61.0, acc.sum(LengthUnit.INCHES));
+        assertEquals(5.08, acc.sum(LengthUnit.FEET));
+        assertEquals(new Length(154.94, LengthUnit.CENTIMETERS), acc.toLength(LengthUnit.CENTIMETERS));
+        assertEquals(4, acc.count());
+    }
+
+    @Test
+    void compensationKeepsManySmallTermsExact() {
+        LengthAccumulator acc = new LengthAccumulator().add(1e9, LengthUnit.INCHES);
+        double naive = 1e9;
+        for (int i = 0; i < 1_000_000; i++) {
+            acc.add(0.1, LengthUnit.INCHES);
+            naive += 0.1;
+        }
+        acc.add(-1e9, LengthUnit.INCHES);
+        assertEquals(100_000.0, acc.sumInches(), 1e-6);
+        assertEquals(100_000.0, acc.sum(LengthUnit.INCHES));
+        // The plain double sum drifts by far more than a rounding step
+        assertTrue(Math.abs((naive - 1e9) - 100_000.0) > 1e-3);
+    }
+
+    @Test
+    void mergeIncludesCompensation() {
+        LengthAccumulator a = new LengthAccumulator();
+        LengthAccumulator b = new LengthAccumulator();
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) values[i] = (i % 7) * 0.37;
+        a.addAll(values, LengthUnit.CENTIMETERS);
+        b.addAll(values, LengthUnit.CENTIMETERS).add(1e12, LengthUnit.INCHES).add(-1e12, LengthUnit.INCHES);
+        LengthAccumulator whole = new LengthAccumulator().addAll(values, LengthUnit.CENTIMETERS)
+                .addAll(values, LengthUnit.CENTIMETERS);
+        assertSame(a, a.merge(b));
+        assertEquals(whole.sum(LengthUnit.CENTIMETERS), a.sum(LengthUnit.CENTIMETERS));
+        assertEquals(2 * values.length + 2, a.count());
+    }
+
+    @Test
+    void resetClearsEverything() {
+        LengthAccumulator acc = new LengthAccumulator().add(3.0, LengthUnit.FEET);
+        acc.reset();
+        assertEquals(0.0, acc.sumInches());
+        assertEquals(0, acc.count());
+        assertEquals(0.0, acc.sum(LengthUnit.YARDS));
+    }
+
+    @Test
+    void rejectsBadInput() {
+        LengthAccumulator acc = new LengthAccumulator();
+        assertThrows(IllegalArgumentException.class, () -> acc.add(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> acc.add(Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> acc.add(Double.NEGATIVE_INFINITY, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> acc.add(null));
+        assertThrows(IllegalArgumentException.class, () -> acc.addAll(null, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> acc.merge(null));
+        assertThrows(IllegalArgumentException.class, () -> acc.sum(null));
+        assertEquals(0, acc.count());
+    }
+}
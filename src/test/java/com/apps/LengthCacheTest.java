@@ -0,0 +1,119 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthCache: interning, memoized conversion (per rounding policy), eviction and metrics.
+ */
+class LengthCacheTest {
+
+    @Test
+    void internReturnsSharedInstances() {
+        LengthCache cache = new LengthCache(64);
+        Length a = cache.intern(1.5, LengthUnit.FEET);
+        assertSame(a, cache.intern(1.5, LengthUnit.FEET));
+        assertSame(a, cache.intern(new Length(1.5, LengthUnit.FEET)));
+        assertEquals(2, cache.internHits());
+        assertEquals(1, cache.internMisses());
+        // Exact keys: 18 in equals 1.5 ft but is cached separately
+        assertEquals(LengthUnit.INCHES, cache.intern(18.0, LengthUnit.INCHES).getUnit());
+    }
+
+    @Test
+    void convertMatchesLengthAndIsMemoized() {
+        LengthCache cache = new LengthCache(64);
+        Length first = cache.convert(1.0, LengthUnit.YARDS, LengthUnit.CENTIMETERS);
+        assertEquals(new Length(1.0, LengthUnit.YARDS).convertTo(LengthUnit.CENTIMETERS).getValue(), first.getValue());
+        assertSame(first, cache.convertTo(new Length(1.0, LengthUnit.YARDS), LengthUnit.CENTIMETERS));
+        assertEquals(1, cache.conversionHits());
+        assertEquals(1, cache.conversionMisses());
+        assertEquals(0.5, cache.hitRate());
+    }
+
+    @Test
+    void convertFollowsTheCurrentRoundingPolicy() {
+        LengthCache cache = new LengthCache(64);
+        RoundingPolicy before = RoundingPolicy.current();
+        try {
+            assertEquals(0.33, cache.convert(1.0, LengthUnit.FEET, LengthUnit.YARDS).getValue());
+            RoundingPolicy.setCurrent(RoundingPolicy.of(4, RoundingPolicy.Mode.HALF_EVEN));
+            assertEquals(0.3333, cache.convert(1.0, LengthUnit.FEET, LengthUnit.YARDS).getValue());
+            RoundingPolicy.setCurrent(RoundingPolicy.DEFAULT);
+            assertEquals(0.33, cache.convert(1.0, LengthUnit.FEET, LengthUnit.YARDS).getValue());
+            assertEquals(1, cache.conversionHits());
+        } finally {
+            RoundingPolicy.setCurrent(before);
+        }
+        assertEquals(0.0, cache.convert(1.0, LengthUnit.FEET, LengthUnit.YARDS,
+                RoundingPolicy.of(0, RoundingPolicy.Mode.TRUNCATE)).getValue());
+    }
+
+    @Test
+    void hitsAreCountedByMetrics() {
+        LengthCache cache = new LengthCache(64);
+        boolean wasEnabled = LengthMetrics.isEnabled();
+        LengthMetrics.reset();
+        LengthMetrics.enable();
+        try {
+            for (int i = 0; i < 5; i++) cache.convert(2.0, LengthUnit.FEET, LengthUnit.INCHES);
+            assertEquals(5, LengthMetrics.count(LengthMetrics.Op.CONVERT_TO, LengthUnit.FEET, LengthUnit.INCHES));
+            assertEquals(4, cache.conversionHits());
+        } finally {
+            if (!wasEnabled) LengthMetrics.disable();
+            LengthMetrics.reset();
+        }
+    }
+
+    @Test
+    void evictsWithinCapacity() {
+        LengthCache cache = new LengthCache(16);
+        assertEquals(16, cache.capacity());
+        for (int i = 0; i < 10_000; i++) cache.intern(i, LengthUnit.INCHES);
+        long misses = cache.internMisses();
+        for (int i = 0; i < 10_000; i++) cache.intern(i, LengthUnit.INCHES);
+        long cached = 10_000 - (cache.internMisses() - misses);
+        assertTrue(cached <= 16, "at most capacity entries survive: " + cached);
+    }
+
+    @Test
+    void concurrentMissesShareOneInstance() throws Exception {
+        LengthCache cache = new LengthCache(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Length>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) results.add(pool.submit(() -> cache.convert(7.0, LengthUnit.FEET, LengthUnit.YARDS)));
+            Length first = results.get(0).get();
+            for (Future<Length> f : results) assertSame(first, f.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void clearAndValidation() {
+        LengthCache cache = new LengthCache(8);
+        cache.intern(1.0, LengthUnit.FEET);
+        cache.clear();
+        assertEquals(0, cache.internMisses());
+        assertEquals(0.0, cache.hitRate());
+        assertThrows(IllegalArgumentException.class, () -> new LengthCache(0));
+        assertThrows(IllegalArgumentException.class, () -> cache.intern(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> cache.intern(null));
+        assertThrows(IllegalArgumentException.class, () -> cache.convert(1.0, LengthUnit.FEET, null));
+        assertThrows(IllegalArgumentException.class, () -> cache.convert(1.0, LengthUnit.FEET, LengthUnit.INCHES, null));
+        assertThrows(IllegalArgumentException.class, () -> cache.convertTo(null, LengthUnit.FEET));
+    }
+}
@@ -0,0 +1,78 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * LengthCollectors: sequential and parallel streams agree exactly.
+ */
+class LengthCollectorsTest {
+
+    private static List<Length> lengths(int n) {
+        SplittableRandom rnd = new SplittableRandom(7);
+        LengthUnit[] units = LengthUnit.values();
+        List<Length> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(new Length(rnd.nextDouble(-1, 1) * Math.pow(10, rnd.nextInt(-2, 7)), units[rnd.nextInt(units.length)]));
+        }
+        return out;
+    }
+
+    @Test
+    void parallelEqualsSequential() {
+        List<Length> data = lengths(200_000);
+        for (LengthUnit target : LengthUnit.values()) {
+            assertEquals(data.stream().collect(LengthCollectors.summing(target)).getValue(),
+                    data.parallelStream().collect(LengthCollectors.summing(target)).getValue());
+            assertEquals(data.stream().collect(LengthCollectors.averaging(target)).get().getValue(),
+                    data.parallelStream().collect(LengthCollectors.averaging(target)).get().getValue());
+            assertEquals(data.stream().collect(LengthCollectors.minimum(target)),
+                    data.parallelStream().collect(LengthCollectors.minimum(target)));
+            assertEquals(data.stream().collect(LengthCollectors.maximum(target)),
+                    data.parallelStream().collect(LengthCollectors.maximum(target)));
+        }
+    }
+
+    @Test
+    void smallStreams() {
+        List<Length> data = List.of(new Length(1.0, LengthUnit.FEET), new Length(12.0, LengthUnit.INCHES),
+                new Length(1.0, LengthUnit.YARDS));
+        assertEquals(new Length(5.0, LengthUnit.FEET), data.stream().collect(LengthCollectors.summing(LengthUnit.FEET)));
+        assertEquals(Optional.of(new Length(20.0, LengthUnit.INCHES)),
+                data.stream().collect(LengthCollectors.averaging(LengthUnit.INCHES)));
+        assertEquals(Optional.of(new Length(1.0, LengthUnit.FEET)),
+                data.stream().collect(LengthCollectors.minimum(LengthUnit.FEET)));
+        assertEquals(Optional.of(new Length(91.44, LengthUnit.CENTIMETERS)),
+                data.stream().collect(LengthCollectors.maximum(LengthUnit.CENTIMETERS)));
+    }
+
+    @Test
+    void emptyStreams() {
+        assertEquals(0.0, Stream.<Length>empty().collect(LengthCollectors.summing(LengthUnit.FEET)).getValue());
+        assertEquals(Optional.empty(), Stream.<Length>empty().collect(LengthCollectors.averaging(LengthUnit.FEET)));
+        assertEquals(Optional.empty(), Stream.<Length>empty().collect(LengthCollectors.minimum(LengthUnit.FEET)));
+        assertEquals(Optional.empty(), Stream.<Length>empty().collect(LengthCollectors.maximum(LengthUnit.FEET)));
+    }
+
+    @Test
+    void rejectsNullsAndOutOfRangeValues() {
+        assertThrows(IllegalArgumentException.class, () -> LengthCollectors.summing(null));
+        assertThrows(IllegalArgumentException.class, () -> LengthCollectors.minimum(null));
+        List<Length> withNull = new ArrayList<>();
+        withNull.add(null);
+        assertThrows(IllegalArgumentException.class, () -> withNull.stream().collect(LengthCollectors.summing(LengthUnit.FEET)));
+        assertThrows(IllegalArgumentException.class, () -> withNull.stream().collect(LengthCollectors.maximum(LengthUnit.FEET)));
+        assertThrows(IllegalArgumentException.class,
+                () -> Stream.of(new Length(1e9, LengthUnit.YARDS)).collect(LengthCollectors.summing(LengthUnit.FEET)));
+    }
+}
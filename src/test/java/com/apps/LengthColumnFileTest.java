@@ -0,0 +1,141 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import com.apps.LengthColumnFile.Encoding;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * LengthColumnFile: round trips in both encodings, block pruning, FIXED range checks and corrupt files.
+ */
+class LengthColumnFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void doubleEncodingIsLossless() throws IOException {
+        Path file = dir.resolve("d.qmlc");
+        int n = 1000;
+        try (LengthColumnFile.Writer w = new LengthColumnFile.Writer(file, 256, Encoding.DOUBLE, 0)) {
+            for (int i = 0; i < n; i++) w.append(i / 3.0, LengthUnit.values()[(i / 100) % 4]);
+        }
+        try (LengthColumnFile.Reader r = new LengthColumnFile.Reader(file)) {
+            assertEquals(n, r.rowCount());
+            assertEquals(4, r.blockCount());
+            int row = 0;
+            for (int b = 0; b < r.blockCount(); b++) {
+                LengthColumnFile.Block block = r.read(b);
+                for (int i = 0; i < block.rows(); i++, row++) {
+                    assertEquals(row / 3.0, block.values()[i]);
+                    assertEquals(LengthUnit.values()[(row / 100) % 4], block.unit(i));
+                }
+            }
+            assertEquals(n, row);
+        }
+    }
+
+    @Test
+    void fixedEncodingRoundsToScale() throws IOException {
+        Path file = dir.resolve("f.qmlc");
+        try (LengthColumnFile.Writer w = new LengthColumnFile.Writer(file, 16, Encoding.FIXED, 2)) {
+            w.append(1.234, LengthUnit.FEET).append(new Length(-2.345, LengthUnit.INCHES)).append(9.999, LengthUnit.YARDS);
+        }
+        try (LengthColumnFile.Reader r = new LengthColumnFile.Reader(file)) {
+            double[] values = new double[3];
+            byte[] units = new byte[3];
+            assertEquals(3, r.read(0, values, units));
+            assertArrayEquals(new double[] {1.23, -2.35, 10.0}, values);
+            assertArrayEquals(new byte[] {0, 1, 2}, units);
+            assertEquals(2, r.info(0).getScale());
+            assertEquals(Encoding.FIXED, r.info(0).getEncoding());
+            assertEquals(-2.35, r.info(0).getMinInches());
+            assertEquals(360.0, r.info(0).getMaxInches());
+        }
+    }
+
+    @Test
+    void fixedRejectsScalesAndValuesThatWouldSaturate() throws IOException {
+        Path file = dir.resolve("x.qmlc");
+        assertThrows(IllegalArgumentException.class,
+                () -> new LengthColumnFile.Writer(file, 16, Encoding.FIXED, LengthColumnFile.MAX_SCALE + 1));
+        try (LengthColumnFile.Writer w = new LengthColumnFile.Writer(file, 16, Encoding.FIXED, 15)) {
+            w.append(9000.0, LengthUnit.INCHES);
+            assertThrows(IllegalArgumentException.class, () -> w.append(1e4, LengthUnit.INCHES));
+            assertThrows(IllegalArgumentException.class, () -> w.append(-1e4, LengthUnit.INCHES));
+        }
+        try (LengthColumnFile.Reader r = new LengthColumnFile.Reader(file)) {
+            assertEquals(1, r.rowCount());
+            assertEquals(9000.0, r.read(0).values()[0]);
+        }
+    }
+
+    @Test
+    void blocksInRangeSkipsNonOverlappingBlocks() throws IOException {
+        Path file = dir.resolve("r.qmlc");
+        try (LengthColumnFile.Writer w = new LengthColumnFile.Writer(file, 10, Encoding.DOUBLE, 0)) {
+            for (int i = 0; i < 50; i++) w.append(i, LengthUnit.INCHES);
+        }
+        try (LengthColumnFile.Reader r = new LengthColumnFile.Reader(file)) {
+            assertArrayEquals(new int[] {1, 2}, r.blocksInRange(15.0, 25.0));
+            assertArrayEquals(new int[] {0, 1, 2, 3}, r.blocksInRange(new Length(0.5, LengthUnit.FEET),
+                    new Length(1.0, LengthUnit.YARDS)));
+            assertArrayEquals(new int[0], r.blocksInRange(100.0, 200.0));
+        }
+    }
+
+    @Test
+    void runLengthsMustCoverTheBlock() throws IOException {
+        Path file = dir.resolve("c.qmlc");
+        try (LengthColumnFile.Writer w = new LengthColumnFile.Writer(file, 16, Encoding.DOUBLE, 0)) {
+            w.append(1, LengthUnit.FEET).append(2, LengthUnit.FEET).append(3, LengthUnit.FEET);
+        }
+        // file header (8) + fixed block header (30) + unit byte: the single run's length field
+        patchInt(file, 8 + 30 + 1, 2);
+        try (LengthColumnFile.Reader r = new LengthColumnFile.Reader(file)) {
+            assertThrows(IOException.class, () -> r.read(0));
+        }
+        patchInt(file, 8 + 30 + 1, -1);
+        try (LengthColumnFile.Reader r = new LengthColumnFile.Reader(file)) {
+            assertThrows(IOException.class, () -> r.read(0));
+        }
+        // run count no longer matches the block size
+        patchInt(file, 8 + 30 + 1, 3);
+        patchInt(file, 8 + 26, 2);
+        try (LengthColumnFile.Reader r = new LengthColumnFile.Reader(file)) {
+            assertThrows(IOException.class, () -> r.read(0));
+        }
+    }
+
+    @Test
+    void corruptHeadersAreRejectedOnOpen() throws IOException {
+        Path file = dir.resolve("h.qmlc");
+        try (LengthColumnFile.Writer w = new LengthColumnFile.Writer(file, 16, Encoding.DOUBLE, 0)) {
+            w.append(1, LengthUnit.FEET);
+        }
+        patchInt(file, 8 + 4, 1000); // rows larger than the block
+        assertThrows(IOException.class, () -> new LengthColumnFile.Reader(file));
+        patchInt(file, 0, 0);
+        assertThrows(IOException.class, () -> new LengthColumnFile.Reader(file));
+    }
+
+    private static void patchInt(Path file, long offset, int value) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value);
+            b.flip();
+            ch.write(b, offset);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthColumn: appends and reads across chunk boundaries, cursors, convertTo and sum.
+ */
+class LengthColumnTest {
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    @Test
+    void appendAndRandomAccess() {
+        LengthColumn c = new LengthColumn()
+                .append(1.0, LengthUnit.FEET)
+                .append(new Length(2.54, LengthUnit.CENTIMETERS))
+                .appendAll(new double[]{3.0, 4.0}, LengthUnit.YARDS);
+        assertEquals(4, c.size());
+        assertEquals(1.0, c.value(0));
+        assertEquals(LengthUnit.CENTIMETERS, c.unit(1));
+        assertEquals(12.0, c.inches(0));
+        assertEquals(new Length(4.0, LengthUnit.YARDS), c.get(3));
+        assertEquals(LengthColumn.CHUNK_ROWS * 9L, c.offHeapBytes());
+        assertThrows(IndexOutOfBoundsException.class, () -> c.value(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> c.unit(-1));
+
+        c.clear();
+        assertEquals(0, c.size());
+        assertEquals(0, c.offHeapBytes());
+    }
+
+    @Test
+    void rowsCrossChunkBoundaries() {
+        int n = LengthColumn.CHUNK_ROWS + 100;
+        SplittableRandom rnd = new SplittableRandom(5);
+        double[] v = new double[n];
+        byte[] u = new byte[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = Math.round(rnd.nextDouble(-1000, 1000) * 100) / 100.0;
+            u[i] = (byte) rnd.nextInt(UNITS.length);
+        }
+        LengthColumn c = new LengthColumn().append(0.5, LengthUnit.INCHES).appendAll(v, u);
+        assertEquals(n + 1, c.size());
+        assertEquals(2L * LengthColumn.CHUNK_ROWS * 9, c.offHeapBytes());
+
+        double[] back = new double[n];
+        byte[] backUnits = new byte[n];
+        c.read(1, back, backUnits, 0, n);
+        assertArrayEquals(v, back);
+        assertArrayEquals(u, backUnits);
+
+        LengthColumn.Cursor cursor = c.cursor(LengthColumn.CHUNK_ROWS - 2);
+        for (int i = LengthColumn.CHUNK_ROWS - 3; i < n; i++) {
+            assertTrue(cursor.next());
+            assertEquals(i + 1, cursor.index());
+            assertEquals(v[i], cursor.value());
+            assertEquals(UNITS[u[i]], cursor.unit());
+            assertEquals(UNITS[u[i]].toInches(v[i]), cursor.inches());
+        }
+        assertFalse(cursor.next());
+
+        LengthColumn cm = c.convertTo(LengthUnit.CENTIMETERS);
+        assertEquals(c.size(), cm.size());
+        for (int i = 0; i < n; i += 997) {
+            assertEquals(Length.convert(v[i], UNITS[u[i]], LengthUnit.CENTIMETERS), cm.value(i + 1));
+            assertEquals(LengthUnit.CENTIMETERS, cm.unit(i + 1));
+        }
+    }
+
+    @Test
+    void sumMatchesLengthAccumulator() {
+        LengthColumn c = new LengthColumn();
+        LengthAccumulator acc = new LengthAccumulator();
+        for (int i = 0; i < 10_000; i++) {
+            LengthUnit unit = UNITS[i % UNITS.length];
+            double value = i * 0.01;
+            c.append(value, unit);
+            acc.add(value, unit);
+        }
+        assertEquals(acc.toLength(LengthUnit.FEET), c.sum(LengthUnit.FEET));
+        assertEquals(acc.toLength(LengthUnit.FEET).getValue(), c.sum(LengthUnit.FEET).getValue());
+        assertEquals(0.0, new LengthColumn().sum(LengthUnit.INCHES).getValue());
+    }
+
+    @Test
+    void cursorSeesRowsAtCreation() {
+        LengthColumn c = new LengthColumn().append(1.0, LengthUnit.FEET);
+        LengthColumn.Cursor cursor = c.cursor();
+        c.append(2.0, LengthUnit.FEET);
+        assertTrue(cursor.next());
+        assertFalse(cursor.next());
+        assertThrows(IndexOutOfBoundsException.class, () -> c.cursor(3));
+    }
+
+    @Test
+    void rejectsBadInput() {
+        LengthColumn c = new LengthColumn();
+        assertThrows(IllegalArgumentException.class, () -> c.append(Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> c.append(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> c.appendAll(new double[]{1, Double.POSITIVE_INFINITY}, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> c.appendAll(new double[]{1}, new byte[]{(byte) UNITS.length}));
+        assertThrows(IllegalArgumentException.class, () -> c.appendAll(new double[]{1}, new byte[2]));
+        assertThrows(IllegalArgumentException.class, () -> c.convertTo(null));
+        assertEquals(0, c.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> c.read(0, new double[1], null, 0, 1));
+    }
+}
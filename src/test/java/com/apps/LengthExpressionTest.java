@@ -0,0 +1,129 @@
+package com.apps;
+
+import com.apps.LengthExpression.Comparison;
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthExpression: parsing, folded evaluation against Length.convert/add, comparisons and column forms.
+ */
+class LengthExpressionTest {
+
+    @Test
+    void literalSums() {
+        LengthExpression e = LengthExpression.compile("1 ft + 12 in");
+        assertEquals(LengthUnit.FEET, e.resultUnit());
+        assertEquals(2.0, e.evaluate());
+        assertEquals(new Length(2.0, LengthUnit.FEET), e.evaluateLength());
+        assertEquals(24.0, LengthExpression.compile("1 ft + 12 in to in").evaluate());
+        assertEquals(0.5, LengthExpression.compile("- 1 ft + 1.5 ft").evaluate());
+        assertEquals(91.44, LengthExpression.compile("1 yd in cm").evaluate());
+    }
+
+    @Test
+    void matchesLengthConvertAndAdd() {
+        LengthExpression convert = LengthExpression.compile("x ft in cm", "x");
+        LengthExpression add = LengthExpression.compile("x in + y yd in ft", "x", "y");
+        SplittableRandom rnd = new SplittableRandom(7);
+        for (int i = 0; i < 50_000; i++) {
+            double x = Math.round(rnd.nextDouble(-10_000, 10_000) * 100) / 100.0;
+            double y = rnd.nextDouble(-1e5, 1e5);
+            assertEquals(Length.convert(x, LengthUnit.FEET, LengthUnit.CENTIMETERS), convert.evaluate(x));
+            assertEquals(Length.add(x, LengthUnit.INCHES, y, LengthUnit.YARDS, LengthUnit.FEET), add.evaluate(x, y));
+        }
+    }
+
+    @Test
+    void comparisonsUseTolerance() {
+        LengthExpression eq = LengthExpression.compile("x ft == 12 in", "x");
+        assertTrue(eq.isComparison());
+        assertEquals(Comparison.EQ, eq.comparison());
+        assertTrue(eq.test(1.0));
+        assertTrue(eq.test(1.0 + 1e-8));
+        assertFalse(eq.test(1.01));
+
+        LengthExpression gt = LengthExpression.compile("x ft + y in > 2 yd", "x", "y");
+        assertTrue(gt.test(6.0, 1.0));
+        assertFalse(gt.test(6.0, 0.0));
+        assertTrue(LengthExpression.compile("x ft >= 2 yd", "x").test(6.0));
+        assertTrue(LengthExpression.compile("x in <= 1 ft", "x").test(12.0));
+        assertFalse(LengthExpression.compile("x in < 1 ft", "x").test(12.0));
+        assertTrue(LengthExpression.compile("x in != 1 ft", "x").test(13.0));
+    }
+
+    @Test
+    void columnFormsMatchRowForms() {
+        LengthExpression sum = LengthExpression.compile("a ft + b in + c cm + 1 yd in in", "a", "b", "c");
+        LengthExpression cmp = LengthExpression.compile("a ft + b in > c cm", "a", "b", "c");
+        int n = 10_000;
+        double[][] cols = new double[3][n];
+        SplittableRandom rnd = new SplittableRandom(11);
+        for (double[] col : cols) for (int i = 0; i < n; i++) col[i] = rnd.nextDouble(-100, 100);
+
+        double[] out = new double[n];
+        boolean[] holds = new boolean[n];
+        sum.evaluate(cols, out, n);
+        int matches = cmp.test(cols, holds, n);
+        double[] expected = new double[n];
+        int expectedMatches = 0;
+        for (int i = 0; i < n; i++) {
+            expected[i] = sum.evaluate(cols[0][i], cols[1][i], cols[2][i]);
+            assertEquals(cmp.test(cols[0][i], cols[1][i], cols[2][i]), holds[i]);
+            if (holds[i]) expectedMatches++;
+        }
+        assertArrayEquals(expected, out);
+        assertEquals(expectedMatches, matches);
+    }
+
+    @Test
+    void followsTheRoundingPolicy() {
+        RoundingPolicy saved = RoundingPolicy.current();
+        try {
+            RoundingPolicy.setCurrent(RoundingPolicy.of(3, RoundingPolicy.Mode.HALF_EVEN));
+            assertEquals(0.333, LengthExpression.compile("1 ft in yd").evaluate());
+        } finally {
+            RoundingPolicy.setCurrent(saved);
+        }
+    }
+
+    @Test
+    void accessors() {
+        LengthExpression e = LengthExpression.compile("x ft + y in", "x", "y");
+        assertEquals(List.of("x", "y"), e.parameters());
+        assertEquals("x ft + y in", e.toString());
+        assertFalse(e.isComparison());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1 ft +", "1 parsec", "ft", "1 ft ++ 2 in", "1 ft == 2 in == 3 in", "z ft", "1 ft in"})
+    void rejectsMalformedText(String text) {
+        assertThrows(IllegalArgumentException.class, () -> LengthExpression.compile(text, "x"));
+    }
+
+    @Test
+    void rejectsBadNamesAndCalls() {
+        assertThrows(IllegalArgumentException.class, () -> LengthExpression.compile(null));
+        assertThrows(IllegalArgumentException.class, () -> LengthExpression.compile("x ft", "ft"));
+        assertThrows(IllegalArgumentException.class, () -> LengthExpression.compile("x ft", "x", "x"));
+        assertThrows(IllegalArgumentException.class, () -> LengthExpression.compile("x ft", "1x"));
+
+        LengthExpression sum = LengthExpression.compile("x ft + y in", "x", "y");
+        assertThrows(IllegalArgumentException.class, () -> sum.evaluate(1.0));
+        assertThrows(IllegalArgumentException.class, () -> sum.evaluate(Double.NaN, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> sum.test(1.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> sum.evaluate(new double[][]{{1}, {1}}, new double[0], 1));
+        assertThrows(IllegalArgumentException.class, () -> LengthExpression.compile("1 ft > 1 in").evaluate());
+    }
+}
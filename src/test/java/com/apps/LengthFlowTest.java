@@ -0,0 +1,150 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthFlow: end-to-end totals, backpressure from a stalled consumer, and failures completing the result.
+ */
+class LengthFlowTest {
+
+    @Test
+    void pipelineTotals() {
+        SubmissionPublisher<Length> source = new SubmissionPublisher<>();
+        LengthFlow.Batcher batcher = LengthFlow.batcher(64);
+        LengthFlow.Converter toCm = LengthFlow.converter(LengthUnit.CENTIMETERS);
+        LengthFlow.Filter small = LengthFlow.filter(inches -> inches < 12.0);
+        LengthFlow.Summer sum = LengthFlow.summer(LengthUnit.INCHES);
+        source.subscribe(batcher);
+        batcher.subscribe(toCm);
+        toCm.subscribe(small);
+        small.subscribe(sum);
+
+        LengthAccumulator expected = new LengthAccumulator();
+        for (int i = 0; i < 1_000; i++) {
+            Length l = new Length(i % 20, LengthUnit.INCHES);
+            source.submit(l);
+            double cm = Length.convert(l.getValue(), l.getUnit(), LengthUnit.CENTIMETERS);
+            if (LengthUnit.CENTIMETERS.toInches(cm) < 12.0) expected.add(cm, LengthUnit.CENTIMETERS);
+        }
+        source.close();
+        assertEquals(expected.toLength(LengthUnit.INCHES), sum.result().join());
+        assertEquals(expected.count(), sum.count());
+    }
+
+    @Test
+    void stalledConsumerBlocksTheSource() throws Exception {
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try {
+            SubmissionPublisher<Length> source = new SubmissionPublisher<>(pool, 2);
+            LengthFlow.Batcher batcher = new LengthFlow.Batcher(1, pool, 2);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger received = new AtomicInteger();
+            source.subscribe(batcher);
+            batcher.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription s;
+
+                @Override public void onSubscribe(Flow.Subscription s) {
+                    this.s = s;
+                    s.request(1);
+                }
+
+                @Override public void onNext(LengthFlow.Batch item) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.incrementAndGet();
+                    s.request(1);
+                }
+
+                @Override public void onError(Throwable t) { }
+
+                @Override public void onComplete() { }
+            });
+
+            int total = 1_000;
+            AtomicInteger submitted = new AtomicInteger();
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < total; i++) {
+                    source.submit(new Length(1.0, LengthUnit.FEET));
+                    submitted.incrementAndGet();
+                }
+                source.close();
+            });
+            producer.start();
+            Thread.sleep(300);
+            // Only the small buffers between the stages can fill while the consumer is stalled
+            assertTrue(submitted.get() < 50, () -> "submitted " + submitted.get());
+            release.countDown();
+            producer.join(10_000);
+            assertEquals(total, submitted.get());
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (received.get() < total && System.nanoTime() < deadline) Thread.sleep(5);
+            assertEquals(total, received.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void summerFailureCompletesResultAndCancelsUpstream() throws Exception {
+        SubmissionPublisher<LengthFlow.Batch> source = new SubmissionPublisher<>();
+        LengthFlow.Summer sum = LengthFlow.summer(LengthUnit.FEET);
+        source.subscribe(sum);
+        source.submit(new LengthFlow.Batch(new double[]{1.0}, new byte[]{0}));
+        source.submit(new LengthFlow.Batch(new double[]{Double.NaN}, new byte[]{0}));
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> sum.result().orTimeout(10, TimeUnit.SECONDS).join());
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (source.getNumberOfSubscribers() > 0 && System.nanoTime() < deadline) Thread.sleep(5);
+        assertEquals(0, source.getNumberOfSubscribers());
+        source.close();
+    }
+
+    @Test
+    void stageFailurePropagatesToTheResult() {
+        SubmissionPublisher<Length> source = new SubmissionPublisher<>();
+        LengthFlow.Batcher batcher = LengthFlow.batcher(2);
+        LengthFlow.Filter picky = LengthFlow.filter(inches -> {
+            if (inches > 100.0) throw new IllegalStateException("too long");
+            return true;
+        });
+        LengthFlow.Summer sum = LengthFlow.summer(LengthUnit.FEET);
+        source.subscribe(batcher);
+        batcher.subscribe(picky);
+        picky.subscribe(sum);
+        source.submit(new Length(1.0, LengthUnit.FEET));
+        source.submit(new Length(10.0, LengthUnit.YARDS));
+        source.close();
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> sum.result().orTimeout(10, TimeUnit.SECONDS).join());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void rejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LengthFlow.batcher(0));
+        assertThrows(IllegalArgumentException.class, () -> LengthFlow.converter(null));
+        assertThrows(IllegalArgumentException.class, () -> LengthFlow.filter(null));
+        assertThrows(IllegalArgumentException.class, () -> LengthFlow.summer(null));
+        assertThrows(IllegalArgumentException.class, () -> new LengthFlow.Batch(new double[1], new byte[2]));
+    }
+}
@@ -0,0 +1,145 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthGroups: epsilon grouping across units and bucket edges, growth, iteration and the value range.
+ */
+class LengthGroupsTest {
+
+    private static final double EPS = Length.EPS;
+
+    @Test
+    void groupsEqualLengthsAcrossUnits() {
+        LengthGroups g = new LengthGroups();
+        assertTrue(g.add(1.0, LengthUnit.FEET));
+        assertFalse(g.add(12.0, LengthUnit.INCHES));
+        assertFalse(g.add(new Length(1.0 / 3.0, LengthUnit.YARDS)));
+        assertFalse(g.add(30.48, LengthUnit.CENTIMETERS));
+        assertEquals(1, g.size());
+        assertEquals(4, g.rows());
+        assertTrue(g.contains(12.0, LengthUnit.INCHES));
+        assertEquals(4, g.count(1.0, LengthUnit.FEET));
+        assertEquals(new Length(4.0, LengthUnit.FEET), g.sum(12.0, LengthUnit.INCHES, LengthUnit.FEET));
+        assertFalse(g.contains(13.0, LengthUnit.INCHES));
+        assertEquals(0, g.count(13.0, LengthUnit.INCHES));
+        assertNull(g.sum(13.0, LengthUnit.INCHES, LengthUnit.FEET));
+    }
+
+    @Test
+    void matchesAcrossBucketEdges() {
+        LengthGroups g = new LengthGroups();
+        double edge = 1000 * EPS;
+        assertTrue(g.add(edge - EPS / 4, LengthUnit.INCHES));
+        assertFalse(g.add(edge + EPS / 4, LengthUnit.INCHES)); // next bucket, still within EPS
+        assertTrue(g.add(edge + 2 * EPS, LengthUnit.INCHES));
+        assertEquals(2, g.size());
+        // Joins the nearer of two candidate groups
+        assertFalse(g.add(edge + 1.6 * EPS, LengthUnit.INCHES));
+        assertEquals(2, g.count(edge + 2 * EPS, LengthUnit.INCHES));
+    }
+
+    @Test
+    void prefersANearerNeighbourOverItsOwnBucket() {
+        LengthGroups g = new LengthGroups();
+        double below = 999.95 * EPS;   // bucket 999
+        double top = 1000.96 * EPS;    // bucket 1000, just over EPS from below
+        assertTrue(g.add(below, LengthUnit.INCHES));
+        assertTrue(g.add(top, LengthUnit.INCHES));
+        // Bucket 1000 has a group 0.94 EPS away, but bucket 999's is 0.07 EPS away
+        assertFalse(g.add(1000.02 * EPS, LengthUnit.INCHES));
+        assertEquals(2, g.count(below, LengthUnit.INCHES));
+        assertEquals(1, g.count(top, LengthUnit.INCHES));
+    }
+
+    @Test
+    void growsAndKeepsCounts() {
+        LengthGroups g = new LengthGroups(0);
+        int n = 100_000;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = i * 0.5;
+        assertEquals(n, g.addAll(values, LengthUnit.INCHES));
+        assertEquals(0, g.addAll(values, LengthUnit.INCHES));
+        assertEquals(n, g.size());
+        assertEquals(2L * n, g.rows());
+        for (int i = 0; i < n; i += 997) assertEquals(2, g.count(i * 0.5, LengthUnit.INCHES));
+
+        long[] rows = {0};
+        double[] sum = {0};
+        g.forEach((rep, count, sumInches) -> {
+            rows[0] += count;
+            sum[0] += sumInches;
+        });
+        assertEquals(2L * n, rows[0]);
+        assertEquals(2 * 0.5 * n * (n - 1) / 2.0, sum[0]);
+
+        double[] reps = g.representatives(LengthUnit.INCHES);
+        Arrays.sort(reps);
+        assertArrayEquals(values, reps);
+        g.clear();
+        assertEquals(0, g.size());
+        assertEquals(0, g.rows());
+        assertFalse(g.contains(0.0, LengthUnit.INCHES));
+    }
+
+    @Test
+    void addAllWithUnitOrdinals() {
+        LengthGroups g = new LengthGroups();
+        byte[] units = {
+                (byte) LengthUnit.FEET.ordinal(), (byte) LengthUnit.INCHES.ordinal(), (byte) LengthUnit.YARDS.ordinal()
+        };
+        assertEquals(2, g.addAll(new double[]{1.0, 12.0, 1.0}, units));
+        assertThrows(IllegalArgumentException.class, () -> g.addAll(new double[]{1.0}, new byte[]{(byte) 0x7f}));
+        assertThrows(IllegalArgumentException.class, () -> g.addAll(new double[]{1.0}, new byte[2]));
+    }
+
+    @Test
+    void largeMagnitudesKeepTheirOwnGroups() {
+        LengthGroups g = new LengthGroups();
+        assertTrue(g.add(-4e12, LengthUnit.INCHES));
+        assertTrue(g.add(4e12, LengthUnit.INCHES));
+        assertTrue(g.add(4.5e12, LengthUnit.INCHES));
+        assertEquals(3, g.size());
+        assertTrue(g.contains(-4e12, LengthUnit.INCHES));
+        assertFalse(g.contains(-4.5e12, LengthUnit.INCHES));
+    }
+
+    @Test
+    void rejectsValuesOutsideTheBucketRange() {
+        LengthGroups g = new LengthGroups();
+        assertThrows(IllegalArgumentException.class, () -> g.add(-1e13, LengthUnit.INCHES));
+        assertThrows(IllegalArgumentException.class, () -> g.add(1e13, LengthUnit.INCHES));
+        assertThrows(IllegalArgumentException.class, () -> g.add(2e12, LengthUnit.YARDS));
+        assertThrows(IllegalArgumentException.class, () -> g.add(-Double.MAX_VALUE, LengthUnit.INCHES));
+        assertEquals(0, g.size());
+        assertFalse(g.contains(-1e13, LengthUnit.INCHES));
+        assertFalse(g.contains(Double.NaN, LengthUnit.INCHES));
+        assertEquals(0, g.count(5e13, LengthUnit.INCHES));
+    }
+
+    @Test
+    void rejectsBadInput() {
+        LengthGroups g = new LengthGroups();
+        assertThrows(IllegalArgumentException.class, () -> new LengthGroups(-1));
+        assertThrows(IllegalArgumentException.class, () -> g.add(Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> g.add(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> g.add(null));
+        assertThrows(IllegalArgumentException.class, () -> g.addAll(null, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> g.contains(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> g.sum(1.0, LengthUnit.FEET, null));
+        assertThrows(IllegalArgumentException.class, () -> g.forEach(null));
+        assertThrows(IllegalArgumentException.class, () -> g.representatives(null));
+        assertEquals(0, g.rows());
+    }
+}
@@ -0,0 +1,104 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthIndex: tolerance equality (including huge magnitudes), ranges and k-nearest against a linear scan.
+ */
+class LengthIndexTest {
+
+    @Test
+    void findEqualUsesLengthTolerance() {
+        LengthIndex index = new LengthIndex()
+                .add(1.0, LengthUnit.FEET)
+                .add(12.0 + 5e-7, LengthUnit.INCHES)
+                .add(12.0 + 2e-6, LengthUnit.INCHES)
+                .add(30.48, LengthUnit.CENTIMETERS);
+        assertEquals(3, index.countEqual(12.0, LengthUnit.INCHES));
+        List<Length> eq = index.findEqual(new Length(1.0, LengthUnit.FEET));
+        assertEquals(3, eq.size());
+        for (Length l : eq) assertTrue(l.compare(new Length(1.0, LengthUnit.FEET)));
+    }
+
+    @Test
+    void equalityWorksBeyondEpsResolution() {
+        LengthIndex index = new LengthIndex().add(3e10, LengthUnit.INCHES).add(3e10, LengthUnit.INCHES);
+        assertEquals(2, index.countEqual(3e10, LengthUnit.INCHES));
+        assertEquals(2, index.findEqual(3e10, LengthUnit.INCHES).size());
+        assertEquals(0, index.countEqual(Math.nextUp(3e10), LengthUnit.INCHES));
+        index.bulkLoad(new double[] {-5e12, 5e12}, LengthUnit.FEET);
+        assertEquals(1, index.countEqual(-5e12, LengthUnit.FEET));
+        assertEquals(1, index.findEqual(5e12, LengthUnit.FEET).size());
+        assertEquals(2, index.countEqual(2.5e9, LengthUnit.FEET));
+    }
+
+    @Test
+    void queriesMatchALinearScan() {
+        SplittableRandom rnd = new SplittableRandom(3);
+        LengthUnit[] units = LengthUnit.values();
+        LengthIndex index = new LengthIndex();
+        List<Length> all = new ArrayList<>();
+        double[] bulk = new double[5000];
+        for (int i = 0; i < bulk.length; i++) {
+            bulk[i] = rnd.nextInt(-200, 200) / 4.0;
+            all.add(new Length(bulk[i], LengthUnit.INCHES));
+        }
+        index.bulkLoad(bulk, LengthUnit.INCHES);
+        for (int i = 0; i < 3 * LengthIndex.DELTA_CAPACITY; i++) {
+            Length l = new Length(rnd.nextInt(-200, 200) / 4.0, units[rnd.nextInt(units.length)]);
+            all.add(l);
+            index.add(l);
+        }
+        assertEquals(all.size(), index.size());
+        for (int q = 0; q < 200; q++) {
+            Length probe = new Length(rnd.nextInt(-200, 200) / 4.0, units[rnd.nextInt(units.length)]);
+            long expected = all.stream().filter(probe::compare).count();
+            assertEquals(expected, index.countEqual(probe.getValue(), probe.getUnit()));
+            assertEquals(expected, index.findEqual(probe).size());
+
+            Length hi = new Length(probe.getValue() + 10, probe.getUnit());
+            List<Length> range = index.range(probe, hi);
+            long inRange = all.stream().filter(l -> l.compareTo(probe) >= 0 && l.compareTo(hi) <= 0).count();
+            assertEquals(inRange, range.size());
+            assertEquals(inRange, index.countRange(probe, hi));
+            for (int i = 1; i < range.size(); i++) assertTrue(range.get(i - 1).compareTo(range.get(i)) <= 0);
+            assertEquals(0, index.countRange(hi, probe));
+        }
+    }
+
+    @Test
+    void nearest() {
+        LengthIndex index = new LengthIndex();
+        assertNull(index.nearest(1.0, LengthUnit.FEET));
+        index.bulkLoad(new double[] {1, 5, 9, 13}, LengthUnit.INCHES);
+        index.add(1.0, LengthUnit.FEET);
+        assertEquals(new Length(1.0, LengthUnit.FEET), index.nearest(11.9, LengthUnit.INCHES));
+        List<Length> three = index.nearest(6.0, LengthUnit.INCHES, 3);
+        assertEquals(List.of(new Length(5, LengthUnit.INCHES), new Length(9, LengthUnit.INCHES),
+                new Length(1, LengthUnit.INCHES)), three);
+        assertEquals(5, index.nearest(0.0, LengthUnit.INCHES, 10).size());
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(0.0, LengthUnit.INCHES, -1));
+    }
+
+    @Test
+    void rejectsBadInput() {
+        LengthIndex index = new LengthIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.add(Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> index.add(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> index.bulkLoad(new double[1], new byte[] {7}));
+        assertThrows(IllegalArgumentException.class, () -> index.bulkLoad(new double[1], new byte[2]));
+        assertThrows(IllegalArgumentException.class, () -> index.countEqual(Double.POSITIVE_INFINITY, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> index.range(null, new Length(1, LengthUnit.FEET)));
+    }
+}
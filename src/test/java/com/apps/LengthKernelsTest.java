@@ -0,0 +1,172 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthKernels against the per-object Length methods, on the Vector API and scalar paths, and
+ * validation before any output is written.
+ */
+class LengthKernelsTest {
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    private static double[] values(SplittableRandom rnd, int n) {
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = Math.round(rnd.nextDouble(-10_000, 10_000) * 100) / 100.0;
+        return v;
+    }
+
+    private static byte[] units(SplittableRandom rnd, int n) {
+        byte[] u = new byte[n];
+        for (int i = 0; i < n; i++) u[i] = (byte) rnd.nextInt(UNITS.length);
+        return u;
+    }
+
+    private static void onBothPaths(Runnable check) {
+        boolean saved = LengthKernels.vector;
+        try {
+            LengthKernels.vector = false;
+            check.run();
+            LengthKernels.vector = saved;
+            check.run();
+        } finally {
+            LengthKernels.vector = saved;
+        }
+    }
+
+    @Test
+    void vectorPathIsUsedWhenTheModuleIsPresent() {
+        // surefire runs with --add-modules jdk.incubator.vector
+        assertTrue(LengthKernels.vector);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 8, 9, 63, 1_000})
+    void matchLengthMethods(int n) {
+        SplittableRandom rnd = new SplittableRandom(n);
+        double[] a = values(rnd, n), b = values(rnd, n);
+        byte[] ua = units(rnd, n), ub = units(rnd, n);
+        LengthUnit target = UNITS[n % UNITS.length];
+        onBothPaths(() -> {
+            double[] converted = new double[n], sums = new double[n];
+            boolean[] eq = new boolean[n];
+            LengthKernels.convert(a, ua, target, converted);
+            LengthKernels.add(a, ua, b, ub, target, sums);
+            int matches = LengthKernels.compare(a, ua, a, ua, eq);
+            for (int i = 0; i < n; i++) {
+                LengthUnit u1 = UNITS[ua[i]], u2 = UNITS[ub[i]];
+                assertEquals(Length.convert(a[i], u1, target), converted[i]);
+                assertEquals(Length.add(a[i], u1, b[i], u2, target), sums[i]);
+                assertTrue(eq[i]);
+            }
+            assertEquals(n, matches);
+        });
+    }
+
+    @Test
+    void compareMatchesLengthCompare() {
+        int n = 500;
+        SplittableRandom rnd = new SplittableRandom(3);
+        double[] a = new double[n], b = new double[n];
+        byte[] ua = new byte[n], ub = new byte[n];
+        int expected = 0;
+        for (int i = 0; i < n; i++) {
+            ua[i] = (byte) LengthUnit.FEET.ordinal();
+            ub[i] = (byte) LengthUnit.INCHES.ordinal();
+            a[i] = rnd.nextInt(100);
+            b[i] = rnd.nextBoolean() ? a[i] * 12 : a[i] * 12 + 1;
+            if (new Length(a[i], LengthUnit.FEET).compare(new Length(b[i], LengthUnit.INCHES))) expected++;
+        }
+        int want = expected;
+        onBothPaths(() -> {
+            boolean[] out = new boolean[n];
+            assertEquals(want, LengthKernels.compare(a, ua, b, ub, out));
+            for (int i = 0; i < n; i++) assertEquals(a[i] * 12 == b[i], out[i]);
+        });
+    }
+
+    @Test
+    void convertInPlace() {
+        onBothPaths(() -> {
+            double[] v = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+            byte[] u = new byte[v.length];
+            LengthKernels.convert(v, u, LengthUnit.INCHES, v);
+            assertArrayEquals(new double[]{12, 24, 36, 48, 60, 72, 84, 96, 108, 120}, v);
+        });
+    }
+
+    @Test
+    void badInputLeavesAliasedOutputUntouched() {
+        onBothPaths(() -> {
+            double[] v = {1, Double.NaN, 2};
+            byte[] u = new byte[3];
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> LengthKernels.convert(v, u, LengthUnit.INCHES, v));
+            assertEquals("Value must be finite at index 1", e.getMessage());
+            assertArrayEquals(new double[]{1, Double.NaN, 2}, v);
+
+            double[] w = new double[20];
+            byte[] wu = new byte[20];
+            w[17] = Double.POSITIVE_INFINITY;
+            double[] copy = w.clone();
+            e = assertThrows(IllegalArgumentException.class, () -> LengthKernels.add(copy, wu, copy, wu, LengthUnit.FEET, copy));
+            assertEquals("Value must be finite at index 17", e.getMessage());
+            assertArrayEquals(w, copy);
+
+            byte[] bad = new byte[20];
+            bad[12] = (byte) 200;
+            double[] out = new double[20];
+            e = assertThrows(IllegalArgumentException.class,
+                    () -> LengthKernels.convert(new double[20], bad, LengthUnit.FEET, out));
+            assertEquals("Unknown unit ordinal 200 at index 12", e.getMessage());
+            assertArrayEquals(new double[20], out);
+            assertThrows(IllegalArgumentException.class,
+                    () -> LengthKernels.compare(new double[20], new byte[20], new double[20], bad, new boolean[20]));
+        });
+    }
+
+    @Test
+    void followsTheCurrentRoundingPolicy() {
+        RoundingPolicy saved = RoundingPolicy.current();
+        try {
+            RoundingPolicy.setCurrent(RoundingPolicy.of(4, RoundingPolicy.Mode.HALF_EVEN));
+            onBothPaths(() -> {
+                double[] v = new double[17];
+                byte[] u = new byte[17];
+                for (int i = 0; i < v.length; i++) {
+                    v[i] = i + 0.123;
+                    u[i] = (byte) LengthUnit.INCHES.ordinal();
+                }
+                double[] out = new double[17];
+                LengthKernels.convert(v, u, LengthUnit.FEET, out);
+                for (int i = 0; i < v.length; i++) assertEquals(Length.convert(v[i], LengthUnit.INCHES, LengthUnit.FEET), out[i]);
+            });
+        } finally {
+            RoundingPolicy.setCurrent(saved);
+        }
+    }
+
+    @Test
+    void round2AndArgumentChecks() {
+        double[] out = new double[3];
+        LengthKernels.round2(new double[]{1.005, -2.345, 3.14159}, out);
+        assertArrayEquals(new double[]{Math.round(1.005 * 100) / 100.0, Math.round(-2.345 * 100) / 100.0, 3.14}, out);
+        assertThrows(IllegalArgumentException.class, () -> LengthKernels.convert(null, new byte[0], LengthUnit.FEET, out));
+        assertThrows(IllegalArgumentException.class, () -> LengthKernels.convert(new double[2], new byte[3], LengthUnit.FEET, out));
+        assertThrows(IllegalArgumentException.class, () -> LengthKernels.convert(new double[2], new byte[2], null, out));
+        assertThrows(IllegalArgumentException.class, () -> LengthKernels.convert(new double[4], new byte[4], LengthUnit.FEET, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> LengthKernels.add(new double[2], new byte[2], new double[3], new byte[3], LengthUnit.FEET, out));
+    }
+}
@@ -0,0 +1,197 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthLog: replay after clean and unclean shutdowns, torn writes, segment skipping and background
+ * snapshots.
+ */
+class LengthLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static final int SEGMENT = 4096;
+
+    private static Path segment(Path dir, long base) {
+        return dir.resolve(String.format("%016x.wal", base));
+    }
+
+    private static long segmentCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".wal")).count();
+        }
+    }
+
+    @Test
+    void replaysAfterCleanClose() throws IOException {
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            log.add("a", 1.0, LengthUnit.FEET);
+            log.add("a", new Length(12.0, LengthUnit.INCHES));
+            long end = log.append("b", 2.54, LengthUnit.CENTIMETERS);
+            log.sync(end);
+            assertEquals(end, log.durablePosition());
+        }
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            assertEquals(3, log.recoveredRecords());
+            assertEquals(new Length(2.0, LengthUnit.FEET), log.get("a", LengthUnit.FEET));
+            assertEquals(1.0, log.totals(LengthUnit.INCHES).get("b").getValue());
+            log.add("b", 1.0, LengthUnit.INCHES);
+        }
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            assertEquals(4, log.recoveredRecords());
+            assertEquals(2.0, log.get("b", LengthUnit.INCHES).getValue());
+        }
+    }
+
+    @Test
+    void recordsSpanSegments() throws IOException {
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            for (int i = 0; i < 1_000; i++) log.append("key-" + (i % 7), 1.0, LengthUnit.INCHES);
+            log.sync(log.position());
+        }
+        assertTrue(segmentCount(dir) > 1);
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            assertEquals(1_000, log.recoveredRecords());
+            assertEquals(143.0, log.get("key-0", LengthUnit.INCHES).getValue());
+        }
+    }
+
+    @Test
+    void tornWriteIsDiscardedAndCleared() throws IOException {
+        long end;
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            log.add("a", 1.0, LengthUnit.FEET);
+            end = log.position();
+        }
+        // A crash mid-append: a record length and part of a payload past the last record, no end marker
+        try (FileChannel ch = FileChannel.open(segment(dir, 0), StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+            torn.putInt(20).putInt(0xDEADBEEF).putLong(-1L).putLong(-1L).flip();
+            ch.write(torn, end);
+            ByteBuffer junk = ByteBuffer.allocate(8);
+            junk.putLong(0x0102030405060708L).flip();
+            ch.write(junk, SEGMENT - 16);
+        }
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            assertEquals(1, log.recoveredRecords());
+            assertEquals(end, log.position());
+            log.add("a", 1.0, LengthUnit.FEET);
+        }
+        byte[] bytes = Files.readAllBytes(segment(dir, 0));
+        for (int i = SEGMENT - 16; i < SEGMENT; i++) assertEquals(0, bytes[i], "byte " + i);
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            assertEquals(2, log.recoveredRecords());
+            assertEquals(2.0, log.get("a", LengthUnit.FEET).getValue());
+        }
+    }
+
+    @Test
+    void segmentsBeforeTheSnapshotAreNotMapped() throws IOException {
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            for (int i = 0; i < 500; i++) log.append("a", 1.0, LengthUnit.INCHES);
+            log.snapshot();
+            assertEquals(log.position(), log.snapshotPosition());
+            log.add("a", 1.0, LengthUnit.INCHES);
+        }
+        // A stale, empty first segment (e.g. its deletion was lost): mapping it would grow it
+        assertFalse(Files.exists(segment(dir, 0)));
+        Files.createFile(segment(dir, 0));
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            assertEquals(1, log.recoveredRecords());
+            assertEquals(501.0, log.get("a", LengthUnit.INCHES).getValue());
+        }
+        assertEquals(0, Files.size(segment(dir, 0)));
+    }
+
+    @Test
+    void automaticSnapshotsRunInTheBackground() throws Exception {
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 10)) {
+            for (int i = 0; i < 25; i++) log.append("a", 1.0, LengthUnit.FEET);
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (log.snapshotPosition() == 0 && System.nanoTime() < deadline) Thread.sleep(5);
+            assertTrue(log.snapshotPosition() > 0);
+        }
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 10)) {
+            assertTrue(log.recoveredRecords() < 25);
+            assertEquals(25.0, log.get("a", LengthUnit.FEET).getValue());
+        }
+    }
+
+    @Test
+    void failedRollLeavesLogAndTotalsUntouched() throws IOException {
+        int appended = 0;
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            Files.createDirectory(segment(dir, SEGMENT)); // the next segment cannot be mapped
+            long before = -1;
+            for (int i = 0; i < SEGMENT; i++) {
+                before = log.position();
+                try {
+                    log.append("a", 1.0, LengthUnit.INCHES);
+                    appended++;
+                } catch (UncheckedIOException e) {
+                    break;
+                }
+            }
+            assertTrue(appended > 0 && appended < SEGMENT);
+            assertEquals(before, log.position());
+            assertEquals(appended, log.get("a", LengthUnit.INCHES).getValue());
+            // Once the disk problem is gone the next append rolls normally
+            Files.delete(segment(dir, SEGMENT));
+            log.append("a", 1.0, LengthUnit.INCHES);
+            assertEquals(SEGMENT + 20, log.position());
+        }
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            assertEquals(appended + 1, log.recoveredRecords());
+            assertEquals(appended + 1, log.get("a", LengthUnit.INCHES).getValue());
+        }
+    }
+
+    @Test
+    void rejectedValueIsNotLogged() throws IOException {
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            log.add("a", 1.0, LengthUnit.FEET);
+            long end = log.position();
+            assertThrows(IllegalArgumentException.class, () -> log.append("a", 1e300, LengthUnit.INCHES));
+            assertEquals(end, log.position());
+            assertEquals(12.0, log.get("a", LengthUnit.INCHES).getValue());
+        }
+        try (LengthLog log = LengthLog.open(dir, SEGMENT, 0)) {
+            assertEquals(1, log.recoveredRecords());
+        }
+    }
+
+    @Test
+    void rejectsBadInputAndUseAfterClose() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> LengthLog.open(null));
+        assertThrows(IllegalArgumentException.class, () -> LengthLog.open(dir, 1024, 0));
+        assertThrows(IllegalArgumentException.class, () -> LengthLog.open(dir, SEGMENT, -1));
+        LengthLog log = LengthLog.open(dir, SEGMENT, 0);
+        assertThrows(IllegalArgumentException.class, () -> log.append(null, 1.0, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> log.append("a", Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> log.append("a", 1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> log.append("x".repeat(2000), 1.0, LengthUnit.FEET));
+        log.close();
+        log.close();
+        assertThrows(IllegalStateException.class, () -> log.append("a", 1.0, LengthUnit.FEET));
+        assertThrows(IllegalStateException.class, log::snapshot);
+    }
+}
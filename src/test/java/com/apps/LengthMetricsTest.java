@@ -0,0 +1,141 @@
+package com.apps;
+
+import com.apps.LengthMetrics.Op;
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthMetrics: per-pair counters, validation failures, latency quantiles, dump and the MXBean.
+ */
+class LengthMetricsTest {
+
+    private boolean wasEnabled;
+
+    @BeforeEach
+    void enableAndReset() {
+        wasEnabled = LengthMetrics.isEnabled();
+        LengthMetrics.enable();
+        LengthMetrics.reset();
+    }
+
+    @AfterEach
+    void restore() {
+        if (!wasEnabled) LengthMetrics.disable();
+        LengthMetrics.reset();
+    }
+
+    @Test
+    void countsPerOperationAndUnitPair() {
+        Length.convert(1.0, LengthUnit.FEET, LengthUnit.INCHES);
+        Length.convert(2.0, LengthUnit.FEET, LengthUnit.INCHES);
+        new Length(1.0, LengthUnit.YARDS).convertTo(LengthUnit.CENTIMETERS);
+        new Length(1.0, LengthUnit.FEET).add(new Length(1.0, LengthUnit.INCHES));
+        Length.add(1.0, LengthUnit.INCHES, 1.0, LengthUnit.YARDS, LengthUnit.FEET);
+        new Length(1.0, LengthUnit.FEET).equals(new Length(12.0, LengthUnit.INCHES));
+
+        assertEquals(2, LengthMetrics.count(Op.CONVERT, LengthUnit.FEET, LengthUnit.INCHES));
+        assertEquals(2, LengthMetrics.count(Op.CONVERT));
+        assertEquals(1, LengthMetrics.count(Op.CONVERT_TO, LengthUnit.YARDS, LengthUnit.CENTIMETERS));
+        assertEquals(1, LengthMetrics.count(Op.ADD, LengthUnit.FEET, LengthUnit.INCHES));
+        assertEquals(1, LengthMetrics.count(Op.ADD, LengthUnit.INCHES, LengthUnit.YARDS));
+        assertEquals(1, LengthMetrics.count(Op.EQUALS, LengthUnit.FEET, LengthUnit.INCHES));
+    }
+
+    @Test
+    void libraryConversionsAreNotCounted() {
+        LengthAccumulator acc = new LengthAccumulator().add(1.0, LengthUnit.FEET);
+        acc.toLength(LengthUnit.INCHES);
+        new LengthSketch().add(1.0, LengthUnit.FEET).quantile(0.5, LengthUnit.INCHES);
+        LengthGroups groups = new LengthGroups();
+        groups.add(1.0, LengthUnit.FEET);
+        groups.sum(1.0, LengthUnit.FEET, LengthUnit.INCHES);
+        LengthTotals<String> totals = new LengthTotals<>(2);
+        totals.add("a", 1.0, LengthUnit.FEET);
+        totals.get("a", LengthUnit.INCHES);
+        List<LengthWindows.Window> windows = new ArrayList<>();
+        LengthWindows w = LengthWindows.tumbling(10, 0, LengthUnit.INCHES, windows::add);
+        w.add(1, 1.0, LengthUnit.FEET);
+        w.flush();
+        Stream.of(new Length(1.0, LengthUnit.FEET)).collect(LengthCollectors.averaging(LengthUnit.INCHES));
+        Stream.of(new Length(1.0, LengthUnit.FEET)).collect(LengthCollectors.maximum(LengthUnit.INCHES));
+
+        assertEquals(1, windows.size());
+        assertEquals(0, LengthMetrics.count(Op.CONVERT));
+        assertEquals(0, LengthMetrics.count(Op.CONVERT_TO));
+    }
+
+    @Test
+    void disabledRecordsNothing() {
+        LengthMetrics.disable();
+        Length.convert(1.0, LengthUnit.FEET, LengthUnit.INCHES);
+        assertThrows(IllegalArgumentException.class, () -> Length.convert(Double.NaN, LengthUnit.FEET, LengthUnit.INCHES));
+        assertEquals(0, LengthMetrics.count(Op.CONVERT));
+        assertEquals(0, LengthMetrics.failures(Op.CONVERT));
+        assertTrue(LengthMetrics.dump().startsWith("LengthMetrics (disabled)"));
+    }
+
+    @Test
+    void validationFailuresAreCountedAndRethrown() {
+        assertThrows(IllegalArgumentException.class, () -> Length.convert(Double.NaN, LengthUnit.FEET, LengthUnit.INCHES));
+        assertThrows(IllegalArgumentException.class, () -> Length.convert(1.0, null, LengthUnit.INCHES));
+        assertThrows(IllegalArgumentException.class, () -> new Length(1.0, LengthUnit.FEET).add(null));
+        assertEquals(2, LengthMetrics.failures(Op.CONVERT));
+        assertEquals(1, LengthMetrics.failures(Op.ADD));
+        assertEquals(0, LengthMetrics.count(Op.CONVERT));
+    }
+
+    @Test
+    void latencyQuantilesAreOrdered() {
+        assertEquals(0, LengthMetrics.latencyNanos(Op.CONVERT, 0.5));
+        for (int i = 0; i < 1_000; i++) Length.convert(i, LengthUnit.FEET, LengthUnit.CENTIMETERS);
+        long p50 = LengthMetrics.latencyNanos(Op.CONVERT, 0.50);
+        long p99 = LengthMetrics.latencyNanos(Op.CONVERT, 0.99);
+        long max = LengthMetrics.latencyNanos(Op.CONVERT, 1.0);
+        assertTrue(p50 > 0);
+        assertTrue(p50 <= p99 && p99 <= max, () -> p50 + " " + p99 + " " + max);
+    }
+
+    @Test
+    void dumpListsNonZeroPairs() {
+        Length.convert(1.0, LengthUnit.YARDS, LengthUnit.FEET);
+        String dump = LengthMetrics.dump();
+        assertTrue(dump.startsWith("LengthMetrics (enabled)"));
+        assertTrue(dump.contains("YARDS->FEET 1"));
+        assertFalse(dump.contains("FEET->YARDS"));
+    }
+
+    @Test
+    void mxBeanExposesCounters() throws Exception {
+        ObjectName name = LengthMetrics.registerMBean();
+        assertEquals(name, LengthMetrics.registerMBean());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        LengthMetricsMXBean bean = JMX.newMXBeanProxy(server, name, LengthMetricsMXBean.class);
+
+        Length.convert(1.0, LengthUnit.FEET, LengthUnit.INCHES);
+        assertTrue(bean.isEnabled());
+        assertEquals(1L, bean.getOperationCounts().get("CONVERT"));
+        assertEquals(1L, bean.getUnitPairCounts().get("CONVERT FEET->INCHES"));
+        assertEquals(0L, bean.getValidationFailures().get("ADD"));
+
+        bean.reset();
+        assertEquals(0, LengthMetrics.count(Op.CONVERT));
+        bean.setEnabled(false);
+        assertFalse(LengthMetrics.isEnabled());
+    }
+}
@@ -0,0 +1,148 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthParser and LengthFormat: agreement with Double.parseDouble and Length.toString, and round trips.
+ */
+class LengthParserTest {
+
+    @Test
+    void parsesTheToStringFormat() {
+        LengthParser p = new LengthParser();
+        assertTrue(p.parse("3.5 ft"));
+        assertEquals(3.5, p.value());
+        assertEquals(LengthUnit.FEET, p.unit());
+        assertEquals(new Length(-2.54, LengthUnit.CENTIMETERS), LengthParser.parseLength("-2.54 cm"));
+        assertEquals(new Length(1.5e8, LengthUnit.INCHES), LengthParser.parseLength("1.5E8 in"));
+        assertEquals(new Length(2.0, LengthUnit.YARDS), LengthParser.parseLength("  +2 Yards  "));
+        assertEquals(new Length(7.0, LengthUnit.INCHES), LengthParser.parseLength("7,in"));
+        assertEquals(new Length(7.0, LengthUnit.FEET), LengthParser.parseLength("7 ; FT"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ft", "1.5", "1.5 parsecs", "1..5 ft", "1e ft", "- ft", "1 ft x", "1e999 ft", "1 f t"})
+    void rejectsMalformedInput(String text) {
+        assertFalse(new LengthParser().parse(text));
+        assertThrows(IllegalArgumentException.class, () -> LengthParser.parseLength(text));
+    }
+
+    @Test
+    void valuesMatchDoubleParseDouble() {
+        SplittableRandom rnd = new SplittableRandom(11);
+        LengthParser p = new LengthParser();
+        String[] numbers = {"0.1", "0.3", "123456789012345", "1234567890123456789", "9007199254740993",
+                "1e22", "1e23", "4.9e-324", "2.2250738585072014E-308", "0.000000000000000000001", "-0", "00012.50"};
+        for (String n : numbers) {
+            assertTrue(p.parse(n + " in"), n);
+            assertEquals(Double.parseDouble(n), p.value(), n);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            String n = Double.toString(Double.longBitsToDouble(rnd.nextLong() >>> 2) * (rnd.nextBoolean() ? 1 : -1));
+            if (n.contains("Infinity") || n.contains("NaN")) continue;
+            assertTrue(p.parse(n + " cm"), n);
+            assertEquals(Double.parseDouble(n), p.value(), n);
+        }
+    }
+
+    @Test
+    void parsesByteBufferRanges() {
+        ByteBuffer buf = ByteBuffer.wrap("xx12.25 ydyy".getBytes(StandardCharsets.US_ASCII));
+        LengthParser p = new LengthParser();
+        assertTrue(p.parse(buf, 2, 10));
+        assertEquals(new Length(12.25, LengthUnit.YARDS), p.toLength());
+        assertEquals(0, buf.position());
+        assertThrows(IllegalArgumentException.class, () -> p.parse(buf, 5, 99));
+        assertTrue(p.parse("ab1 in", 2, 6));
+        assertThrows(IllegalStateException.class, () -> new LengthParser().toLength());
+    }
+
+    @Test
+    void parseUnit() {
+        assertEquals(LengthUnit.CENTIMETERS, LengthParser.parseUnit(" CM "));
+        assertEquals(LengthUnit.INCHES, LengthParser.parseUnit("inches"));
+        assertNull(LengthParser.parseUnit("m"));
+        assertNull(LengthParser.parseUnit(null));
+    }
+
+    @Test
+    void formatMatchesToStringAndRoundTrips() {
+        SplittableRandom rnd = new SplittableRandom(5);
+        LengthUnit[] units = LengthUnit.values();
+        StringBuilder sb = new StringBuilder();
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        LengthParser p = new LengthParser();
+        for (int i = 0; i < 100_000; i++) {
+            double v = rnd.nextDouble(-1, 1) * Math.pow(10, rnd.nextInt(-4, 12));
+            LengthUnit u = units[rnd.nextInt(units.length)];
+            String expected = (Math.round(v * 100) / 100.0) + " " + u.getSymbol();
+            sb.setLength(0);
+            assertEquals(expected, LengthFormat.format(v, u, sb).toString());
+            buf.clear();
+            LengthFormat.format(v, u, buf);
+            assertEquals(expected, new String(buf.array(), 0, buf.position(), StandardCharsets.US_ASCII));
+            assertTrue(p.parse(expected));
+            assertEquals(Math.round(v * 100) / 100.0, p.value());
+            assertEquals(u, p.unit());
+        }
+    }
+
+    @Test
+    void formatFollowsTheRoundingPolicy() {
+        RoundingPolicy before = RoundingPolicy.current();
+        try {
+            RoundingPolicy.setCurrent(RoundingPolicy.of(3, RoundingPolicy.Mode.HALF_EVEN));
+            assertEquals("0.333 yd", LengthFormat.format(1.0 / 3, LengthUnit.YARDS, new StringBuilder()).toString());
+            RoundingPolicy.setCurrent(RoundingPolicy.of(2, RoundingPolicy.Mode.TRUNCATE));
+            assertEquals("0.29 ft", LengthFormat.format(0.29, LengthUnit.FEET, new StringBuilder()).toString());
+            assertEquals("-1.99 ft", LengthFormat.format(-1.999, LengthUnit.FEET, new StringBuilder()).toString());
+        } finally {
+            RoundingPolicy.setCurrent(before);
+        }
+    }
+
+    @Test
+    void formatBeyondTheLongStepRangeMatchesToString() {
+        RoundingPolicy before = RoundingPolicy.current();
+        try {
+            // steps() would saturate at these magnitudes; the fallback prints the policy's rounded value
+            for (RoundingPolicy.Mode mode : new RoundingPolicy.Mode[]{RoundingPolicy.Mode.HALF_EVEN,
+                    RoundingPolicy.Mode.TRUNCATE}) {
+                RoundingPolicy.setCurrent(RoundingPolicy.of(2, mode));
+                for (double v : new double[]{1e18, -1e18, 9.3e16}) {
+                    String expected = new Length(v, LengthUnit.FEET).toString();
+                    assertEquals(expected, LengthFormat.format(v, LengthUnit.FEET, new StringBuilder()).toString());
+                    ByteBuffer buf = LengthFormat.format(v, LengthUnit.FEET, ByteBuffer.allocate(64)).flip();
+                    assertEquals(expected, StandardCharsets.US_ASCII.decode(buf).toString());
+                }
+                assertEquals("1.0E18 ft", LengthFormat.format(1e18, LengthUnit.FEET, new StringBuilder()).toString());
+            }
+        } finally {
+            RoundingPolicy.setCurrent(before);
+        }
+    }
+
+    @Test
+    void formatValidation() {
+        assertThrows(IllegalArgumentException.class, () -> LengthFormat.format(1.0, null, new StringBuilder()));
+        assertThrows(IllegalArgumentException.class, () -> LengthFormat.format(1.0, LengthUnit.FEET, (StringBuilder) null));
+        assertThrows(IllegalArgumentException.class, () -> LengthFormat.format((Length) null, new StringBuilder()));
+        assertThrows(BufferOverflowException.class,
+                () -> LengthFormat.format(123456.0, LengthUnit.FEET, ByteBuffer.allocate(4)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.apps;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthServer endpoints over HTTP on localhost: single and batch convert/add, and error statuses.
+ */
+class LengthServerTest {
+
+    private static LengthServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = LengthServer.start(0);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    private static HttpResponse<String> get(String pathAndQuery) throws Exception {
+        URI uri = URI.create("http://localhost:" + server.getPort() + pathAndQuery);
+        return client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String pathAndQuery, String body) throws Exception {
+        URI uri = URI.create("http://localhost:" + server.getPort() + pathAndQuery);
+        return client.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void startLeavesNodelayPropertyToTheCaller() {
+        assertNull(System.getProperty("sun.net.httpserver.nodelay"));
+    }
+
+    @Test
+    void convertOne() throws Exception {
+        HttpResponse<String> r = get("/convert?value=3&from=ft&to=in");
+        assertEquals(200, r.statusCode());
+        assertEquals("36.0 in\n", r.body());
+    }
+
+    @Test
+    void addOne() throws Exception {
+        assertEquals("2.0 ft\n", get("/add?v1=1&u1=ft&v2=12&u2=in").body());
+        assertEquals("24.0 in\n", get("/add?v1=1&u1=ft&v2=12&u2=in&to=in").body());
+    }
+
+    @Test
+    void convertBatchKeepsLinesAligned() throws Exception {
+        HttpResponse<String> r = post("/convert/batch?to=cm", "3 ft\r\nnot a length\n1 yd");
+        assertEquals(200, r.statusCode());
+        assertEquals("91.44 cm\ninvalid\n91.44 cm\n", r.body());
+    }
+
+    @Test
+    void addBatchHandlesExponentSigns() throws Exception {
+        assertEquals("2.0 ft\n1001.0 in\n", post("/add/batch", "1 ft + 12 in\n1e+3 in + 1 in\n").body());
+        assertEquals("24.0 in\n", post("/add/batch?to=in", "1 ft + 1 ft\n").body());
+    }
+
+    @Test
+    void errorStatuses() throws Exception {
+        HttpResponse<String> missing = get("/convert?value=3&from=ft");
+        assertEquals(400, missing.statusCode());
+        assertTrue(missing.body().contains("to"));
+        assertEquals(400, get("/convert?value=x&from=ft&to=in").statusCode());
+        assertEquals(400, get("/convert?value=1&from=parsec&to=in").statusCode());
+        assertEquals(405, post("/convert", "").statusCode());
+        assertEquals(404, get("/convert/elsewhere").statusCode());
+    }
+}
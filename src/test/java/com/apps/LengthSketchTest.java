@@ -0,0 +1,127 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthSketch: rank error against exact quantiles, seeded reproducibility, merge and serialization.
+ */
+class LengthSketchTest {
+
+    private static double[] shuffledRange(int n, long seed) {
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = i;
+        SplittableRandom rnd = new SplittableRandom(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            double t = v[i];
+            v[i] = v[j];
+            v[j] = t;
+        }
+        return v;
+    }
+
+    // Rank of value among 0..n-1 is the value itself
+    private static void assertRankError(LengthSketch s, int n, double maxError) {
+        for (double q : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99}) {
+            double rank = s.quantileInches(q) / n;
+            assertTrue(Math.abs(rank - q) <= maxError, () -> "q=" + q + " rank=" + rank);
+        }
+    }
+
+    @Test
+    void quantilesWithinRankError() {
+        int n = 200_000;
+        LengthSketch s = new LengthSketch(200, 1);
+        for (double v : shuffledRange(n, 2)) s.add(v, LengthUnit.INCHES);
+        assertEquals(n, s.count());
+        assertTrue(s.retainedItems() < 3 * 200 + 64, () -> "retained " + s.retainedItems());
+        assertRankError(s, n, 0.02);
+        assertEquals(0.0, s.quantileInches(0.0));
+        assertEquals(n - 1, s.quantileInches(1.0));
+    }
+
+    @Test
+    void sameSeedSameSketch() {
+        double[] data = shuffledRange(50_000, 3);
+        LengthSketch a = new LengthSketch(64, 42);
+        LengthSketch b = new LengthSketch(64, 42);
+        for (double v : data) {
+            a.add(v, LengthUnit.FEET);
+            b.add(v, LengthUnit.FEET);
+        }
+        assertArrayEquals(a.toBytes(), b.toBytes());
+        assertEquals(a.quantileInches(0.5), b.quantileInches(0.5));
+        // A zero seed still drives the generator
+        LengthSketch z = new LengthSketch(64, 0x9E3779B97F4A7C15L);
+        for (double v : data) z.add(v, LengthUnit.INCHES);
+        assertRankError(z, data.length, 0.05);
+    }
+
+    @Test
+    void smallSketchesAreExact() {
+        LengthSketch s = new LengthSketch(200, 7);
+        s.add(3.0, LengthUnit.FEET).add(new Length(1.0, LengthUnit.YARDS)).add(12.0, LengthUnit.INCHES);
+        assertEquals(new Length(1.0, LengthUnit.FEET), s.min(LengthUnit.FEET));
+        assertEquals(new Length(1.0, LengthUnit.YARDS), s.quantile(0.5, LengthUnit.YARDS));
+        assertEquals(new Length(3.0, LengthUnit.FEET), s.max(LengthUnit.FEET));
+        assertEquals(91.44, s.quantile(0.5, LengthUnit.CENTIMETERS).getValue());
+    }
+
+    @Test
+    void mergeMatchesOneSketch() {
+        int n = 100_000;
+        double[] data = shuffledRange(n, 4);
+        LengthSketch left = new LengthSketch(200, 5);
+        LengthSketch right = new LengthSketch(200, 6);
+        for (int i = 0; i < n; i++) (i % 2 == 0 ? left : right).add(data[i], LengthUnit.INCHES);
+        left.merge(right);
+        assertEquals(n, left.count());
+        assertEquals(n / 2, right.count());
+        assertRankError(left, n, 0.02);
+        assertEquals(0.0, left.quantileInches(0.0));
+        assertEquals(n - 1, left.quantileInches(1.0));
+        assertEquals(left.count(), left.merge(new LengthSketch()).count());
+    }
+
+    @Test
+    void serializationRoundTrips() {
+        LengthSketch s = new LengthSketch(32, 9);
+        for (double v : shuffledRange(10_000, 8)) s.add(v, LengthUnit.CENTIMETERS);
+        byte[] bytes = s.toBytes();
+        LengthSketch back = LengthSketch.fromBytes(bytes);
+        assertEquals(s.k(), back.k());
+        assertEquals(s.count(), back.count());
+        assertEquals(s.retainedItems(), back.retainedItems());
+        for (double q : new double[]{0.0, 0.3, 0.5, 0.99, 1.0}) assertEquals(s.quantileInches(q), back.quantileInches(q));
+        assertArrayEquals(bytes, back.toBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> LengthSketch.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> LengthSketch.fromBytes(Arrays.copyOf(bytes, bytes.length + 8)));
+        byte[] badMagic = bytes.clone();
+        badMagic[0] ^= 1;
+        assertThrows(IllegalArgumentException.class, () -> LengthSketch.fromBytes(badMagic));
+    }
+
+    @Test
+    void rejectsBadInput() {
+        assertThrows(IllegalArgumentException.class, () -> new LengthSketch(7));
+        assertThrows(IllegalArgumentException.class, () -> new LengthSketch(65536, 1));
+        LengthSketch s = new LengthSketch();
+        assertThrows(IllegalArgumentException.class, () -> s.quantileInches(0.5));
+        s.add(1.0, LengthUnit.FEET);
+        assertThrows(IllegalArgumentException.class, () -> s.quantileInches(1.5));
+        assertThrows(IllegalArgumentException.class, () -> s.quantileInches(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> s.add(Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> s.merge(null));
+    }
+}
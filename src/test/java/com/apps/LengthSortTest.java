@@ -0,0 +1,121 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthSort: agreement with a stable comparator sort on both the serial and the parallel path, column
+ * sorts, and Length's natural order.
+ */
+class LengthSortTest {
+
+    private static final LengthUnit[] UNITS = LengthUnit.values();
+
+    private static Length[] randomLengths(int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        Length[] out = new Length[n];
+        for (int i = 0; i < n; i++) {
+            // Few distinct values so equal magnitudes in different units are common
+            double v = rnd.nextInt(-500, 500) / 4.0;
+            out[i] = new Length(v, UNITS[rnd.nextInt(UNITS.length)]);
+        }
+        return out;
+    }
+
+    private static void assertSortedLike(Length[] input) {
+        Length[] expected = input.clone();
+        Arrays.sort(expected, Comparator.naturalOrder()); // stable
+        Length[] actual = input.clone();
+        LengthSort.sort(actual);
+        for (int i = 0; i < expected.length; i++) assertSame(expected[i], actual[i], "row " + i);
+    }
+
+    @Test
+    void serialSortIsStable() {
+        assertSortedLike(randomLengths(5_000, 1));
+        assertSortedLike(new Length[0]);
+        assertSortedLike(new Length[]{new Length(1.0, LengthUnit.FEET)});
+    }
+
+    @Test
+    void parallelSortIsStable() {
+        assertSortedLike(randomLengths(LengthSort.PARALLEL_THRESHOLD * 3 + 17, 2));
+    }
+
+    @Test
+    void equalMagnitudesKeepInputOrder() {
+        Length foot = new Length(1.0, LengthUnit.FEET);
+        Length inches = new Length(12.0, LengthUnit.INCHES);
+        Length yard = new Length(1.0, LengthUnit.YARDS);
+        Length[] a = {yard, foot, new Length(-1.0, LengthUnit.INCHES), inches};
+        LengthSort.sort(a);
+        assertEquals(-1.0, a[0].getValue());
+        assertSame(foot, a[1]);
+        assertSame(inches, a[2]);
+        assertSame(yard, a[3]);
+    }
+
+    @Test
+    void sortsColumns() {
+        double[] values = {1.0, 11.0, -0.0, 0.0, -2.0, 30.48};
+        byte[] units = new byte[values.length];
+        units[0] = (byte) LengthUnit.YARDS.ordinal();
+        units[1] = (byte) LengthUnit.INCHES.ordinal();
+        units[2] = (byte) LengthUnit.FEET.ordinal();
+        units[3] = (byte) LengthUnit.FEET.ordinal();
+        units[4] = (byte) LengthUnit.FEET.ordinal();
+        units[5] = (byte) LengthUnit.CENTIMETERS.ordinal();
+        assertArrayEquals(new int[]{4, 2, 3, 1, 5, 0}, LengthSort.order(values, units));
+        LengthSort.sort(values, units);
+        assertArrayEquals(new double[]{-2.0, -0.0, 0.0, 11.0, 30.48, 1.0}, values);
+        assertEquals(LengthUnit.CENTIMETERS.ordinal(), units[4]);
+    }
+
+    @Test
+    void parallelColumnOrderMatchesSerial() {
+        int n = LengthSort.PARALLEL_THRESHOLD * 2 + 5;
+        SplittableRandom rnd = new SplittableRandom(3);
+        double[] values = new double[n];
+        byte[] units = new byte[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = rnd.nextDouble(-1e6, 1e6);
+            units[i] = (byte) rnd.nextInt(UNITS.length);
+        }
+        int[] order = LengthSort.order(values, units);
+        for (int i = 1; i < n; i++) {
+            double prev = UNITS[units[order[i - 1]]].toInches(values[order[i - 1]]);
+            double cur = UNITS[units[order[i]]].toInches(values[order[i]]);
+            assertTrue(Double.compare(prev, cur) <= 0, "row " + i);
+        }
+    }
+
+    @Test
+    void naturalOrderIsByMagnitude() {
+        Length foot = new Length(1.0, LengthUnit.FEET);
+        assertTrue(new Length(11.0, LengthUnit.INCHES).compareTo(foot) < 0);
+        assertTrue(new Length(1.0, LengthUnit.YARDS).compareTo(foot) > 0);
+        assertEquals(0, foot.compareTo(new Length(12.0, LengthUnit.INCHES)));
+        assertThrows(NullPointerException.class, () -> foot.compareTo(null));
+    }
+
+    @Test
+    void rejectsBadInput() {
+        assertThrows(IllegalArgumentException.class, () -> LengthSort.sort(null));
+        assertThrows(IllegalArgumentException.class, () -> LengthSort.sort(new Length[]{null}));
+        assertThrows(IllegalArgumentException.class, () -> LengthSort.order(null, new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> LengthSort.order(new double[1], new byte[2]));
+        assertThrows(IllegalArgumentException.class, () -> LengthSort.order(new double[1], new byte[]{(byte) 0x7f}));
+        assertThrows(IllegalArgumentException.class, () -> LengthSort.order(new double[]{Double.NaN}, new byte[1]));
+    }
+}
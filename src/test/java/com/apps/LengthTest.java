@@ -0,0 +1,144 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Behaviour of the Length hot paths measured by the JMH benchmarks (convert, convertTo, the three add
+ * overloads, compare, equals, hashCode and toString), across every LengthUnit.
+ */
+class LengthTest {
+
+    @Test
+    void convertKnownValues() {
+        assertEquals(36.0, Length.convert(3.0, LengthUnit.FEET, LengthUnit.INCHES));
+        assertEquals(72.0, Length.convert(2.0, LengthUnit.YARDS, LengthUnit.INCHES));
+        assertEquals(91.44, Length.convert(1.0, LengthUnit.YARDS, LengthUnit.CENTIMETERS));
+        assertEquals(1.0, Length.convert(30.48, LengthUnit.CENTIMETERS, LengthUnit.FEET));
+        assertEquals(0.33, Length.convert(1.0, LengthUnit.FEET, LengthUnit.YARDS));
+    }
+
+    @Test
+    void convertRejectsBadInput() {
+        assertThrows(IllegalArgumentException.class, () -> Length.convert(1.0, null, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> Length.convert(1.0, LengthUnit.FEET, null));
+        assertThrows(IllegalArgumentException.class, () -> Length.convert(Double.NaN, LengthUnit.FEET, LengthUnit.INCHES));
+        assertThrows(IllegalArgumentException.class,
+                () -> Length.convert(Double.POSITIVE_INFINITY, LengthUnit.FEET, LengthUnit.INCHES));
+    }
+
+    // The original UC5/UC6 formulas with literal factors: value * from / to, rounded half-up to 2 decimals
+    private static final double[] BASELINE_FACTORS = {12.0, 1.0, 36.0, 1.0 / 2.54};
+
+    private static double baselineConvert(double v, LengthUnit from, LengthUnit to) {
+        return Math.round(v * BASELINE_FACTORS[from.ordinal()] / BASELINE_FACTORS[to.ordinal()] * 100) / 100.0;
+    }
+
+    private static double baselineAdd(double v1, LengthUnit u1, double v2, LengthUnit u2, LengthUnit r) {
+        double inches = v1 * BASELINE_FACTORS[u1.ordinal()] + v2 * BASELINE_FACTORS[u2.ordinal()];
+        return Math.round(inches / BASELINE_FACTORS[r.ordinal()] * 100) / 100.0;
+    }
+
+    @Test
+    void convertMatchesBaselineOnKnownDivergence() {
+        // A single multiply by the folded 1/12 factor gives -481.25 here
+        assertEquals(-481.26, Length.convert(-5775.06, LengthUnit.INCHES, LengthUnit.FEET));
+        assertEquals(-481.26, new Length(-5775.06, LengthUnit.INCHES).convertTo(LengthUnit.FEET).getValue());
+    }
+
+    @Test
+    void convertAndAddMatchBaselineBitForBit() {
+        LengthUnit[] units = LengthUnit.values();
+        SplittableRandom rnd = new SplittableRandom(42);
+        for (int i = 0; i < 200_000; i++) {
+            double v1 = Math.round(rnd.nextDouble(-10_000, 10_000) * 100) / 100.0;
+            double v2 = rnd.nextDouble(-1e6, 1e6);
+            LengthUnit a = units[rnd.nextInt(units.length)];
+            LengthUnit b = units[rnd.nextInt(units.length)];
+            LengthUnit c = units[rnd.nextInt(units.length)];
+            assertEquals(baselineConvert(v1, a, b), Length.convert(v1, a, b), () -> v1 + " " + a + " -> " + b);
+            assertEquals(baselineAdd(v1, a, v2, b, c), Length.add(v1, a, v2, b, c),
+                    () -> v1 + " " + a + " + " + v2 + " " + b + " in " + c);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(LengthUnit.class)
+    void convertToSameUnitReturnsSameInstance(LengthUnit unit) {
+        Length l = new Length(1.234, unit);
+        assertSame(l, l.convertTo(unit));
+    }
+
+    @ParameterizedTest
+    @EnumSource(LengthUnit.class)
+    void convertToRoundTripsEveryPair(LengthUnit from) {
+        for (LengthUnit to : LengthUnit.values()) {
+            Length l = new Length(12.0, from);
+            Length converted = l.convertTo(to);
+            assertEquals(to, converted.getUnit());
+            assertEquals(Length.convert(12.0, from, to), converted.getValue());
+        }
+    }
+
+    @Test
+    void addOverloads() {
+        Length sum = new Length(1.0, LengthUnit.FEET).add(new Length(12.0, LengthUnit.INCHES));
+        assertEquals(new Length(2.0, LengthUnit.FEET), sum);
+        assertEquals(LengthUnit.FEET, sum.getUnit());
+
+        Length s2 = Length.add(new Length(36.0, LengthUnit.INCHES), new Length(1.0, LengthUnit.YARDS));
+        assertEquals(72.0, s2.getValue());
+        assertEquals(LengthUnit.INCHES, s2.getUnit());
+
+        assertEquals(24.0, Length.add(1.0, LengthUnit.FEET, 30.48, LengthUnit.CENTIMETERS, LengthUnit.INCHES));
+        assertEquals(5.08, Length.add(2.54, LengthUnit.CENTIMETERS, 1.0, LengthUnit.INCHES, LengthUnit.CENTIMETERS));
+
+        assertThrows(IllegalArgumentException.class, () -> new Length(1.0, LengthUnit.FEET).add(null));
+        assertThrows(IllegalArgumentException.class, () -> Length.add(null, new Length(1.0, LengthUnit.FEET)));
+        assertThrows(IllegalArgumentException.class,
+                () -> Length.add(1.0, LengthUnit.FEET, Double.NaN, LengthUnit.FEET, LengthUnit.FEET));
+    }
+
+    @Test
+    void compareAndEqualsUseTolerance() {
+        Length foot = new Length(1.0, LengthUnit.FEET);
+        assertTrue(foot.compare(new Length(12.0, LengthUnit.INCHES)));
+        assertTrue(foot.compare(new Length(12.0 + 5e-7, LengthUnit.INCHES)));
+        assertFalse(foot.compare(new Length(12.0 + 2e-6, LengthUnit.INCHES)));
+        assertFalse(foot.compare(null));
+
+        assertEquals(foot, new Length(30.48, LengthUnit.CENTIMETERS));
+        assertEquals(new Length(1.0, LengthUnit.YARDS), new Length(3.0, LengthUnit.FEET));
+        assertNotEquals(foot, new Length(2.0, LengthUnit.FEET));
+        assertNotEquals(foot, "1.0 ft");
+    }
+
+    @ParameterizedTest
+    @EnumSource(LengthUnit.class)
+    void hashCodeMatchesForSameMagnitude(LengthUnit unit) {
+        Length a = new Length(1.0, LengthUnit.FEET);
+        Length b = new Length(LengthUnit.FEET.toInches(1.0) / unit.toInches(1.0), unit);
+        if (a.equals(b)) assertEquals(a.hashCode(), b.hashCode());
+    }
+
+    @Test
+    void toStringFormat() {
+        assertEquals("3.5 ft", new Length(3.5, LengthUnit.FEET).toString());
+        assertEquals("1.0 in", new Length(1.0, LengthUnit.INCHES).toString());
+        assertEquals("91.44 cm", new Length(91.44, LengthUnit.CENTIMETERS).toString());
+        assertEquals("0.33 yd", new Length(1.0 / 3.0, LengthUnit.YARDS).toString());
+        assertEquals("-0.25 cm", new Length(-0.25, LengthUnit.CENTIMETERS).toString());
+    }
+}
@@ -0,0 +1,135 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthTotals: exact totals, no adds lost to remove/drain, cross-key snapshots and totals beyond a long.
+ */
+class LengthTotalsTest {
+
+    @Test
+    void addGetDrainAndRemove() {
+        LengthTotals<String> totals = new LengthTotals<>(4);
+        totals.add("a", 1.0, LengthUnit.FEET);
+        totals.add("a", new Length(6.0, LengthUnit.INCHES));
+        totals.add("b", 2.54, LengthUnit.CENTIMETERS);
+        assertEquals(18_000_000_000L, totals.nanoInches("a"));
+        assertEquals(new Length(1.5, LengthUnit.FEET), totals.get("a", LengthUnit.FEET));
+        assertEquals(0L, totals.nanoInches("missing"));
+
+        Map<String, Length> drained = totals.drain(LengthUnit.INCHES);
+        assertEquals(18.0, drained.get("a").getValue());
+        assertEquals(1.0, drained.get("b").getValue());
+        assertEquals(0L, totals.nanoInches("a"));
+
+        totals.add("a", 3.0, LengthUnit.INCHES);
+        assertEquals(3.0, totals.remove("a", LengthUnit.INCHES).getValue());
+        assertNull(totals.remove("a", LengthUnit.INCHES));
+        assertEquals(1, totals.size());
+    }
+
+    @Test
+    void rejectsBadInput() {
+        LengthTotals<String> totals = new LengthTotals<>();
+        assertThrows(IllegalArgumentException.class, () -> new LengthTotals<String>(0));
+        assertThrows(IllegalArgumentException.class, () -> totals.add(null, 1.0, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> totals.get("a", null));
+        assertThrows(IllegalArgumentException.class, () -> totals.consistentSnapshot(null));
+    }
+
+    @Test
+    void stripesRoundUpToAPowerOfTwoWithinTheCap() {
+        assertEquals(1, new LengthTotals<String>(1).stripes());
+        assertEquals(4, new LengthTotals<String>(3).stripes());
+        assertEquals(1024, new LengthTotals<String>(1024).stripes());
+        assertEquals(1024, new LengthTotals<String>(1500).stripes());
+        assertEquals(1024, new LengthTotals<String>(Integer.MAX_VALUE).stripes());
+    }
+
+    @Test
+    void totalsBeyondOneLongDoNotSaturate() {
+        LengthTotals<String> totals = new LengthTotals<>(2);
+        totals.add("a", 9e9, LengthUnit.INCHES);
+        totals.add("a", 9e9, LengthUnit.INCHES); // overflows the first stripe, lands in the second
+        assertEquals(1.8e10, totals.get("a", LengthUnit.INCHES).getValue());
+        assertEquals(1.5e9, totals.snapshot(LengthUnit.FEET).get("a").getValue());
+        assertThrows(ArithmeticException.class, () -> totals.nanoInches("a"));
+        assertThrows(IllegalArgumentException.class, () -> totals.add("a", 9e9, LengthUnit.INCHES));
+        assertEquals(1.8e10, totals.remove("a", LengthUnit.INCHES).getValue());
+    }
+
+    @Test
+    void concurrentRemoveLosesNoAdds() throws Exception {
+        LengthTotals<String> totals = new LengthTotals<>(8);
+        int writers = 4, perWriter = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) totals.add("k", 1.0, LengthUnit.INCHES);
+                return null;
+            }));
+        }
+        long removed = 0;
+        start.countDown();
+        boolean done = false;
+        while (!done) {
+            done = futures.stream().allMatch(Future::isDone);
+            Length r = totals.remove("k", LengthUnit.INCHES);
+            if (r != null) removed += Math.round(r.getValue());
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        Length rest = totals.remove("k", LengthUnit.INCHES);
+        if (rest != null) removed += Math.round(rest.getValue());
+        assertEquals((long) writers * perWriter, removed);
+    }
+
+    @Test
+    void consistentSnapshotSeesNoHalfFinishedPair() throws Exception {
+        // One writer adds to "a" then "b": any single instant has a - b in {0, 1}
+        LengthTotals<String> totals = new LengthTotals<>(4);
+        totals.add("a", 0.0, LengthUnit.INCHES);
+        totals.add("b", 0.0, LengthUnit.INCHES);
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            while (!stop.get()) {
+                totals.add("a", 1.0, LengthUnit.INCHES);
+                totals.add("b", 1.0, LengthUnit.INCHES);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                Map<String, Length> s = totals.consistentSnapshot(LengthUnit.INCHES);
+                double diff = s.get("a").getValue() - s.get("b").getValue();
+                assertTrue(diff == 0.0 || diff == 1.0, () -> "a - b = " + diff);
+            }
+        } finally {
+            stop.set(true);
+            writer.join();
+        }
+        Map<String, Length> quiet = totals.consistentSnapshot(LengthUnit.INCHES);
+        assertEquals(totals.snapshot(LengthUnit.INCHES), quiet);
+    }
+}
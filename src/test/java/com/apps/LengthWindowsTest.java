@@ -0,0 +1,193 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LengthWindows: tumbling and sliding results against a brute-force scan, lateness and the watermark,
+ * peek and flush.
+ */
+class LengthWindowsTest {
+
+    @Test
+    void tumblingWindowsEmitWhenTheWatermarkPasses() {
+        List<LengthWindows.Window> out = new ArrayList<>();
+        LengthWindows w = LengthWindows.tumbling(10, 0, LengthUnit.FEET, out::add);
+        assertEquals(Long.MIN_VALUE, w.watermark());
+        assertTrue(w.add(1, 1.0, LengthUnit.FEET));
+        assertTrue(w.add(5, new Length(12.0, LengthUnit.INCHES)));
+        assertTrue(out.isEmpty());
+        assertTrue(w.add(12, 1.0, LengthUnit.YARDS));
+        assertEquals(12, w.watermark());
+        assertEquals(1, out.size());
+        LengthWindows.Window first = out.get(0);
+        assertEquals(0, first.start());
+        assertEquals(10, first.end());
+        assertEquals(2, first.count());
+        assertEquals(new Length(2.0, LengthUnit.FEET), first.sum());
+        assertEquals(new Length(1.0, LengthUnit.FEET), first.min());
+        assertEquals(new Length(1.0, LengthUnit.FEET), first.max());
+        assertEquals("Window[0, 10) count=2 sum=2.0 ft min=1.0 ft max=1.0 ft", first.toString());
+
+        w.flush();
+        assertEquals(2, out.size());
+        assertEquals(10, out.get(1).start());
+        assertEquals(new Length(3.0, LengthUnit.FEET), out.get(1).sum());
+        assertEquals(Long.MIN_VALUE, w.watermark());
+    }
+
+    @Test
+    void slidingWindowsOverlap() {
+        List<LengthWindows.Window> out = new ArrayList<>();
+        LengthWindows w = LengthWindows.sliding(10, 5, 0, LengthUnit.INCHES, out::add);
+        for (int t = 0; t < 30; t++) w.add(t, t, LengthUnit.INCHES);
+        w.flush();
+        assertEquals(7, out.size());
+        for (int i = 0; i < out.size(); i++) {
+            LengthWindows.Window win = out.get(i);
+            long start = -5 + 5L * i;
+            assertEquals(start, win.start());
+            long lo = Math.max(0, start), hi = Math.min(30, start + 10);
+            assertEquals(hi - lo, win.count());
+            assertEquals((lo + hi - 1) * (hi - lo) / 2.0, win.sum().getValue());
+            assertEquals(lo, win.min().getValue());
+            assertEquals(hi - 1, win.max().getValue());
+        }
+    }
+
+    @Test
+    void outOfOrderEventsMatchABruteForceScan() {
+        long size = 60, slide = 15, lateness = 20;
+        List<LengthWindows.Window> out = new ArrayList<>();
+        LengthWindows w = LengthWindows.sliding(size, slide, lateness, LengthUnit.INCHES, out::add);
+        SplittableRandom rnd = new SplittableRandom(7);
+        List<long[]> accepted = new ArrayList<>();
+        int late = 0;
+        for (int i = 0; i < 5_000; i++) {
+            // Mostly advancing time with jitter, and some gaps longer than a window
+            long t = i * 3L + rnd.nextInt(-30, 30) + (i / 1000) * 500;
+            long v = rnd.nextInt(-100, 100);
+            if (w.add(t, v, LengthUnit.INCHES)) accepted.add(new long[]{t, v});
+            else late++;
+        }
+        assertTrue(late > 0);
+        assertEquals(late, w.dropped());
+        w.flush();
+
+        long prev = Long.MIN_VALUE;
+        int nonEmpty = 0;
+        for (LengthWindows.Window win : out) {
+            assertTrue(win.start() > prev);
+            prev = win.start();
+            long count = 0, sum = 0, min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            for (long[] e : accepted) {
+                if (e[0] < win.start() || e[0] >= win.end()) continue;
+                count++;
+                sum += e[1];
+                min = Math.min(min, e[1]);
+                max = Math.max(max, e[1]);
+            }
+            assertEquals(count, win.count(), win::toString);
+            assertEquals(sum, win.sum().getValue(), win::toString);
+            assertEquals(min, win.min().getValue(), win::toString);
+            assertEquals(max, win.max().getValue(), win::toString);
+        }
+        long lastStart = Math.floorDiv(accepted.stream().mapToLong(e -> e[0]).max().getAsLong(), slide) * slide;
+        for (long s = Math.floorDiv(accepted.stream().mapToLong(e -> e[0]).min().getAsLong() - size, slide) * slide;
+             s <= lastStart; s += slide) {
+            long start = s;
+            if (accepted.stream().anyMatch(e -> e[0] >= start && e[0] < start + size)) nonEmpty++;
+        }
+        assertEquals(nonEmpty, out.size());
+    }
+
+    @Test
+    void lateEventsAreDropped() {
+        List<LengthWindows.Window> out = new ArrayList<>();
+        LengthWindows w = LengthWindows.tumbling(10, 5, LengthUnit.INCHES, out::add);
+        w.add(20, 1.0, LengthUnit.INCHES);
+        assertEquals(15, w.watermark());
+        assertTrue(w.add(16, 1.0, LengthUnit.INCHES));
+        assertFalse(w.add(14, 1.0, LengthUnit.INCHES));
+        assertEquals(1, w.dropped());
+        w.add(40, 1.0, LengthUnit.INCHES);
+        assertEquals(2, out.size());
+        assertEquals(10, out.get(0).start());
+        assertEquals(1, out.get(0).count());
+        assertEquals(1, out.get(1).count());
+    }
+
+    @Test
+    void peekShowsOpenWindows() {
+        List<LengthWindows.Window> out = new ArrayList<>();
+        LengthWindows w = LengthWindows.sliding(10, 5, 0, LengthUnit.CENTIMETERS, out::add);
+        assertNull(w.peek(0));
+        w.add(7, 1.0, LengthUnit.INCHES);
+        w.add(8, 1.0, LengthUnit.INCHES);
+        LengthWindows.Window open = w.peek(5);
+        assertEquals(2, open.count());
+        assertEquals(new Length(5.08, LengthUnit.CENTIMETERS), open.sum());
+        assertNull(w.peek(10));
+        w.add(14, 1.0, LengthUnit.INCHES);
+        assertEquals(1, out.size());
+        assertEquals(3, w.peek(5).count());
+        assertNull(w.peek(0)); // already emitted
+        assertThrows(IllegalArgumentException.class, () -> w.peek(3));
+    }
+
+    @Test
+    void flushStartsAfresh() {
+        List<LengthWindows.Window> out = new ArrayList<>();
+        LengthWindows w = LengthWindows.tumbling(10, 0, LengthUnit.INCHES, out::add);
+        w.flush();
+        assertTrue(out.isEmpty());
+        w.add(100, 1.0, LengthUnit.INCHES);
+        w.flush();
+        w.add(5, 2.0, LengthUnit.INCHES); // earlier than before: accepted after a flush
+        w.flush();
+        assertEquals(2, out.size());
+        assertEquals(0, out.get(1).start());
+        assertEquals(2.0, out.get(1).sum().getValue());
+        assertEquals(0, w.dropped());
+    }
+
+    @Test
+    void timestampsNearTheLongLimits() {
+        List<LengthWindows.Window> out = new ArrayList<>();
+        LengthWindows w = LengthWindows.tumbling(10, 1_000, LengthUnit.INCHES, out::add);
+        w.add(Long.MIN_VALUE + 100, 1.0, LengthUnit.INCHES);
+        assertEquals(Long.MIN_VALUE, w.watermark()); // saturates instead of wrapping
+        w.add(Long.MAX_VALUE - 100, 2.0, LengthUnit.INCHES);
+        assertEquals(1, out.size());
+        assertEquals(1.0, out.get(0).sum().getValue());
+        w.flush();
+        assertEquals(2, out.size());
+        assertEquals(2.0, out.get(1).sum().getValue());
+    }
+
+    @Test
+    void rejectsBadInput() {
+        LengthWindows.WindowListener none = win -> { };
+        assertThrows(IllegalArgumentException.class, () -> LengthWindows.tumbling(0, 0, LengthUnit.FEET, none));
+        assertThrows(IllegalArgumentException.class, () -> LengthWindows.sliding(10, 20, 0, LengthUnit.FEET, none));
+        assertThrows(IllegalArgumentException.class, () -> LengthWindows.tumbling(10, -1, LengthUnit.FEET, none));
+        assertThrows(IllegalArgumentException.class, () -> LengthWindows.tumbling(10, 0, null, none));
+        assertThrows(IllegalArgumentException.class, () -> LengthWindows.tumbling(10, 0, LengthUnit.FEET, null));
+        assertThrows(IllegalArgumentException.class, () -> LengthWindows.sliding(1L << 30, 1, 0, LengthUnit.FEET, none));
+        LengthWindows w = LengthWindows.tumbling(10, 0, LengthUnit.FEET, none);
+        assertThrows(IllegalArgumentException.class, () -> w.add(0, Double.NaN, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> w.add(0, 1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> w.add(0, null));
+    }
+}
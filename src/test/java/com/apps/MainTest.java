@@ -0,0 +1,86 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Main: option parsing and an end-to-end conversion through ConversionPipeline.
+ */
+class MainTest {
+
+    @TempDir
+    Path dir;
+
+    private Path input() throws IOException {
+        return Files.write(dir.resolve("in.txt"), List.of("length,unit", "1 ft", "12,in", "", "1 yd", "bad"),
+                StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void convertWritesEveryValidLine() throws IOException {
+        Path out = dir.resolve("out.txt");
+        assertEquals(0, Main.run(new String[] {"convert", input().toString(), "--to", "cm", "--out", out.toString(),
+                "--threads", "2", "--chunk-mb", "1"}));
+        assertEquals(List.of("30.48 cm", "30.48 cm", "91.44 cm"), Files.readAllLines(out, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void largestChunkSizeIsAccepted() throws IOException {
+        assertEquals(0, Main.run(new String[] {"sum", input().toString(), "--to", "in",
+                "--chunk-mb", String.valueOf(Main.MAX_CHUNK_MB)}));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1", "1025", "2048", "4096", "99999999999", "1.5", "x"})
+    void rejectsChunkSizesThatDoNotFit(String mb) throws IOException {
+        String in = input().toString();
+        assertThrows(IllegalArgumentException.class,
+                () -> Main.run(new String[] {"sum", in, "--to", "ft", "--chunk-mb", mb}));
+    }
+
+    @Test
+    void rejectsBadArguments() throws IOException {
+        String in = input().toString();
+        assertThrows(IllegalArgumentException.class, () -> Main.run(new String[] {"sum"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.run(new String[] {"sum", in}));
+        assertThrows(IllegalArgumentException.class, () -> Main.run(new String[] {"sum", in, "--to", "parsec"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.run(new String[] {"sum", in, "--to"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.run(new String[] {"sum", in, "--to", "ft", "--fast", "1"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.run(new String[] {"sum", in, "--to", "ft", "--threads", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.run(new String[] {"count", in, "--to", "ft"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConversionPipeline(LengthUnit.FEET, 1, ConversionPipeline.MAX_CHUNK_SIZE + 1));
+    }
+
+    @Test
+    void outputBufferGrowthStopsBelowTheArrayLimit() {
+        assertEquals(128, ConversionPipeline.grownCapacity(64));
+        assertEquals(1 << 30, ConversionPipeline.grownCapacity(1 << 29));
+        assertEquals(Integer.MAX_VALUE - 8, ConversionPipeline.grownCapacity(1 << 30)); // 2^31 would overflow
+        assertThrows(IllegalArgumentException.class, () -> ConversionPipeline.grownCapacity(Integer.MAX_VALUE - 8));
+    }
+
+    @Test
+    void sumAcrossManySmallChunks() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) sb.append(i % 2 == 0 ? "1 in\n" : "2.54,cm\n");
+        Path in = Files.write(dir.resolve("many.txt"), sb.toString().getBytes(StandardCharsets.US_ASCII));
+        ConversionPipeline.Summary s = new ConversionPipeline(LengthUnit.FEET, 4, 4096).sum(in);
+        assertEquals(50_000, s.getLines());
+        assertEquals(4166.67, s.getTotal().getValue());
+        assertTrue(s.toString().length() > 0);
+    }
+}
@@ -0,0 +1,35 @@
+package com.apps;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * NanoInchSum: exact totals, including past the range of one long.
+ */
+class NanoInchSumTest {
+
+    @Test
+    void mergeCarriesBeyondOneLong() {
+        NanoInchSum a = new NanoInchSum();
+        NanoInchSum b = new NanoInchSum();
+        for (int i = 0; i < 4; i++) a.addInches(9e9);
+        for (int i = 0; i < 4; i++) b.addInches(-9e9);
+        assertEquals(3.6e10, a.inches(), 1.0);
+        b.addInches(0.5);
+        assertEquals(0.5, a.merge(b).inches());
+        assertEquals(9, a.count());
+    }
+
+    @Test
+    void negativeTotalsBeyondOneLong() {
+        NanoInchSum s = new NanoInchSum();
+        for (int i = 0; i < 3; i++) s.addInches(-9e9);
+        assertEquals(-2.7e10, s.inches(), 1.0);
+        s.addInches(9e9);
+        s.addInches(9e9);
+        s.addInches(9e9);
+        s.addInches(0.000000001);
+        assertEquals(1e-9, s.inches());
+    }
+}
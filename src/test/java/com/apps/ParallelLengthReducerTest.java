@@ -0,0 +1,103 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ParallelLengthReducer: parallel results equal the sequential reduction bit for bit.
+ */
+class ParallelLengthReducerTest {
+
+    private static final int N = 20 * ParallelLengthReducer.THRESHOLD + 123;
+
+    private static double[] values(long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        double[] v = new double[N];
+        // Wide magnitudes so that floating-point summation order would show
+        for (int i = 0; i < N; i++) v[i] = rnd.nextDouble(-1, 1) * Math.pow(10, rnd.nextInt(-3, 8));
+        return v;
+    }
+
+    private static byte[] units(long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        byte[] u = new byte[N];
+        for (int i = 0; i < N; i++) u[i] = (byte) rnd.nextInt(LengthUnit.values().length);
+        return u;
+    }
+
+    // One sequential pass in exact nano-inches
+    private static Length sequentialSum(double[] values, byte[] units, LengthUnit target) {
+        NanoInchSum s = new NanoInchSum();
+        for (int i = 0; i < values.length; i++) s.addInches(LengthUnit.values()[units[i]].toInches(values[i]));
+        return s.toLength(target);
+    }
+
+    @Test
+    void sumMatchesSequentialForEveryPoolSize() {
+        double[] v = values(1);
+        byte[] u = units(2);
+        for (LengthUnit target : LengthUnit.values()) {
+            double expected = sequentialSum(v, u, target).getValue();
+            for (int threads : new int[] {1, 2, 3, 8}) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    assertEquals(expected, new ParallelLengthReducer(pool).sum(v, u, target).getValue());
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    @Test
+    void sumDoesNotDependOnOrder() {
+        double[] v = values(3);
+        double[] reversed = new double[N];
+        for (int i = 0; i < N; i++) reversed[i] = v[N - 1 - i];
+        ParallelLengthReducer r = new ParallelLengthReducer();
+        assertEquals(r.sum(v, LengthUnit.INCHES, LengthUnit.CENTIMETERS).getValue(),
+                r.sum(reversed, LengthUnit.INCHES, LengthUnit.CENTIMETERS).getValue());
+        assertEquals(r.average(v, LengthUnit.FEET, LengthUnit.YARDS).getValue(),
+                r.average(reversed, LengthUnit.FEET, LengthUnit.YARDS).getValue());
+    }
+
+    @Test
+    void minMaxAverage() {
+        double[] v = {3.0, -1.0, 2.0, 10.0};
+        byte[] u = {0, 0, 1, 1}; // ft, ft, in, in
+        ParallelLengthReducer r = new ParallelLengthReducer();
+        assertEquals(new Length(-1.0, LengthUnit.FEET), r.min(v, u, LengthUnit.FEET));
+        assertEquals(new Length(36.0, LengthUnit.INCHES), r.max(v, u, LengthUnit.INCHES));
+        assertEquals(new Length(36.0, LengthUnit.INCHES), r.sum(v, u, LengthUnit.INCHES));
+        assertEquals(new Length(9.0, LengthUnit.INCHES), r.average(v, u, LengthUnit.INCHES));
+        assertEquals(new Length(1.0, LengthUnit.YARDS), r.sum(new double[] {1.0, 2.0}, LengthUnit.FEET, LengthUnit.YARDS));
+    }
+
+    @Test
+    void emptyAndInvalidColumns() {
+        ParallelLengthReducer r = new ParallelLengthReducer();
+        assertEquals(0.0, r.sum(new double[0], LengthUnit.FEET, LengthUnit.INCHES).getValue());
+        assertThrows(IllegalArgumentException.class, () -> r.min(new double[0], LengthUnit.FEET, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> r.average(new double[0], LengthUnit.FEET, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> r.sum(null, LengthUnit.FEET, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> r.sum(new double[1], new byte[2], LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> r.sum(new double[1], new byte[] {9}, LengthUnit.FEET));
+
+        double[] bad = new double[N];
+        bad[N - 5] = Double.NaN;
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> r.sum(bad, LengthUnit.FEET, LengthUnit.FEET));
+        assertTrue(e.getMessage().contains("index " + (N - 5)), e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> r.sum(new double[] {1e10}, LengthUnit.INCHES, LengthUnit.FEET));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelLengthReducer(null));
+    }
+}
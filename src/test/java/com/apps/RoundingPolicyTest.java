@@ -0,0 +1,157 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length;
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RoundingPolicy: each mode's ties and signs, TRUNCATE's ulp tolerance, NONE, interning, parsing and the
+ * global policy.
+ */
+class RoundingPolicyTest {
+
+    private static RoundingPolicy p(int scale, RoundingPolicy.Mode mode) {
+        return RoundingPolicy.of(scale, mode);
+    }
+
+    @Test
+    void halfUpTiesTowardPositiveInfinity() {
+        RoundingPolicy r = p(0, RoundingPolicy.Mode.HALF_UP);
+        assertEquals(3.0, r.apply(2.5));
+        assertEquals(-2.0, r.apply(-2.5));
+        assertEquals(0.13, p(2, RoundingPolicy.Mode.HALF_UP).apply(0.125));
+        assertEquals(-0.12, p(2, RoundingPolicy.Mode.HALF_UP).apply(-0.125));
+    }
+
+    @Test
+    void halfEvenTiesToEven() {
+        RoundingPolicy r = p(0, RoundingPolicy.Mode.HALF_EVEN);
+        assertEquals(2.0, r.apply(2.5));
+        assertEquals(4.0, r.apply(3.5));
+        assertEquals(-2.0, r.apply(-2.5));
+        assertEquals(0.12, p(2, RoundingPolicy.Mode.HALF_EVEN).apply(0.125));
+    }
+
+    @Test
+    void truncateTowardZeroWithUlpTolerance() {
+        RoundingPolicy r = p(2, RoundingPolicy.Mode.TRUNCATE);
+        assertEquals(1.99, r.apply(1.999));
+        assertEquals(-1.99, r.apply(-1.999));
+        // 0.29 * 100 is 28.999999999999996: within a few ulps of a step, so it stays on it
+        assertEquals(0.29, r.apply(0.29));
+        assertEquals(-0.29, r.apply(-0.29));
+        assertEquals(0.57, r.apply(0.57));
+        assertEquals(0.28, r.apply(0.2899));
+        assertEquals(29, r.steps(0.29));
+    }
+
+    @Test
+    void noneLeavesValuesAlone() {
+        RoundingPolicy none = RoundingPolicy.NONE;
+        assertSame(none, p(7, RoundingPolicy.Mode.NONE));
+        assertEquals(0, none.scale());
+        assertEquals(1.0 / 3.0, none.apply(1.0 / 3.0));
+        assertEquals("NONE", none.toString());
+        assertThrows(IllegalStateException.class, () -> none.steps(1.0));
+        double[] v = {0.123456789, -1e-9};
+        double[] out = new double[2];
+        none.apply(v, out, 2);
+        assertArrayEquals(v, out);
+    }
+
+    @Test
+    void arrayApplyMatchesScalar() {
+        double[] values = {0.125, -0.125, 1.999, 0.29, 2.5, -2.5, 12.3456, 0.0};
+        for (RoundingPolicy.Mode mode : RoundingPolicy.Mode.values()) {
+            for (int scale : new int[]{0, 2, 5}) {
+                RoundingPolicy r = p(scale, mode);
+                double[] out = values.clone();
+                r.apply(out, out, out.length); // in place
+                for (int i = 0; i < values.length; i++) assertEquals(r.apply(values[i]), out[i], r + " " + values[i]);
+                if (mode != RoundingPolicy.Mode.NONE) {
+                    // == rather than assertEquals: -0.0 rounds to -0.0 but to 0 steps
+                    for (double v : values) assertTrue(r.apply(v) == r.steps(v) / Math.pow(10, scale), r + " " + v);
+                }
+            }
+        }
+        double[] partial = {1.111, 2.222, 3.333};
+        double[] out = new double[3];
+        RoundingPolicy.DEFAULT.apply(partial, out, 2);
+        assertArrayEquals(new double[]{1.11, 2.22, 0.0}, out);
+    }
+
+    @Test
+    void instancesAreInterned() {
+        assertSame(RoundingPolicy.DEFAULT, p(2, RoundingPolicy.Mode.HALF_UP));
+        assertEquals(RoundingPolicy.Mode.HALF_UP, RoundingPolicy.DEFAULT.mode());
+        Set<Integer> indices = new HashSet<>();
+        for (RoundingPolicy.Mode mode : RoundingPolicy.Mode.values()) {
+            for (int s = 0; s <= RoundingPolicy.MAX_SCALE; s++) {
+                RoundingPolicy r = p(s, mode);
+                assertTrue(r.index() >= 0 && r.index() < 64);
+                indices.add(r.index());
+            }
+        }
+        // NONE is a single instance whatever the requested scale
+        assertEquals(3 * (RoundingPolicy.MAX_SCALE + 1) + 1, indices.size());
+    }
+
+    @Test
+    void parsesModeAndScale() {
+        assertSame(p(3, RoundingPolicy.Mode.HALF_EVEN), RoundingPolicy.parse("half_even : 3"));
+        assertSame(p(2, RoundingPolicy.Mode.TRUNCATE), RoundingPolicy.parse("TRUNCATE"));
+        assertSame(RoundingPolicy.NONE, RoundingPolicy.parse("NONE"));
+        for (RoundingPolicy.Mode mode : RoundingPolicy.Mode.values()) {
+            RoundingPolicy r = p(4, mode);
+            assertSame(r, RoundingPolicy.parse(r.toString()));
+        }
+        assertEquals("HALF_UP:2", RoundingPolicy.DEFAULT.toString());
+        assertThrows(IllegalArgumentException.class, () -> RoundingPolicy.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> RoundingPolicy.parse("CEILING"));
+        assertThrows(IllegalArgumentException.class, () -> RoundingPolicy.parse("HALF_UP:x"));
+        assertThrows(IllegalArgumentException.class, () -> RoundingPolicy.parse("HALF_UP:16"));
+    }
+
+    @Test
+    void malformedPropertyFallsBackToDefault() {
+        assertSame(RoundingPolicy.DEFAULT, RoundingPolicy.fromProperty(null));
+        assertSame(RoundingPolicy.DEFAULT, RoundingPolicy.fromProperty(""));
+        assertSame(p(3, RoundingPolicy.Mode.TRUNCATE), RoundingPolicy.fromProperty("TRUNCATE:3"));
+        assertSame(RoundingPolicy.DEFAULT, RoundingPolicy.fromProperty("CEILING"));
+        assertSame(RoundingPolicy.DEFAULT, RoundingPolicy.fromProperty("HALF_UP:99"));
+    }
+
+    @Test
+    void globalPolicyDrivesLength() {
+        RoundingPolicy saved = RoundingPolicy.current();
+        try {
+            RoundingPolicy.setCurrent(RoundingPolicy.DEFAULT);
+            assertEquals(0.03, Length.convert(1.0, LengthUnit.INCHES, LengthUnit.YARDS));
+            RoundingPolicy.setCurrent(p(4, RoundingPolicy.Mode.HALF_EVEN));
+            assertSame(p(4, RoundingPolicy.Mode.HALF_EVEN), RoundingPolicy.current());
+            assertEquals(0.0278, Length.convert(1.0, LengthUnit.INCHES, LengthUnit.YARDS));
+            RoundingPolicy.setCurrent(RoundingPolicy.NONE);
+            assertEquals(1.0 / 36.0, Length.convert(1.0, LengthUnit.INCHES, LengthUnit.YARDS), 1e-15);
+            assertThrows(IllegalArgumentException.class, () -> RoundingPolicy.setCurrent(null));
+        } finally {
+            RoundingPolicy.setCurrent(saved);
+        }
+    }
+
+    @Test
+    void rejectsBadInput() {
+        assertThrows(IllegalArgumentException.class, () -> RoundingPolicy.of(2, null));
+        assertThrows(IllegalArgumentException.class, () -> RoundingPolicy.of(-1, RoundingPolicy.Mode.HALF_UP));
+        assertThrows(IllegalArgumentException.class,
+                () -> RoundingPolicy.of(RoundingPolicy.MAX_SCALE + 1, RoundingPolicy.Mode.TRUNCATE));
+    }
+}
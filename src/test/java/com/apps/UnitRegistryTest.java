@@ -0,0 +1,86 @@
+package com.apps;
+
+import com.apps.QuantityMeasurementApp.Length.LengthUnit;
+import com.apps.UnitRegistry.Category;
+import com.apps.UnitRegistry.Unit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * UnitRegistry: standard units, LengthUnit derivation, id checks and the read-only shared registry.
+ */
+class UnitRegistryTest {
+
+    @ParameterizedTest
+    @EnumSource(LengthUnit.class)
+    void lengthUnitsComeFromTheStandardRegistry(LengthUnit unit) {
+        Unit u = UnitRegistry.standard().category(UnitRegistry.LENGTH).unit(unit.ordinal());
+        assertEquals(unit.name(), u.getName());
+        assertEquals(unit.getSymbol(), u.getSymbol());
+        assertEquals(unit.toInches(1.0), u.getFactorToBase());
+    }
+
+    @Test
+    void convertsWithinCategories() {
+        UnitRegistry r = UnitRegistry.standard();
+        assertEquals(1000.0, r.convert(UnitRegistry.LENGTH, 1.0, "km", "m"), 1e-9);
+        assertEquals(63360.0, r.convert(UnitRegistry.LENGTH, 1.0, "mi", "in"), 1e-9);
+        assertEquals(453.59237, r.convert(UnitRegistry.WEIGHT, 1.0, "lb", "g"), 1e-9);
+        assertEquals(3.785411784, r.convert(UnitRegistry.VOLUME, 1.0, "gal", "l"), 1e-9);
+        assertEquals(212.0, r.convert(UnitRegistry.TEMPERATURE, 100.0, "C", "F"), 1e-9);
+        assertEquals(273.15, r.convert(UnitRegistry.TEMPERATURE, 0.0, "CELSIUS", "KELVIN"), 1e-9);
+    }
+
+    @Test
+    void rejectsUnknownUnitsAndCrossCategoryConversions() {
+        UnitRegistry r = UnitRegistry.standard();
+        assertThrows(IllegalArgumentException.class, () -> r.convert(UnitRegistry.LENGTH, 1.0, "ft", "parsec"));
+        assertThrows(IllegalArgumentException.class, () -> r.convert("speed", 1.0, "ft", "in"));
+        Unit foot = r.category(UnitRegistry.LENGTH).unit("ft");
+        Unit gram = r.category(UnitRegistry.WEIGHT).unit("g");
+        assertThrows(IllegalArgumentException.class, () -> foot.convertTo(1.0, gram));
+        assertNull(r.category(UnitRegistry.LENGTH).unit("parsec"));
+    }
+
+    @Test
+    void convertChecksBothIds() {
+        Category length = UnitRegistry.standard().category(UnitRegistry.LENGTH);
+        int n = length.getUnits().size();
+        assertEquals(12.0, length.convert(1.0, 0, 1), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> length.convert(1.0, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> length.convert(1.0, 0, n));
+        assertThrows(IllegalArgumentException.class, () -> length.convert(1.0, n, 0));
+        assertThrows(IllegalArgumentException.class, () -> length.convert(1.0, 0, -1));
+    }
+
+    @Test
+    void standardRegistryIsReadOnly() {
+        UnitRegistry r = UnitRegistry.standard();
+        Category length = r.category(UnitRegistry.LENGTH);
+        int before = length.getUnits().size();
+        assertThrows(IllegalStateException.class, () -> length.register("FURLONGS", "fur", 7920.0));
+        assertThrows(IllegalArgumentException.class, () -> r.category("speed"));
+        assertEquals(before, length.getUnits().size());
+    }
+
+    @Test
+    void privateRegistriesCanBeExtended() {
+        UnitRegistry r = UnitRegistry.withStandardUnits();
+        Unit furlong = r.category(UnitRegistry.LENGTH).register("FURLONGS", "fur", 7920.0);
+        assertEquals(660.0, r.convert(UnitRegistry.LENGTH, 1.0, "fur", "ft"), 1e-9);
+        assertEquals(r.category(UnitRegistry.LENGTH).getUnits().size() - 1, furlong.getId());
+        assertThrows(IllegalArgumentException.class, () -> r.category(UnitRegistry.LENGTH).register("FEET", "ft2", 12.0));
+        assertThrows(IllegalArgumentException.class, () -> r.category(UnitRegistry.LENGTH).register("X", "x", 0.0));
+
+        Category speed = r.category("speed");
+        speed.register("MPS", "m/s", 1.0);
+        assertEquals(1, speed.getUnits().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> UnitRegistry.standard().category("speed"));
+    }
+}